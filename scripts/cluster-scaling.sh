@@ -0,0 +1,42 @@
+#!/usr/bin/env sh
+# Runs the same load against 1..N application replicas behind the load balancer of docker-compose.cluster.yml and
+# prints the throughput of each size relative to a single replica. Each size runs the workload of ./gradlew loadTest at
+# a rate above what the cluster serves; reports go to build/reports/loadtest/cluster-<replicas>.
+# Usage: scripts/cluster-scaling.sh [max-replicas] [rate] [duration]
+set -e
+
+MAX_REPLICAS=${1:-3}
+RATE=${2:-3000}
+DURATION=${3:-PT30S}
+COMPOSE="docker compose -f docker-compose.cluster.yml"
+
+cd "$(dirname "$0")/.."
+./gradlew -q bootJar fastStartDist -x test
+$COMPOSE build -q
+
+BASELINE=""
+SUMMARY=""
+n=1
+while [ $n -le "$MAX_REPLICAS" ]; do
+  $COMPOSE up -d --scale app=$n
+  # Wait until every replica answers, then let nginx pick up all of their addresses
+  until [ "$($COMPOSE ps app --status running -q | wc -l)" -eq $n ]; do sleep 1; done
+  sleep 10
+  $COMPOSE restart lb >/dev/null
+  until curl -sf http://localhost:8080/todos >/dev/null; do sleep 1; done
+
+  echo "== $n replica(s)"
+  REPORT_DIR=build/reports/loadtest/cluster-$n
+  ./gradlew -q loadTest -x test -PloadTestBaseUrl=http://localhost:8080 -PloadTestGate=false \
+    -PloadTestReportDir="$REPORT_DIR" -PloadTestArgs="rate=$RATE,duration=$DURATION"
+  THROUGHPUT=$(sed -n 's/^all\.throughput=//p' "$REPORT_DIR/results.properties")
+  BASELINE=${BASELINE:-$THROUGHPUT}
+  SUMMARY="$SUMMARY$(awk -v n=$n -v t="$THROUGHPUT" -v b="$BASELINE" \
+    'BEGIN { printf "%d replica(s): %.1f req/s, speedup %.2fx, efficiency %.0f%%\n", n, t, t / b, 100 * t / (b * n) }')
+"
+  n=$((n + 1))
+done
+
+$COMPOSE down
+echo "== scaling"
+printf '%s' "$SUMMARY"
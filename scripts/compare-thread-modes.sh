@@ -0,0 +1,53 @@
+#!/usr/bin/env sh
+# Compares throughput and latency percentiles of the default platform-thread mode and the virtual-thread mode, running
+# the workload of ./gradlew loadTest against each; reports go to build/reports/loadtest/<profile>.
+# Usage: scripts/compare-thread-modes.sh [rate] [duration], e.g. scripts/compare-thread-modes.sh 600 PT2M
+set -e
+
+PORT=18080
+# Seconds to wait for the application to answer, as long as the loadTest harness waits for the jar it starts
+STARTUP_TIMEOUT=120
+# Both runs use the connection pool of the virtual-threads profile, so only the thread mode differs
+POOL="--spring.datasource.hikari.maximum-pool-size=20 --spring.datasource.hikari.minimum-idle=20
+  --spring.datasource.hikari.connection-timeout=2000"
+# Overrides of src/loadtest/resources/workload.properties
+OVERRIDES=""
+if [ -n "${1:-}" ]; then
+  OVERRIDES="rate=$1"
+fi
+if [ -n "${2:-}" ]; then
+  OVERRIDES="${OVERRIDES:+$OVERRIDES,}duration=$2"
+fi
+
+cd "$(dirname "$0")/.."
+./gradlew -q bootJar -x test
+JAR=$(ls build/libs/*.jar | grep -v plain | grep -v fast-start | head -n 1)
+
+run() {
+  echo "== $1"
+  # shellcheck disable=SC2086
+  java -jar "$JAR" --server.port=$PORT --spring.profiles.active="$2" $POOL >/dev/null 2>&1 &
+  APP_PID=$!
+  waited=0
+  until curl -sf "http://localhost:$PORT/todos" >/dev/null; do
+    if ! kill -0 $APP_PID 2>/dev/null; then
+      echo "The application exited before answering ($1)" >&2
+      exit 1
+    fi
+    if [ $waited -ge $STARTUP_TIMEOUT ]; then
+      echo "The application did not answer within ${STARTUP_TIMEOUT}s ($1)" >&2
+      kill $APP_PID
+      exit 1
+    fi
+    sleep 1
+    waited=$((waited + 1))
+  done
+  # Both modes are reported against the SLO thresholds, but a breach does not stop the comparison
+  ./gradlew -q loadTest -x test -PloadTestBaseUrl="http://localhost:$PORT" -PloadTestGate=false \
+    -PloadTestReportDir="build/reports/loadtest/$2" ${OVERRIDES:+"-PloadTestArgs=$OVERRIDES"}
+  kill $APP_PID
+  wait $APP_PID 2>/dev/null || true
+}
+
+run "platform threads" default
+run "virtual threads" virtual-threads
@@ -0,0 +1,50 @@
+#!/usr/bin/env sh
+# Compares time to first request and resident memory (RSS) of the default jar and of the fast-start variant
+# (AOT-generated classes, a CDS archive and lazy initialization).
+# Usage: ./gradlew startupBenchmark [-Pruns=5], which builds both variants and runs scripts/startup-benchmark.sh [runs]
+set -e
+
+RUNS=${1:-5}
+PORT=18090
+
+cd "$(dirname "$0")/.."
+BOOT_JAR=$(ls build/libs/*.jar | grep -v plain | grep -v fast-start | head -n 1)
+FAST_DIR=build/fast-start
+
+now_ms() {
+  echo $(($(date +%s%N) / 1000000))
+}
+
+# Training run: refresh the context once, then dump every loaded class into the CDS archive
+if [ ! -f "$FAST_DIR/app.jsa" ] || [ "$FAST_DIR/app.jar" -nt "$FAST_DIR/app.jsa" ]; then
+  echo "== creating the CDS archive"
+  java -XX:ArchiveClassesAtExit="$FAST_DIR/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar "$FAST_DIR/app.jar" --spring.profiles.active=fast-start >/dev/null 2>&1
+fi
+
+measure() {
+  NAME=$1
+  shift
+  TOTAL_MS=0
+  TOTAL_KB=0
+  i=0
+  while [ $i -lt "$RUNS" ]; do
+    START=$(now_ms)
+    "$@" --server.port=$PORT >/dev/null 2>&1 &
+    APP_PID=$!
+    until curl -sf "http://localhost:$PORT/todos" >/dev/null; do sleep 0.05; done
+    ELAPSED=$(($(now_ms) - START))
+    RSS_KB=$(ps -o rss= -p $APP_PID | tr -d ' ')
+    kill $APP_PID
+    wait $APP_PID 2>/dev/null || true
+    TOTAL_MS=$((TOTAL_MS + ELAPSED))
+    TOTAL_KB=$((TOTAL_KB + RSS_KB))
+    i=$((i + 1))
+  done
+  printf '%-12s time to first request %6d ms   RSS %5d MB   (mean of %d runs)\n' "$NAME" \
+    $((TOTAL_MS / RUNS)) $((TOTAL_KB / RUNS / 1024)) "$RUNS"
+}
+
+measure default java -jar "$BOOT_JAR"
+measure fast-start java -XX:SharedArchiveFile="$FAST_DIR/app.jsa" -Dspring.aot.enabled=true -jar "$FAST_DIR/app.jar" \
+  --spring.profiles.active=fast-start
@@ -0,0 +1,77 @@
+package com.s2.todo.backend.benchmark;
+
+import com.s2.todo.backend.BackendApplication;
+import com.s2.todo.backend.service.TodoCounters;
+import com.s2.todo.backend.service.TodoDueIndex;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application without a web server against a private in-memory H2 database seeded with a given number of
+ * Todo items. The Todo counters and the due date index are reloaded after seeding.
+ * <p>
+ * Seeded items cycle through NOT_DONE, DONE and PAST_DUE; every NOT_DONE item whose ID is a multiple of 10 is
+ * overdue, so the past due sweep has work to do. Descriptions combine the ID with one of a few topic words, so text
+ * searches have both rare and very common terms to match.
+ */
+final class SeededApplication {
+
+    static final long HOUR = 3_600_000L;
+
+    private static final int INSERT_BATCH_SIZE = 5_000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final String[] TOPICS = {"invoice", "groceries", "meeting", "report", "garden", "dentist",
+        "release", "backup"};
+
+    private SeededApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String name, int rows, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "spring.h2.console.enabled=false",
+                "todo.sweep.cron=-",
+                "todo.due-scheduler.enabled=false",
+                "todo.search.enabled=false",
+                "logging.level.root=WARN")
+            .properties(properties)
+            .run();
+        seed(context.getBean(JdbcTemplate.class), rows);
+        // Both were loaded from the still empty database when the application became ready
+        context.getBean(TodoCounters.class).reconcile();
+        context.getBean(TodoDueIndex.class).rebuild();
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        long now = System.currentTimeMillis();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (long id = 1; id <= rows; id++) {
+            String status = id % 3 == 1 ? "NOT_DONE" : id % 3 == 2 ? "DONE" : "PAST_DUE";
+            boolean overdue = id % 10 == 0 || !"NOT_DONE".equals(status);
+            batch.add(new Object[] {
+                id,
+                "Seeded task " + id + " " + TOPICS[(int) (id % TOPICS.length)],
+                status,
+                new Timestamp(now - (rows - id) * 1000),
+                new Timestamp(overdue ? now - HOUR : now + 24 * HOUR),
+                "DONE".equals(status) ? new Timestamp(now) : null,
+                "DONE".equals(status)
+            });
+            if (batch.size() == INSERT_BATCH_SIZE || id == rows) {
+                jdbcTemplate.batchUpdate("insert into todo (id, description, status, created_at, due_date_time, "
+                    + "marked_as_done_date_time, is_done) values (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        // The pooled optimizer hands out the allocation block below the sequence value, so skip a full block
+        jdbcTemplate.execute("alter sequence todo_seq restart with " + (rows + 1 + ID_ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,96 @@
+package com.s2.todo.backend.benchmark;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import com.s2.todo.backend.service.TodoService;
+import com.s2.todo.backend.service.UpdateResult;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Many threads changing the status of a few hot Todo items: the single conditional UPDATE against the former
+ * findById/mutate/save cycle, which under @Version locking surfaces lost updates as conflicts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class TodoContentionBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"4", "64"})
+    public int hotIds;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoRepository todoRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.start("contention" + rows, rows);
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Per-thread outcome counters, reported next to the throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long updated;
+        public long conflicts;
+    }
+
+    @Benchmark
+    public void conditionalUpdate(Outcomes outcomes) {
+        UpdateResult result = todoService.changeStatus(hotId(), randomStatus(), null);
+        if (result.outcome() == UpdateResult.Outcome.UPDATED) {
+            outcomes.updated++;
+        } else {
+            outcomes.conflicts++;
+        }
+    }
+
+    @Benchmark
+    public void readModifyWrite(Outcomes outcomes) {
+        try {
+            Todo todo = todoRepository.findById(hotId()).orElseThrow();
+            todo.setStatus(randomStatus());
+            todoRepository.save(todo);
+            outcomes.updated++;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+        }
+    }
+
+    private long hotId() {
+        // IDs 3k+2 are seeded as DONE, so neither status change touches a past due item
+        return ThreadLocalRandom.current().nextLong(0, hotIds) * 3 + 2;
+    }
+
+    private static Todo.Status randomStatus() {
+        return ThreadLocalRandom.current().nextBoolean() ? Todo.Status.DONE : Todo.Status.NOT_DONE;
+    }
+}
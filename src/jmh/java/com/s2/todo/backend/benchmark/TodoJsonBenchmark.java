@@ -0,0 +1,89 @@
+package com.s2.todo.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s2.todo.backend.dto.PageResponse;
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmark of the serialization of a page of Todo items, as returned by GET /todos: the former Spring Data page of
+ * entities against the flat page of summaries, as JSON, CBOR and Smile. The payload size of each is printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoJsonBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private Page<Todo> page;
+    private PageResponse<TodoSummary> summaryPage;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+        List<Todo> todos = new ArrayList<>(pageSize);
+        List<TodoSummary> summaries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Todo todo = Todo.builder()
+                .id(i)
+                .description("Benchmark task " + i)
+                .status(Todo.Status.NOT_DONE)
+                .createdAt(new Date())
+                .dueDateTime(new Date())
+                .build();
+            todos.add(todo);
+            summaries.add(new TodoSummary(todo.getId(), todo.getDescription(), todo.getStatus(), todo.getCreatedAt(),
+                todo.getDueDateTime(), todo.isDone()));
+        }
+        page = new PageImpl<>(todos, PageRequest.of(0, pageSize), 1_000_000);
+        summaryPage = PageResponse.of(new PageImpl<>(summaries, PageRequest.of(0, pageSize), 1_000_000));
+
+        System.out.printf("%nPayload bytes for %d items: entity page JSON %d, summary page JSON %d, CBOR %d, Smile %d%n",
+            pageSize, serializePage().length, serializeSummaryPage().length, serializeSummaryPageCbor().length,
+            serializeSummaryPageSmile().length);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryPage);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPageCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(summaryPage);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaryPageSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(summaryPage);
+    }
+}
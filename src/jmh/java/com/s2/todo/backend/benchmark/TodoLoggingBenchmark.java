@@ -0,0 +1,104 @@
+package com.s2.todo.backend.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.s2.todo.backend.model.Todo;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the cost of the former request logging (INFO entity dumps through a synchronous appender) with DEBUG-gated
+ * dumps and audit events through an asynchronous appender. Run with {@code -PjmhProfilers=gc} to see the allocation
+ * rate of each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TodoLoggingBenchmark {
+
+    private Logger syncLogger;
+    private Logger asyncLogger;
+    private AsyncAppender asyncAppender;
+    private Todo todo;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        syncLogger = logger(context, "benchmark.sync", discardingAppender(context));
+
+        asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(discardingAppender(context));
+        asyncAppender.start();
+        asyncLogger = logger(context, "benchmark.async", asyncAppender);
+
+        todo = Todo.builder()
+            .id(42)
+            .description("Benchmark task")
+            .status(Todo.Status.NOT_DONE)
+            .createdAt(new Date())
+            .dueDateTime(new Date())
+            .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        asyncAppender.stop();
+    }
+
+    @Benchmark
+    public void entityDumpAtInfoSync() {
+        syncLogger.info("Saving a Todo item: {}", todo);
+        syncLogger.info("Saved Todo item with ID: {}", todo.getId());
+    }
+
+    @Benchmark
+    public void entityDumpGatedAtDebugAsync() {
+        asyncLogger.debug("Saving a Todo item: {}", todo);
+        if (asyncLogger.isInfoEnabled()) {
+            asyncLogger.info("event=created id={}", todo.getId());
+        }
+    }
+
+    private static Logger logger(LoggerContext context, String name, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static Appender<ILoggingEvent> discardingAppender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{ISO8601} %-5level [%thread] %logger{36} - %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
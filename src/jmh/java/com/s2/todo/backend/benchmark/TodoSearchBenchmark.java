@@ -0,0 +1,84 @@
+package com.s2.todo.backend.benchmark;
+
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.service.SearchCursor;
+import com.s2.todo.backend.service.TodoSearchIndex;
+import com.s2.todo.backend.service.TodoSearchService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Latency of text searches against the seeded database: a rare term, a term matching an eighth of all items, a
+ * prefix, a status filter and a deep page. The parallel index rebuild is timed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoSearchService todoSearchService;
+    private SearchCursor secondPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.start("search" + rows, rows, "todo.search.enabled=true");
+        todoSearchService = context.getBean(TodoSearchService.class);
+        long start = System.nanoTime();
+        long indexed = context.getBean(TodoSearchIndex.class).rebuild();
+        System.out.printf("%nIndexed %d Todo items in %d ms%n", indexed, (System.nanoTime() - start) / 1_000_000);
+        secondPage = SearchCursor.decode(todoSearchService.search("invoice", null, null, PAGE_SIZE).next());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorSlice<TodoSummary> rareTerm() {
+        return todoSearchService.search(Long.toString(randomId()), null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorSlice<TodoSummary> commonTerm() {
+        return todoSearchService.search("invoice", null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorSlice<TodoSummary> prefix() {
+        return todoSearchService.search("gard*", null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorSlice<TodoSummary> commonTermWithStatus() {
+        return todoSearchService.search("meeting", Todo.Status.PAST_DUE, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorSlice<TodoSummary> commonTermSecondPage() {
+        return todoSearchService.search("invoice", null, secondPage, PAGE_SIZE);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
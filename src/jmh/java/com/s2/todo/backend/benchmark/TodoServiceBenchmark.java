@@ -0,0 +1,129 @@
+package com.s2.todo.backend.benchmark;
+
+import com.s2.todo.backend.dto.BatchItemResult;
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.service.TodoCursor;
+import com.s2.todo.backend.service.TodoService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Benchmarks of the TodoService hot paths against a seeded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoServiceBenchmark {
+
+    static final int PAGE_SIZE = 10;
+    static final int BATCH_SIZE = 100;
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private int deepPage;
+    private TodoCursor deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.start("service" + rows, rows);
+        todoService = context.getBean(TodoService.class);
+        deepPage = rows / PAGE_SIZE / 3; // about the last page of "not done" items
+        // Cursor of an item near the end of the "not done" items, to compare keyset with OFFSET at the same depth
+        Todo deepTodo = todoService.getTodoDetails((long) (deepPage * PAGE_SIZE * 3 - 2));
+        deepCursor = TodoCursor.of(deepTodo);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Todo save() {
+        return todoService.save(newTodo());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<BatchItemResult> saveAll() {
+        List<Todo> todos = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            todos.add(newTodo());
+        }
+        return todoService.saveAll(todos);
+    }
+
+    @Benchmark
+    public Todo getTodoDetails() {
+        return todoService.getTodoDetails(randomId());
+    }
+
+    @Benchmark
+    public Page<TodoSummary> getAllTodoSummariesShallow() {
+        return todoService.getAllTodoSummaries(1, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<TodoSummary> getAllTodoSummariesDeep() {
+        return todoService.getAllTodoSummaries(deepPage * 3, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<TodoSummary> getNotDoneTodoSummariesShallow() {
+        return todoService.getNotDoneTodoSummaries(1, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<TodoSummary> getNotDoneTodoSummariesDeep() {
+        return todoService.getNotDoneTodoSummaries(deepPage, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Slice<TodoSummary> getNotDoneTodoSummariesAfterShallow() {
+        return todoService.getNotDoneTodoSummariesAfter(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Slice<TodoSummary> getNotDoneTodoSummariesAfterDeep() {
+        return todoService.getNotDoneTodoSummariesAfter(deepCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Todo updateStatus() {
+        // IDs 3k+2 are seeded as DONE, so toggling them never touches a past due item
+        long id = ThreadLocalRandom.current().nextLong(0, rows / 3) * 3 + 2;
+        Todo.Status status = ThreadLocalRandom.current().nextBoolean() ? Todo.Status.DONE : Todo.Status.NOT_DONE;
+        return todoService.updateStatus(id, status);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    private static Todo newTodo() {
+        return Todo.builder()
+            .description("Benchmark task")
+            .status(Todo.Status.NOT_DONE)
+            .build();
+    }
+}
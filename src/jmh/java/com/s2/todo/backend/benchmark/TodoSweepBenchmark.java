@@ -0,0 +1,56 @@
+package com.s2.todo.backend.benchmark;
+
+import com.s2.todo.backend.service.SweepReport;
+import com.s2.todo.backend.service.TodoService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Benchmark of a full past due sweep. Every iteration first reverts the items swept by the previous one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TodoSweepBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SeededApplication.start("sweep" + rows, rows);
+        todoService = context.getBean(TodoService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void revertSweep() {
+        jdbcTemplate.update("update todo set status = 'NOT_DONE' where mod(id, 30) = 10");
+        jdbcTemplate.update("delete from sweep_checkpoint");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SweepReport updateStatusForPastDueItems() {
+        return todoService.updateStatusForPastDueItems();
+    }
+}
@@ -0,0 +1,99 @@
+package com.s2.todo.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The packaged application, started in its own JVM for a load test run and stopped afterwards. Its output goes to
+ * a log file next to the report.
+ */
+public class AppProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private AppProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Start the application and wait until it reports itself healthy.
+     *
+     * @param jar     The executable jar.
+     * @param port    The HTTP port.
+     * @param jvmArgs Options of the JVM, e.g. a heap size.
+     * @param appArgs Arguments of the application, e.g. a profile.
+     * @param log     The file to write the output of the application to.
+     * @return The running application.
+     * @throws IOException          If it cannot be started or does not become healthy in time.
+     * @throws InterruptedException If interrupted while waiting for it.
+     */
+    public static AppProcess start(Path jar, int port, List<String> jvmArgs, List<String> appArgs, Path log)
+        throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+        AppProcess app = new AppProcess(process, "http://localhost:" + port);
+        try {
+            app.awaitHealthy();
+        } catch (IOException | InterruptedException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    /**
+     * @return The base URL of the application.
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void awaitHealthy() throws IOException, InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("The application exited with status " + process.exitValue());
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(200);
+        }
+        throw new IOException("The application did not become healthy within " + STARTUP_TIMEOUT);
+    }
+}
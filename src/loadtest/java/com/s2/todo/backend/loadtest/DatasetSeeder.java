@@ -0,0 +1,82 @@
+package com.s2.todo.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/**
+ * Creates the dataset of a load test run through {@code POST /todos/batch}, with descriptions drawn from a small
+ * vocabulary, a share of done items and a share of items due in the next 30 days.
+ */
+public class DatasetSeeder {
+
+    private static final String[] VERBS = {"Pay", "Renew", "Book", "Call", "Review", "Clean", "Order", "Send"};
+    private static final String[] OBJECTS = {"electricity invoice", "car insurance", "dentist appointment",
+        "landlord", "pull request", "garage", "printer toner", "birthday card"};
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public DatasetSeeder(HttpClient httpClient, String baseUrl) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Create the Todo items of a workload.
+     *
+     * @param workload The workload.
+     * @param seed     The seed of the generated contents.
+     * @return The IDs of the created Todo items.
+     * @throws IOException          If a request fails or is rejected.
+     * @throws InterruptedException If interrupted while waiting for a response.
+     */
+    public long[] seed(Workload workload, long seed) throws IOException, InterruptedException {
+        Random random = new Random(seed);
+        LongStream.Builder ids = LongStream.builder();
+        long now = System.currentTimeMillis();
+        for (int created = 0; created < workload.seedItems(); created += workload.seedBatchSize()) {
+            ArrayNode batch = objectMapper.createArrayNode();
+            int size = Math.min(workload.seedBatchSize(), workload.seedItems() - created);
+            for (int i = 0; i < size; i++) {
+                boolean done = random.nextDouble() < workload.seedDoneRatio();
+                ObjectNode todo = batch.addObject()
+                    .put("description", VERBS[random.nextInt(VERBS.length)] + " "
+                        + OBJECTS[random.nextInt(OBJECTS.length)] + " #" + (created + i))
+                    .put("status", done ? "DONE" : "NOT_DONE")
+                    .put("done", done);
+                if (done) {
+                    todo.put("markedAsDoneDateTime", now);
+                }
+                if (random.nextDouble() < workload.seedDueRatio()) {
+                    todo.put("dueDateTime", now + DAY_MILLIS + (long) (random.nextDouble() * 29 * DAY_MILLIS));
+                }
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/todos/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch)))
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IOException("Seeding failed with status " + response.statusCode() + ": "
+                    + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body())) {
+                if (result.hasNonNull("id")) {
+                    ids.add(result.get("id").asLong());
+                }
+            }
+        }
+        return ids.build().toArray();
+    }
+}
@@ -0,0 +1,195 @@
+package com.s2.todo.backend.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives the Todo API with an open-loop workload: requests are scheduled at the arrival times of the workload,
+ * independently of how fast the server answers, and each is sent on its own virtual thread.
+ */
+public class LoadGenerator {
+
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"next\"\\s*:\\s*\"([^\"]+)\"");
+    // Cursors returned by keyset listings, continued by later listings to reach deeper slices
+    private static final int CURSOR_SLOTS = 256;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Workload workload;
+    private final ZipfSampler hotIds;
+    private final Operation[] operations = Operation.values();
+    private final double[] cumulative = new double[operations.length];
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicReferenceArray<String> cursors = new AtomicReferenceArray<>(CURSOR_SLOTS);
+    private final AtomicLong created = new AtomicLong();
+
+    /**
+     * @param httpClient The client to send requests with.
+     * @param baseUrl    The base URL of the Todo API.
+     * @param workload   The workload.
+     * @param seededIds  The IDs of the seeded Todo items.
+     */
+    public LoadGenerator(HttpClient httpClient, String baseUrl, Workload workload, long[] seededIds) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.workload = workload;
+        this.hotIds = new ZipfSampler(seededIds, workload.zipfExponent(), 42);
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += workload.probability(operations[i]);
+            cumulative[i] = sum;
+        }
+    }
+
+    /**
+     * @return The sampler of the IDs of single-item requests.
+     */
+    public ZipfSampler hotIds() {
+        return hotIds;
+    }
+
+    /**
+     * Run the warmup and the measured part of the workload.
+     *
+     * @return The statistics of the measured part, by operation.
+     * @throws InterruptedException If interrupted while waiting for outstanding requests.
+     */
+    public Map<Operation, OperationStats> run() throws InterruptedException {
+        Map<Operation, OperationStats> warmupStats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new OperationStats());
+            warmupStats.put(operation, new OperationStats());
+        }
+        Semaphore inFlight = new Semaphore(workload.maxInFlight());
+        long start = System.nanoTime();
+        long measureStart = start + workload.warmup().toNanos();
+        long end = measureStart + workload.duration().toNanos();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            long due = start;
+            while (true) {
+                // Exponential inter-arrival times make a Poisson process at the current rate
+                double gap = -Math.log(1 - ThreadLocalRandom.current().nextDouble())
+                    / workload.ratePerNanoAt(due - start);
+                due += (long) gap;
+                if (due >= end) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = nextOperation();
+                OperationStats target = (due < measureStart ? warmupStats : stats).get(operation);
+                if (!inFlight.tryAcquire()) {
+                    target.dropped();
+                    continue;
+                }
+                long scheduled = due;
+                senders.execute(() -> {
+                    try {
+                        send(operation, scheduled, target);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return stats;
+    }
+
+    private Operation nextOperation() {
+        double pick = ThreadLocalRandom.current().nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < operations.length; i++) {
+            if (pick < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void send(Operation operation, long scheduled, OperationStats target) {
+        try {
+            HttpRequest request = request(operation);
+            int status;
+            if (operation == Operation.LIST_KEYSET) {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+                Matcher next = NEXT_CURSOR.matcher(response.body());
+                if (next.find()) {
+                    cursors.set(ThreadLocalRandom.current().nextInt(CURSOR_SLOTS), next.group(1));
+                }
+            } else {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+            long latency = System.nanoTime() - scheduled;
+            if (status >= 400) {
+                target.error(latency);
+            } else {
+                target.success(latency);
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            target.error(System.nanoTime() - scheduled);
+        }
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case GET_BY_ID -> get("/todos/" + hotIds.next());
+            case LIST -> get("/todos?page=" + pageDepth() + "&pageSize=" + workload.pageSize() + "&allItems="
+                + (random.nextDouble() < workload.allItemsRatio()));
+            case LIST_KEYSET -> {
+                String cursor = random.nextDouble() < workload.pageDecay()
+                    ? cursors.get(random.nextInt(CURSOR_SLOTS))
+                    : null;
+                yield get("/todos?after=" + (cursor == null ? "" : cursor) + "&pageSize=" + workload.pageSize()
+                    + "&allItems=" + (random.nextDouble() < workload.allItemsRatio()));
+            }
+            case STATS -> get("/todos/stats");
+            case CREATE -> builder("/todos")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"description\":\"Load test task "
+                    + created.incrementAndGet() + "\",\"status\":\"NOT_DONE\"}"))
+                .build();
+            case CHANGE_STATUS -> builder("/todos/" + hotIds.next() + (random.nextBoolean() ? "/done" : "/notdone"))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        };
+    }
+
+    private int pageDepth() {
+        // Geometric: each page deeper is requested pageDecay times as often as the one before
+        int page = 1;
+        while (page < workload.maxPage() && ThreadLocalRandom.current().nextDouble() < workload.pageDecay()) {
+            page++;
+        }
+        return page;
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        Duration timeout = workload.requestTimeout();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        return timeout.isZero() ? builder : builder.timeout(timeout);
+    }
+}
@@ -0,0 +1,158 @@
+package com.s2.todo.backend.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Throughput, errors and latency percentiles of a run, per operation and for all operations ({@value #ALL}).
+ */
+public class LoadReport {
+
+    static final String ALL = "all";
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final List<Row> rows = new ArrayList<>();
+    private final double seconds;
+
+    /**
+     * One line of the report.
+     *
+     * @param name       The operation, or {@value #ALL}.
+     * @param count      The number of completed requests, including errors.
+     * @param errors     The number of failed requests.
+     * @param dropped    The number of requests that were not sent.
+     * @param throughput The completed requests without errors per second.
+     * @param histogram  The latencies, in microseconds.
+     */
+    public record Row(String name, long count, long errors, long dropped, double throughput, Histogram histogram) {
+
+        /**
+         * @param percentile The percentile, e.g. 99.9.
+         * @return The latency at the percentile, in milliseconds.
+         */
+        public double millisAt(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        /**
+         * @return The share of failed or dropped requests among all requests.
+         */
+        public double errorRatio() {
+            long requests = count + dropped;
+            return requests == 0 ? 0 : (errors + dropped) / (double) requests;
+        }
+    }
+
+    /**
+     * @param stats   The statistics of the measured part of a run, by operation.
+     * @param seconds The length of the measured part.
+     */
+    public LoadReport(Map<Operation, OperationStats> stats, double seconds) {
+        this.seconds = seconds;
+        Histogram all = new Histogram(OperationStats.MAX_LATENCY_MICROS, 3);
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operation = entry.getValue();
+            if (operation.count() == 0 && operation.droppedCount() == 0) {
+                continue;
+            }
+            Histogram histogram = operation.histogram();
+            all.add(histogram);
+            errors += operation.errors();
+            dropped += operation.droppedCount();
+            rows.add(row(entry.getKey().key(), histogram, operation.errors(), operation.droppedCount()));
+        }
+        rows.add(row(ALL, all, errors, dropped));
+    }
+
+    /**
+     * @return The lines of the report, the one for all operations last.
+     */
+    public List<Row> rows() {
+        return rows;
+    }
+
+    /**
+     * @param name The operation, or {@value #ALL}.
+     * @return The line of the operation, or null if it was not run.
+     */
+    public Row row(String name) {
+        return rows.stream().filter(row -> row.name().equals(name)).findFirst().orElse(null);
+    }
+
+    /**
+     * Print the report as a table.
+     *
+     * @param out The stream to print to.
+     */
+    public void print(PrintStream out) {
+        out.print(table());
+    }
+
+    /**
+     * Write the table ({@code summary.txt}), the figures as properties for comparing runs
+     * ({@code results.properties}) and the full latency distribution of every operation in HdrHistogram's
+     * percentile format, in milliseconds ({@code <operation>.hgrm}).
+     *
+     * @param directory The directory to write to.
+     * @throws IOException If a file cannot be written.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), table());
+        Properties results = new Properties();
+        for (Row row : rows) {
+            results.setProperty(row.name() + ".count", Long.toString(row.count()));
+            results.setProperty(row.name() + ".errors", Long.toString(row.errors()));
+            results.setProperty(row.name() + ".dropped", Long.toString(row.dropped()));
+            results.setProperty(row.name() + ".throughput", format(row.throughput()));
+            for (double percentile : PERCENTILES) {
+                results.setProperty(row.name() + ".p" + format(percentile) + "-millis",
+                    format(row.millisAt(percentile)));
+            }
+            results.setProperty(row.name() + ".max-millis", format(row.histogram().getMaxValue() / 1000.0));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(row.name() + ".hgrm")),
+                false, StandardCharsets.UTF_8)) {
+                row.histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        try (var out = Files.newBufferedWriter(directory.resolve("results.properties"))) {
+            results.store(out, "Load test results over " + format(seconds) + " s");
+        }
+    }
+
+    private Row row(String name, Histogram histogram, long errors, long dropped) {
+        long count = histogram.getTotalCount();
+        return new Row(name, count, errors, dropped, (count - errors) / seconds, histogram);
+    }
+
+    private String table() {
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        out.printf(Locale.ROOT, "%-14s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "errors",
+            "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows) {
+            out.printf(Locale.ROOT, "%-14s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", row.name(),
+                row.count(), row.errors(), row.dropped(), row.throughput(), row.millisAt(50), row.millisAt(90),
+                row.millisAt(99), row.millisAt(99.9), row.histogram().getMaxValue() / 1000.0);
+        }
+        out.flush();
+        return buffer.toString();
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+}
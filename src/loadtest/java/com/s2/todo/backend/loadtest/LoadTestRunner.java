@@ -0,0 +1,151 @@
+package com.s2.todo.backend.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+
+/**
+ * Load test of the Todo API: seeds a dataset, runs the workload of {@code workload.properties}, reports throughput
+ * and latency histograms, and fails when a threshold of {@code slo.properties} is breached.
+ * <p>
+ * Usage: {@code LoadTestRunner (--jar <app.jar> | --base-url <url>) [--port <port>] [--workload <file>]
+ * [--slo <file>] [--report-dir <dir>] [--jvm-arg <arg>]... [--app-arg <arg>]... [--no-gate] [<key>=<value>]...}
+ * <p>
+ * With {@code --jar} the application is started on a fresh in-memory database and stopped afterwards; with
+ * {@code --base-url} a running instance is tested. {@code key=value} arguments override workload properties. The
+ * exit status is 0 if all thresholds are met, 1 if one is breached and 2 if the run failed.
+ */
+public class LoadTestRunner {
+
+    private static final int DEFAULT_PORT = 18100;
+    private static final long SEED = 20240501L;
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (Exception e) {
+            System.err.println("Load test failed: " + e);
+            e.printStackTrace();
+            System.exit(2);
+        }
+    }
+
+    private static int run(String[] args) throws Exception {
+        Path jar = null;
+        String baseUrl = null;
+        int port = DEFAULT_PORT;
+        Path workloadFile = null;
+        Path sloFile = null;
+        Path reportDir = Path.of("build", "reports", "loadtest");
+        List<String> jvmArgs = new ArrayList<>();
+        List<String> appArgs = new ArrayList<>();
+        boolean gate = true;
+        Properties overrides = new Properties();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--jar" -> jar = Path.of(args[++i]);
+                case "--base-url" -> baseUrl = args[++i];
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--workload" -> workloadFile = Path.of(args[++i]);
+                case "--slo" -> sloFile = Path.of(args[++i]);
+                case "--report-dir" -> reportDir = Path.of(args[++i]);
+                case "--jvm-arg" -> jvmArgs.add(args[++i]);
+                case "--app-arg" -> appArgs.add(args[++i]);
+                case "--no-gate" -> gate = false;
+                default -> {
+                    int separator = args[i].indexOf('=');
+                    if (separator <= 0) {
+                        throw new IllegalArgumentException("Unknown argument " + args[i]);
+                    }
+                    overrides.setProperty(args[i].substring(0, separator), args[i].substring(separator + 1));
+                }
+            }
+        }
+        if ((jar == null) == (baseUrl == null)) {
+            throw new IllegalArgumentException("Exactly one of --jar and --base-url is required");
+        }
+
+        Properties workloadProperties = load(workloadFile, "workload.properties");
+        workloadProperties.putAll(overrides);
+        Workload workload = Workload.of(workloadProperties);
+        Properties thresholds = load(sloFile, "slo.properties");
+        Files.createDirectories(reportDir);
+
+        AppProcess app = null;
+        try {
+            if (jar != null) {
+                System.out.println("Starting " + jar + " on port " + port);
+                app = AppProcess.start(jar, port, jvmArgs, appArgs, reportDir.resolve("app.log"));
+                baseUrl = app.baseUrl();
+            }
+            return test(baseUrl, workload, new SloGate(thresholds), gate, reportDir);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static int test(String baseUrl, Workload workload, SloGate sloGate, boolean gate, Path reportDir)
+        throws IOException, InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        long seedStart = System.nanoTime();
+        long[] ids = new DatasetSeeder(httpClient, baseUrl).seed(workload, SEED);
+        System.out.printf(Locale.ROOT, "Seeded %d Todo items in %.1f s%n", ids.length,
+            (System.nanoTime() - seedStart) / 1e9);
+
+        LoadGenerator generator = new LoadGenerator(httpClient, baseUrl, workload, ids);
+        System.out.printf(Locale.ROOT, "Running %.0f req/s (mean %.0f req/s with bursts) for %s after a %s warmup; "
+                + "%d hot IDs receive 80%% of single-item requests%n", workload.rate(), workload.meanRate(),
+            workload.duration(), workload.warmup(), generator.hotIds().hotSetSize(0.8));
+        for (Operation operation : Operation.values()) {
+            System.out.printf(Locale.ROOT, "  %-14s %5.1f%%%n", operation.key(),
+                100 * workload.probability(operation));
+        }
+        Map<Operation, OperationStats> stats = generator.run();
+
+        LoadReport report = new LoadReport(stats, workload.duration().toNanos() / 1e9);
+        report.print(System.out);
+        report.write(reportDir);
+        System.out.println("Reports written to " + reportDir.toAbsolutePath());
+
+        List<String> breaches = sloGate.check(report);
+        if (breaches.isEmpty()) {
+            System.out.println("All SLO thresholds met.");
+            return 0;
+        }
+        breaches.forEach(breach -> System.out.println("SLO breached: " + breach));
+        return gate ? 1 : 0;
+    }
+
+    private static Properties load(Path file, String resource) throws IOException {
+        Properties properties = new Properties();
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+            return properties;
+        }
+        try (InputStream in = LoadTestRunner.class.getResourceAsStream("/" + resource)) {
+            if (in == null) {
+                throw new IOException("Missing " + resource + " on the class path");
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+}
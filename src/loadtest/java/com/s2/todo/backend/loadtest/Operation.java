@@ -0,0 +1,41 @@
+package com.s2.todo.backend.loadtest;
+
+/**
+ * The requests a simulated client issues against the Todo API.
+ */
+public enum Operation {
+    /** {@code GET /todos/{id}} of a seeded item, hot IDs first. */
+    GET_BY_ID("get-by-id", false),
+    /** {@code GET /todos?page=N}, deep pages less often than shallow ones. */
+    LIST("list", false),
+    /** {@code GET /todos?after=...}, continuing the listing of an earlier client or starting a new one. */
+    LIST_KEYSET("list-keyset", false),
+    /** {@code GET /todos/stats}. */
+    STATS("stats", false),
+    /** {@code POST /todos}. */
+    CREATE("create", true),
+    /** {@code PUT /todos/{id}/done} or {@code /notdone} of a seeded item, hot IDs first. */
+    CHANGE_STATUS("change-status", true);
+
+    private final String key;
+    private final boolean write;
+
+    Operation(String key, boolean write) {
+        this.key = key;
+        this.write = write;
+    }
+
+    /**
+     * @return The name of the operation in workload, threshold and report files.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @return Whether the operation changes data.
+     */
+    public boolean isWrite() {
+        return write;
+    }
+}
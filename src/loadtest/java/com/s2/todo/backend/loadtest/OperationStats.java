@@ -0,0 +1,71 @@
+package com.s2.todo.backend.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and errors of one operation during the measured part of a run.
+ * <p>
+ * Latencies are recorded in microseconds from the time a request was due to be sent, not from when it was sent, so
+ * requests held up by a slow server count their wait (no coordinated omission).
+ */
+public class OperationStats {
+
+    static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param latencyNanos The latency of a request that succeeded.
+     */
+    public void success(long latencyNanos) {
+        histogram.recordValue(Math.min(MAX_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    /**
+     * @param latencyNanos The latency of a request that failed or was answered with an error status.
+     */
+    public void error(long latencyNanos) {
+        success(latencyNanos);
+        errors.increment();
+    }
+
+    /**
+     * Count a request that was not sent because too many requests were outstanding.
+     */
+    public void dropped() {
+        dropped.increment();
+    }
+
+    /**
+     * @return A copy of the latency histogram, in microseconds.
+     */
+    public Histogram histogram() {
+        return histogram.copy();
+    }
+
+    /**
+     * @return The number of completed requests, including errors.
+     */
+    public long count() {
+        return histogram.getTotalCount();
+    }
+
+    /**
+     * @return The number of requests that failed or were answered with an error status.
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * @return The number of requests that were not sent.
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
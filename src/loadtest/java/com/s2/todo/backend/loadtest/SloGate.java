@@ -0,0 +1,75 @@
+package com.s2.todo.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Checks a load test report against the thresholds of {@code slo.properties}.
+ * <p>
+ * Keys are {@code <operation>.<metric>}, where the operation is the key of an {@link Operation} or
+ * {@value LoadReport#ALL}, and the metric one of:
+ * <ul>
+ *     <li>{@code p<percentile>-millis}: the highest allowed latency at the percentile, e.g. {@code p99-millis};</li>
+ *     <li>{@code min-throughput}: the lowest allowed rate of successful requests per second;</li>
+ *     <li>{@code max-error-ratio}: the highest allowed share of failed or dropped requests.</li>
+ * </ul>
+ */
+public class SloGate {
+
+    private static final String PERCENTILE_PREFIX = "p";
+    private static final String MILLIS_SUFFIX = "-millis";
+
+    private final Properties thresholds;
+
+    /**
+     * @param thresholds The thresholds.
+     */
+    public SloGate(Properties thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * @param report The report of a run.
+     * @return A description of every breached threshold; empty if all are met.
+     * @throws IllegalArgumentException If a threshold key or value is invalid.
+     */
+    public List<String> check(LoadReport report) {
+        List<String> breaches = new ArrayList<>();
+        for (String key : thresholds.stringPropertyNames().stream().sorted().toList()) {
+            // Operation names have no dots, percentiles may (p99.9-millis)
+            int separator = key.indexOf('.');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Unknown threshold " + key);
+            }
+            String operation = key.substring(0, separator);
+            String metric = key.substring(separator + 1);
+            double limit = Double.parseDouble(thresholds.getProperty(key).trim());
+            LoadReport.Row row = report.row(operation);
+            if (row == null) {
+                breaches.add(key + ": no requests of " + operation + " were made");
+                continue;
+            }
+            if (metric.equals("min-throughput")) {
+                check(breaches, key, row.throughput(), limit, false);
+            } else if (metric.equals("max-error-ratio")) {
+                check(breaches, key, row.errorRatio(), limit, true);
+            } else if (metric.startsWith(PERCENTILE_PREFIX) && metric.endsWith(MILLIS_SUFFIX)) {
+                double percentile = Double.parseDouble(metric.substring(PERCENTILE_PREFIX.length(),
+                    metric.length() - MILLIS_SUFFIX.length()));
+                check(breaches, key, row.millisAt(percentile), limit, true);
+            } else {
+                throw new IllegalArgumentException("Unknown threshold " + key);
+            }
+        }
+        return breaches;
+    }
+
+    private static void check(List<String> breaches, String key, double actual, double limit, boolean max) {
+        if (max ? actual > limit : actual < limit) {
+            breaches.add(String.format(Locale.ROOT, "%s: %.3f is %s the threshold of %.3f", key, actual,
+                max ? "above" : "below", limit));
+        }
+    }
+}
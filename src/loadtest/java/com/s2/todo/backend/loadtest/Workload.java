@@ -0,0 +1,157 @@
+package com.s2.todo.backend.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The workload model of a load test run, read from {@code workload.properties}.
+ * <p>
+ * Requests arrive open-loop as a Poisson process at {@code rate} per second, multiplied by {@code burst.factor} for
+ * the first {@code burst.duration} of every {@code burst.period}. Each request is a read with probability
+ * {@code 1 - write-ratio}; reads and writes are then split by the {@code mix.*} weights of their operations.
+ *
+ * @param seedItems         The number of Todo items created before the run.
+ * @param seedBatchSize     The number of Todo items per seeding request.
+ * @param seedDoneRatio     The share of seeded Todo items that are done.
+ * @param seedDueRatio      The share of seeded Todo items with a due date/time, all in the future.
+ * @param rate              The base arrival rate, in requests per second.
+ * @param warmup            The time before measurements start.
+ * @param duration          The measured time.
+ * @param maxInFlight       The maximum number of outstanding requests; arrivals beyond it are dropped.
+ * @param requestTimeout    The timeout of a single request.
+ * @param burstPeriod       The time between the starts of two bursts, or zero for no bursts.
+ * @param burstDuration     The length of a burst.
+ * @param burstFactor       The multiplier of the arrival rate during a burst.
+ * @param writeRatio        The share of requests that change data.
+ * @param mix               The relative weights of the operations, among reads and among writes.
+ * @param pageSize          The page size of listings.
+ * @param maxPage           The deepest page requested by {@link Operation#LIST}.
+ * @param pageDecay         The probability of going one page deeper, for both kinds of listing.
+ * @param allItemsRatio     The share of listings with {@code allItems=true}.
+ * @param zipfExponent      The skew of the IDs of single-item requests; 0 picks IDs uniformly.
+ */
+public record Workload(int seedItems, int seedBatchSize, double seedDoneRatio, double seedDueRatio, double rate,
+                       Duration warmup, Duration duration, int maxInFlight, Duration requestTimeout,
+                       Duration burstPeriod, Duration burstDuration, double burstFactor, double writeRatio,
+                       Map<Operation, Double> mix, int pageSize, int maxPage, double pageDecay,
+                       double allItemsRatio, double zipfExponent) {
+
+    /**
+     * Read a workload.
+     *
+     * @param properties The workload properties.
+     * @return The workload.
+     * @throws IllegalArgumentException If a property is missing or out of range.
+     */
+    public static Workload of(Properties properties) {
+        Map<Operation, Double> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, number(properties, "mix." + operation.key(), 0, Double.MAX_VALUE));
+        }
+        Workload workload = new Workload(
+            (int) number(properties, "seed.items", 1, Integer.MAX_VALUE),
+            (int) number(properties, "seed.batch-size", 1, 1000),
+            number(properties, "seed.done-ratio", 0, 1),
+            number(properties, "seed.due-ratio", 0, 1),
+            number(properties, "rate", Double.MIN_VALUE, Double.MAX_VALUE),
+            duration(properties, "warmup"),
+            duration(properties, "duration"),
+            (int) number(properties, "max-in-flight", 1, Integer.MAX_VALUE),
+            duration(properties, "request-timeout"),
+            duration(properties, "burst.period"),
+            duration(properties, "burst.duration"),
+            number(properties, "burst.factor", 1, Double.MAX_VALUE),
+            number(properties, "write-ratio", 0, 1),
+            mix,
+            (int) number(properties, "list.page-size", 1, 1000),
+            (int) number(properties, "list.max-page", 1, Integer.MAX_VALUE),
+            number(properties, "list.page-decay", 0, 1),
+            number(properties, "list.all-items-ratio", 0, 1),
+            number(properties, "get.zipf-exponent", 0, Double.MAX_VALUE));
+        if (workload.duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        if (workload.writeRatio < 1 && workload.weight(false) == 0) {
+            throw new IllegalArgumentException("write-ratio is below 1, but no read operation has a weight");
+        }
+        if (workload.writeRatio > 0 && workload.weight(true) == 0) {
+            throw new IllegalArgumentException("write-ratio is above 0, but no write operation has a weight");
+        }
+        return workload;
+    }
+
+    /**
+     * @param elapsedNanos The time since the start of the run.
+     * @return The arrival rate at that time, in requests per nanosecond.
+     */
+    public double ratePerNanoAt(long elapsedNanos) {
+        double perSecond = rate;
+        if (!burstPeriod.isZero() && elapsedNanos % burstPeriod.toNanos() < burstDuration.toNanos()) {
+            perSecond *= burstFactor;
+        }
+        return perSecond / 1e9;
+    }
+
+    /**
+     * @return The mean arrival rate over a burst period, in requests per second.
+     */
+    public double meanRate() {
+        if (burstPeriod.isZero()) {
+            return rate;
+        }
+        double burstShare = Math.min(1, burstDuration.toNanos() / (double) burstPeriod.toNanos());
+        return rate * (1 + (burstFactor - 1) * burstShare);
+    }
+
+    /**
+     * @param operation The operation.
+     * @return The probability of a request being this operation.
+     */
+    public double probability(Operation operation) {
+        double weight = mix.get(operation);
+        if (weight == 0) {
+            return 0;
+        }
+        double share = operation.isWrite() ? writeRatio : 1 - writeRatio;
+        return share * weight / weight(operation.isWrite());
+    }
+
+    private double weight(boolean write) {
+        return mix.entrySet().stream()
+            .filter(entry -> entry.getKey().isWrite() == write)
+            .mapToDouble(Map.Entry::getValue)
+            .sum();
+    }
+
+    private static double number(Properties properties, String key, double min, double max) {
+        String value = required(properties, key);
+        double number;
+        try {
+            number = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number: " + value, e);
+        }
+        if (number < min || number > max) {
+            throw new IllegalArgumentException(key + " is out of range: " + value);
+        }
+        return number;
+    }
+
+    private static Duration duration(Properties properties, String key) {
+        Duration duration = Duration.parse(required(properties, key));
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException(key + " must not be negative");
+        }
+        return duration;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing workload property " + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,64 @@
+package com.s2.todo.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks items with Zipf-distributed popularity: the item of rank k is picked with a probability proportional to
+ * {@code 1 / k^exponent}. Ranks are assigned to the items in a shuffled order, so the hot items are spread over the
+ * ID space rather than being the oldest ones.
+ */
+public class ZipfSampler {
+
+    private final long[] items;
+    // Cumulative probability of ranks 1..k at index k-1
+    private final double[] cumulative;
+
+    /**
+     * @param items    The items to pick from.
+     * @param exponent The skew; 0 picks uniformly, around 1 is typical of web traffic.
+     * @param seed     The seed of the shuffle, so runs with the same dataset share their hot items.
+     */
+    public ZipfSampler(long[] items, double exponent, long seed) {
+        if (items.length == 0) {
+            throw new IllegalArgumentException("No items to pick from");
+        }
+        this.items = items.clone();
+        Random random = new Random(seed);
+        for (int i = this.items.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long item = this.items[i];
+            this.items[i] = this.items[j];
+            this.items[j] = item;
+        }
+        this.cumulative = new double[items.length];
+        double sum = 0;
+        for (int k = 1; k <= items.length; k++) {
+            sum += 1 / Math.pow(k, exponent);
+            cumulative[k - 1] = sum;
+        }
+        for (int k = 0; k < cumulative.length; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    /**
+     * @return An item, popular ones more often.
+     */
+    public long next() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        // A miss returns -(insertion point) - 1; the insertion point is the rank whose cumulative range holds it
+        int rank = index >= 0 ? index : -index - 1;
+        return items[Math.min(rank, items.length - 1)];
+    }
+
+    /**
+     * @param share The share of all picks, e.g. 0.8.
+     * @return The number of most popular items that receive at least that share of the picks.
+     */
+    public int hotSetSize(double share) {
+        int index = Arrays.binarySearch(cumulative, share);
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+}
@@ -2,8 +2,14 @@ package com.s2.todo.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is only set up by ReactiveTodoConfig when the reactive API is enabled; the reactive API does not use
+// transactions, so the JPA transaction manager stays the only one
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
+@EnableScheduling
 public class BackendApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,39 @@
+package com.s2.todo.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary alternatives to JSON, chosen by clients through the Accept header ({@code application/cbor} or
+ * {@code application/x-jackson-smile}); JSON stays the default.
+ * <p>
+ * The converters replace Spring MVC's defaults for these formats, so they share the Jackson settings of the JSON
+ * responses.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+        ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder
+            .getIfAvailable(Jackson2ObjectMapperBuilder::cbor)
+            .factory(new CBORFactory())
+            .build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+        ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder
+            .getIfAvailable(Jackson2ObjectMapperBuilder::smile)
+            .factory(new SmileFactory())
+            .build());
+    }
+}
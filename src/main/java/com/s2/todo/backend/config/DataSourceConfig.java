@@ -0,0 +1,22 @@
+package com.s2.todo.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Wiring of the startup self-check of the datasource settings.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    public DataSourceSelfCheck dataSourceSelfCheck(DataSource dataSource,
+                                                   ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                                   Environment environment) {
+        return new DataSourceSelfCheck(dataSource, entityManagerFactory, environment);
+    }
+}
@@ -0,0 +1,110 @@
+package com.s2.todo.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports the effective connection pool and JDBC batching settings once the application is ready, and under
+ * {@code datasource} in {@code /actuator/info}.
+ * <p>
+ * Settings that silently cost throughput or data are logged as warnings: JDBC batching turned off, Open Session in
+ * View left on, or an in-memory database under the {@code prod} profile.
+ */
+public class DataSourceSelfCheck implements InfoContributor {
+
+    private static final String[] HIBERNATE_SETTINGS = {
+        "hibernate.jdbc.batch_size",
+        "hibernate.order_inserts",
+        "hibernate.order_updates",
+        "hibernate.query.plan_cache_max_size",
+        "hibernate.query.in_clause_parameter_padding"
+    };
+
+    private final DataSource dataSource;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final Environment environment;
+    private final Logger logger = LoggerFactory.getLogger(DataSourceSelfCheck.class);
+
+    public DataSourceSelfCheck(DataSource dataSource, ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                               Environment environment) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.environment = environment;
+    }
+
+    /**
+     * Log the effective settings, warning about the ones unfit for production.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        Map<String, Object> settings = settings();
+        logger.info("Datasource settings: {}", settings);
+
+        Object url = settings.get("url");
+        if (url != null && url.toString().contains(":mem:")
+            && Arrays.asList(environment.getActiveProfiles()).contains("prod")) {
+            logger.warn("The prod profile runs on an in-memory database; all data is lost on restart");
+        }
+        Object batchSize = settings.get("hibernate.jdbc.batch_size");
+        if (batchSize == null || Integer.parseInt(batchSize.toString()) <= 1) {
+            logger.warn("JDBC batching is disabled; set spring.jpa.properties.hibernate.jdbc.batch_size");
+        }
+        if (environment.getProperty("spring.jpa.open-in-view", Boolean.class, true)) {
+            logger.warn("Open Session in View is enabled; set spring.jpa.open-in-view=false");
+        }
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("datasource", settings());
+    }
+
+    /**
+     * @return The effective pool and Hibernate settings, in a stable order.
+     */
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        HikariDataSource pool = hikari();
+        if (pool != null) {
+            settings.put("url", pool.getJdbcUrl());
+            settings.put("pool", pool.getPoolName());
+            settings.put("maximumPoolSize", pool.getMaximumPoolSize());
+            settings.put("minimumIdle", pool.getMinimumIdle());
+            settings.put("connectionTimeoutMillis", pool.getConnectionTimeout());
+            settings.put("maxLifetimeMillis", pool.getMaxLifetime());
+        } else {
+            settings.put("pool", "none (" + dataSource.getClass().getSimpleName() + ")");
+        }
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        if (emf != null) {
+            Map<String, Object> properties = emf.getProperties();
+            for (String name : HIBERNATE_SETTINGS) {
+                settings.put(name, properties.get(name));
+            }
+        }
+        settings.put("openInView", environment.getProperty("spring.jpa.open-in-view", Boolean.class, true));
+        return settings;
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            // Unwraps the observation proxy of datasource-micrometer as well
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
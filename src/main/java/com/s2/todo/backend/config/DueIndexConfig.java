@@ -0,0 +1,17 @@
+package com.s2.todo.backend.config;
+
+import com.s2.todo.backend.service.TodoDueIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wiring of the administration of the due date index.
+ */
+@Configuration
+public class DueIndexConfig {
+
+    @Bean
+    public DueIndexEndpoint dueIndexEndpoint(TodoDueIndex todoDueIndex) {
+        return new DueIndexEndpoint(todoDueIndex);
+    }
+}
@@ -0,0 +1,33 @@
+package com.s2.todo.backend.config;
+
+import com.s2.todo.backend.service.TodoDueIndex;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint of the due date index: {@code GET /actuator/dueindex} reports its size and
+ * {@code POST /actuator/dueindex} rebuilds it from the database.
+ */
+@Endpoint(id = "dueindex")
+public class DueIndexEndpoint {
+
+    private final TodoDueIndex todoDueIndex;
+
+    public DueIndexEndpoint(TodoDueIndex todoDueIndex) {
+        this.todoDueIndex = todoDueIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> size() {
+        return Map.of("items", todoDueIndex.size());
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long start = System.nanoTime();
+        long indexed = todoDueIndex.rebuild();
+        return Map.of("indexed", indexed, "elapsedMillis", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,33 @@
+package com.s2.todo.backend.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wiring of the tracing and metrics instrumentation.
+ * <p>
+ * Spans are created for HTTP requests by Spring MVC, for {@code @Observed} services by the aspect below and for JDBC
+ * connections and queries by datasource-micrometer, and are kept in memory by the {@link RecentSpanHandler}.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new ObservedAspect(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    @Bean
+    public RecentSpanHandler recentSpanHandler(@Value("${todo.tracing.recent-spans:2000}") int capacity) {
+        return new RecentSpanHandler(capacity);
+    }
+
+    @Bean
+    public RecentSpansEndpoint recentSpansEndpoint(RecentSpanHandler recentSpanHandler) {
+        return new RecentSpansEndpoint(recentSpanHandler);
+    }
+}
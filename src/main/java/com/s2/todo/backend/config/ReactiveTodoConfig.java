@@ -0,0 +1,68 @@
+package com.s2.todo.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s2.todo.backend.controller.ReactiveTodoHandler;
+import com.s2.todo.backend.repository.ReactiveTodoRepository;
+import com.s2.todo.backend.service.DueDateScheduler;
+import com.s2.todo.backend.service.TodoCache;
+import com.s2.todo.backend.service.TodoChangeTracker;
+import com.s2.todo.backend.service.TodoDueIndex;
+import com.s2.todo.backend.service.TodoEventLog;
+import com.s2.todo.backend.service.TodoSearchIndex;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+/**
+ * Wiring of the reactive Todo API, enabled with {@code todo.reactive.enabled=true}. Only then is the R2DBC connection
+ * factory ({@code spring.r2dbc.*}) created; the application excludes its auto-configuration otherwise.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todo.reactive.enabled", havingValue = "true")
+@ImportAutoConfiguration(R2dbcAutoConfiguration.class)
+public class ReactiveTodoConfig {
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public ReactiveTodoRepository reactiveTodoRepository(DatabaseClient databaseClient) {
+        return new ReactiveTodoRepository(databaseClient);
+    }
+
+    @Bean
+    public ReactiveTodoHandler reactiveTodoHandler(ReactiveTodoRepository reactiveTodoRepository,
+                                                   TodoCache todoCache,
+                                                   TodoChangeTracker todoChangeTracker,
+                                                   TodoEventLog todoEventLog,
+                                                   TodoSearchIndex todoSearchIndex,
+                                                   DueDateScheduler dueDateScheduler,
+                                                   TodoDueIndex todoDueIndex) {
+        return new ReactiveTodoHandler(reactiveTodoRepository, todoCache, todoChangeTracker, todoEventLog,
+            todoSearchIndex, dueDateScheduler, todoDueIndex);
+    }
+
+    @Bean
+    public ReactiveTodoServer reactiveTodoServer(ReactiveTodoHandler reactiveTodoHandler, ObjectMapper objectMapper,
+                                                 @Value("${todo.reactive.port:8081}") int port) {
+        // Same JSON representation as the servlet endpoints
+        HandlerStrategies strategies = HandlerStrategies.builder()
+            .codecs(configurer -> {
+                configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            })
+            .build();
+        return new ReactiveTodoServer(RouterFunctions.toHttpHandler(reactiveTodoHandler.routes(), strategies), port);
+    }
+}
@@ -0,0 +1,56 @@
+package com.s2.todo.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * A Reactor Netty server on its own port, running the reactive endpoints on a handful of event-loop threads next to
+ * the servlet container.
+ */
+public class ReactiveTodoServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveTodoServer.class);
+    private volatile DisposableServer server;
+
+    public ReactiveTodoServer(HttpHandler httpHandler, int port) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+            .port(port)
+            .handle(new ReactorHttpHandlerAdapter(httpHandler))
+            .bindNow();
+        logger.info("Reactive Todo API started on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * @return The port the server is bound to, or -1 if it is not running.
+     */
+    public int getPort() {
+        DisposableServer current = server;
+        return current == null ? -1 : current.port();
+    }
+}
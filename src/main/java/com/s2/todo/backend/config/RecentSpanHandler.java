@@ -0,0 +1,90 @@
+package com.s2.todo.backend.config;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recently finished spans in memory, so slow requests can be traced down to the responsible query
+ * without an external tracing backend.
+ * <p>
+ * Spans are written to a lock-free ring buffer: each finished span claims the next slot with an atomic increment and
+ * overwrites the oldest span, so request threads never wait for each other or for a reader.
+ */
+public class RecentSpanHandler extends SpanHandler {
+
+    private final int capacity;
+    private final AtomicReferenceArray<SpanSummary> spans;
+    // The number of spans ever written; the next one goes to slot next % capacity
+    private final AtomicLong next = new AtomicLong();
+
+    public RecentSpanHandler(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("todo.tracing.recent-spans must be positive");
+        }
+        this.capacity = capacity;
+        this.spans = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        SpanSummary summary = new SpanSummary(span.traceId(), span.id(), span.parentId(), span.name(),
+            span.startTimestamp(), span.finishTimestamp() - span.startTimestamp(), new LinkedHashMap<>(span.tags()));
+        spans.set((int) (next.getAndIncrement() % capacity), summary);
+        return true;
+    }
+
+    /**
+     * Group the recent spans by trace, slowest trace first.
+     *
+     * @param minMillis Only return traces whose root span took at least this long.
+     * @return The recent traces.
+     */
+    public List<TraceSummary> traces(long minMillis) {
+        Map<String, List<SpanSummary>> byTrace = new LinkedHashMap<>();
+        // A snapshot without locking: slots overwritten meanwhile yield a newer span instead of an older one
+        for (int i = 0; i < capacity; i++) {
+            SpanSummary span = spans.get(i);
+            if (span != null) {
+                byTrace.computeIfAbsent(span.traceId(), traceId -> new ArrayList<>()).add(span);
+            }
+        }
+        List<TraceSummary> traces = new ArrayList<>(byTrace.size());
+        for (List<SpanSummary> traceSpans : byTrace.values()) {
+            traceSpans.sort(Comparator.comparingLong(SpanSummary::startMicros));
+            // The root is the span without a parent, or the longest one if the root was evicted or not finished yet
+            SpanSummary root = traceSpans.stream()
+                .filter(span -> span.parentId() == null)
+                .findFirst()
+                .orElseGet(() -> traceSpans.stream().max(Comparator.comparingLong(SpanSummary::durationMicros)).get());
+            if (root.durationMicros() >= minMillis * 1000) {
+                traces.add(new TraceSummary(root.traceId(), root.name(), root.durationMicros() / 1000.0, traceSpans));
+            }
+        }
+        traces.sort(Comparator.comparingDouble(TraceSummary::durationMillis).reversed());
+        return traces;
+    }
+
+    /**
+     * A finished span.
+     */
+    public record SpanSummary(String traceId, String spanId, String parentId, String name, long startMicros,
+                              long durationMicros, Map<String, String> tags) {
+    }
+
+    /**
+     * The recent spans of a trace.
+     */
+    public record TraceSummary(String traceId, String name, double durationMillis, List<SpanSummary> spans) {
+    }
+}
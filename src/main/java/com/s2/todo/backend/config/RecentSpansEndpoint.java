@@ -0,0 +1,24 @@
+package com.s2.todo.backend.config;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint listing recent traces, slowest first: {@code GET /actuator/spans?minMillis=100}.
+ */
+@Endpoint(id = "spans")
+public class RecentSpansEndpoint {
+
+    private final RecentSpanHandler recentSpanHandler;
+
+    public RecentSpansEndpoint(RecentSpanHandler recentSpanHandler) {
+        this.recentSpanHandler = recentSpanHandler;
+    }
+
+    @ReadOperation
+    public List<RecentSpanHandler.TraceSummary> traces(@Nullable Long minMillis) {
+        return recentSpanHandler.traces(minMillis == null ? 0 : minMillis);
+    }
+}
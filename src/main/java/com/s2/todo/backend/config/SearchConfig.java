@@ -0,0 +1,17 @@
+package com.s2.todo.backend.config;
+
+import com.s2.todo.backend.service.TodoSearchIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wiring of the administration of the search index.
+ */
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public SearchIndexEndpoint searchIndexEndpoint(TodoSearchIndex todoSearchIndex) {
+        return new SearchIndexEndpoint(todoSearchIndex);
+    }
+}
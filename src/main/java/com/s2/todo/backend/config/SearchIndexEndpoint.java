@@ -0,0 +1,33 @@
+package com.s2.todo.backend.config;
+
+import com.s2.todo.backend.service.TodoSearchIndex;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint of the search index: {@code GET /actuator/searchindex} reports its size and
+ * {@code POST /actuator/searchindex} rebuilds it from the database.
+ */
+@Endpoint(id = "searchindex")
+public class SearchIndexEndpoint {
+
+    private final TodoSearchIndex todoSearchIndex;
+
+    public SearchIndexEndpoint(TodoSearchIndex todoSearchIndex) {
+        this.todoSearchIndex = todoSearchIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> size() {
+        return Map.of("documents", todoSearchIndex.size());
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        long start = System.nanoTime();
+        long indexed = todoSearchIndex.rebuild();
+        return Map.of("indexed", indexed, "elapsedMillis", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,134 @@
+package com.s2.todo.backend.controller;
+
+import com.s2.todo.backend.model.Todo;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Conversion between Todo versions and HTTP entity tags.
+ * <p>
+ * The same version is served as JSON, CBOR or Smile, so the tags of the binary representations carry a suffix
+ * ({@code "3+cbor"}); JSON tags are the plain version. Responses carrying these tags must vary by Accept.
+ */
+final class ETags {
+
+    // Never matches a real version, so an unparseable If-Match fails the precondition
+    private static final long UNMATCHABLE_VERSION = -1;
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private ETags() {
+    }
+
+    /**
+     * @param todo   The Todo item.
+     * @param accept The Accept header value, or null if absent.
+     * @return The strong entity tag of the accepted representation of the current version of the Todo item.
+     */
+    static String of(Todo todo, String accept) {
+        return of(todo.getVersion(), accept);
+    }
+
+    /**
+     * @param version The version of a Todo item.
+     * @param accept  The Accept header value, or null if absent.
+     * @return The strong entity tag of the accepted representation of the version.
+     */
+    static String of(long version, String accept) {
+        return "\"" + version + representation(accept) + "\"";
+    }
+
+    /**
+     * @param collectionVersion The version of the Todo collection.
+     * @param accept            The Accept header value, or null if absent.
+     * @return The strong entity tag of the accepted representation of a listing of the Todo collection at that
+     * version.
+     */
+    static String ofCollection(String collectionVersion, String accept) {
+        return "\"c" + collectionVersion + representation(accept) + "\"";
+    }
+
+    // The tag suffix of the representation content negotiation picks for an Accept header: the most preferred
+    // acceptable type, by quality, then specificity
+    private static String representation(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+        } catch (IllegalArgumentException e) {
+            // Rejected by content negotiation anyway
+            return "";
+        }
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                return "+cbor";
+            }
+            if (mediaType.includes(SMILE)) {
+                return "+smile";
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Check an If-None-Match header against the current entity tag.
+     *
+     * @param ifNoneMatch The If-None-Match header value, or null if absent.
+     * @param eTag        The current entity tag.
+     * @return True if the client already holds the current representation.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            // Weak comparison (RFC 9110): a weak tag matches the strong tag with the same opaque value
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the version expected by an If-Match header.
+     *
+     * @param ifMatch The If-Match header value, or null if absent.
+     * @return The expected version, or null if any version matches.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            // Weak tags never match in If-Match (RFC 9110, strong comparison)
+            return UNMATCHABLE_VERSION;
+        }
+        // The version is the same in every representation, so the representation suffix is ignored
+        tag = tag.replace("\"", "");
+        int suffix = tag.indexOf('+');
+        try {
+            return Long.parseLong(suffix < 0 ? tag : tag.substring(0, suffix));
+        } catch (NumberFormatException e) {
+            return UNMATCHABLE_VERSION;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.s2.todo.backend.controller;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.ReactiveTodoRepository;
+import com.s2.todo.backend.service.DueDateScheduler;
+import com.s2.todo.backend.service.TodoCache;
+import com.s2.todo.backend.service.TodoChangeTracker;
+import com.s2.todo.backend.service.TodoDueIndex;
+import com.s2.todo.backend.service.TodoEventLog;
+import com.s2.todo.backend.service.TodoSearchIndex;
+import com.s2.todo.backend.service.TodoService;
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking handlers for the /todos operations, served next to the servlet {@link TodoController}.
+ * <p>
+ * Listings are not paged: they stream every matching item as NDJSON, honouring the client's demand. Writes are
+ * recorded in the change feed and reported to the search index, the due date scheduler and the due date index right
+ * after they complete, as the reactive API does not use transactions.
+ */
+public class ReactiveTodoHandler {
+
+    private final ReactiveTodoRepository todoRepository;
+    private final TodoCache todoCache;
+    private final TodoChangeTracker todoChangeTracker;
+    private final TodoEventLog todoEventLog;
+    private final TodoSearchIndex todoSearchIndex;
+    private final DueDateScheduler dueDateScheduler;
+    private final TodoDueIndex todoDueIndex;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveTodoHandler.class);
+
+    public ReactiveTodoHandler(ReactiveTodoRepository todoRepository, TodoCache todoCache,
+                               TodoChangeTracker todoChangeTracker, TodoEventLog todoEventLog,
+                               TodoSearchIndex todoSearchIndex, DueDateScheduler dueDateScheduler,
+                               TodoDueIndex todoDueIndex) {
+        this.todoRepository = todoRepository;
+        this.todoCache = todoCache;
+        this.todoChangeTracker = todoChangeTracker;
+        this.todoEventLog = todoEventLog;
+        this.todoSearchIndex = todoSearchIndex;
+        this.dueDateScheduler = dueDateScheduler;
+        this.todoDueIndex = todoDueIndex;
+    }
+
+    /**
+     * @return The routes of the reactive /todos endpoints; a non-numeric ID is answered with 400 (Bad Request).
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return route(POST("/todos"), this::addItem)
+            .andRoute(PUT("/todos/{id}/done"), this::markAsDone)
+            .andRoute(PUT("/todos/{id}/notdone"), this::markAsNotDone)
+            .andRoute(PUT("/todos/{id}"), this::updateDescription)
+            .andRoute(GET("/todos/{id}"), this::getTodoDetails)
+            .andRoute(GET("/todos"), this::getAllTodos)
+            .filter((request, next) -> {
+                try {
+                    return next.handle(request);
+                } catch (NumberFormatException e) {
+                    // Answered like the servlet stack answers an ID it cannot convert
+                    logger.warn("Received an invalid Todo item ID. Returning a bad request response.");
+                    return ServerResponse.badRequest().bodyValue("Invalid ID.");
+                }
+            });
+    }
+
+    /**
+     * Add a new Todo item.
+     *
+     * @param request The request carrying the Todo item.
+     * @return HTTP status code 201 (Created) with the new Todo, or 400 (Bad Request) if it is incomplete.
+     */
+    public Mono<ServerResponse> addItem(ServerRequest request) {
+        return request.bodyToMono(Todo.class)
+            .flatMap(todo -> {
+                String problem = TodoService.validateNewTodo(todo);
+                if (problem != null) {
+                    logger.warn("Received an invalid Todo item: {}. Returning a bad request response.", problem);
+                    return ServerResponse.badRequest().bodyValue(problem);
+                }
+                todo.setCreatedAt(new Date());
+                return todoRepository.insert(todo)
+                    .flatMap(todoRepository::findById)
+                    .flatMap(created -> {
+                        todoChangeTracker.changed(created.getId());
+                        logger.debug("Added a new Todo item with ID: {}", created.getId());
+                        return record(created, () -> todoEventLog.created(List.of(created)))
+                            .then(ServerResponse.created(URI.create("/todos/" + created.getId())).bodyValue(created));
+                    });
+            })
+            .switchIfEmpty(ServerResponse.badRequest().bodyValue("Request body is empty."));
+    }
+
+    /**
+     * Update the description of a Todo item, unless it is past due.
+     *
+     * @param request The request carrying the ID and the new description.
+     * @return HTTP status code 200 (OK) with the updated Todo, 403 (Forbidden) or 404 (Not Found).
+     */
+    public Mono<ServerResponse> updateDescription(ServerRequest request) {
+        long id = id(request);
+        return request.bodyToMono(String.class)
+            .flatMap(description -> todoRepository.updateDescriptionUnlessPastDue(id, description))
+            .flatMap(rows -> respondToUpdate(id, rows, "Cannot update description for a past due item.",
+                todoEventLog::descriptionUpdated))
+            .switchIfEmpty(ServerResponse.badRequest().bodyValue("Request body is empty."));
+    }
+
+    /**
+     * Mark a Todo item as "done".
+     *
+     * @param request The request carrying the ID.
+     * @return HTTP status code 200 (OK) with the updated Todo, or 404 (Not Found).
+     */
+    public Mono<ServerResponse> markAsDone(ServerRequest request) {
+        long id = id(request);
+        return todoRepository.updateStatus(id, Todo.Status.DONE, true)
+            .flatMap(rows -> respondToUpdate(id, rows, "Cannot mark item as done.",
+                updated -> todoEventLog.statusChanged(List.of(updated))));
+    }
+
+    /**
+     * Mark a Todo item as "not done", unless it is past due.
+     *
+     * @param request The request carrying the ID.
+     * @return HTTP status code 200 (OK) with the updated Todo, 403 (Forbidden) or 404 (Not Found).
+     */
+    public Mono<ServerResponse> markAsNotDone(ServerRequest request) {
+        long id = id(request);
+        return todoRepository.updateStatus(id, Todo.Status.NOT_DONE, false)
+            .flatMap(rows -> respondToUpdate(id, rows, "Cannot mark past due item as not done.",
+                updated -> todoEventLog.statusChanged(List.of(updated))));
+    }
+
+    /**
+     * Get details of a specific Todo item.
+     *
+     * @param request The request carrying the ID.
+     * @return HTTP status code 200 (OK) with the Todo, or 404 (Not Found).
+     */
+    public Mono<ServerResponse> getTodoDetails(ServerRequest request) {
+        return todoRepository.findById(id(request))
+            .flatMap(todo -> ServerResponse.ok().bodyValue(todo))
+            .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Stream all Todo items that are "not done" (with an option to stream all items) as NDJSON.
+     *
+     * @param request The request, optionally carrying {@code allItems=true}.
+     * @return HTTP status code 200 (OK) with the streamed Todo items.
+     */
+    public Mono<ServerResponse> getAllTodos(ServerRequest request) {
+        boolean allItems = request.queryParam("allItems").map(Boolean::parseBoolean).orElse(false);
+        Flux<Todo> todos = allItems ? todoRepository.findAll() : todoRepository.findByIsDone(false);
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON).body(todos, Todo.class);
+    }
+
+    private Mono<ServerResponse> respondToUpdate(long id, long rows, String forbiddenMessage, Consumer<Todo> feed) {
+        // Writes bypass TodoService, so keep the servlet stack's cache from serving the old state
+        todoCache.evict(id);
+        Mono<Todo> todo = todoRepository.findById(id);
+        if (rows > 0) {
+            todoChangeTracker.changed(id);
+            return todo.flatMap(updated -> record(updated, () -> feed.accept(updated))
+                .then(ServerResponse.ok().bodyValue(updated)));
+        }
+        // Nothing was updated: either the item does not exist or the condition excluded it
+        return todo
+            .flatMap(existing -> ServerResponse.status(HttpStatus.FORBIDDEN).bodyValue(forbiddenMessage))
+            .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private Mono<Void> record(Todo written, Runnable append) {
+        // The change feed is written with JDBC and the search index with Lucene, so keep them off the event loop
+        return Mono.fromRunnable(() -> {
+            append.run();
+            todoSearchIndex.index(written);
+            dueDateScheduler.schedule(written);
+            todoDueIndex.update(written);
+        }).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    private static long id(ServerRequest request) {
+        return Long.parseLong(request.pathVariable("id"));
+    }
+}
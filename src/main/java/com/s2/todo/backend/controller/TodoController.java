@@ -1,21 +1,71 @@
 package com.s2.todo.backend.controller;
 
+import com.s2.todo.backend.dto.BatchItemResult;
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.dto.DueHistogram;
+import com.s2.todo.backend.dto.PageResponse;
+import com.s2.todo.backend.dto.StatusChange;
+import com.s2.todo.backend.dto.TodoEvent;
+import com.s2.todo.backend.dto.TodoEventSlice;
+import com.s2.todo.backend.dto.TodoStats;
+import com.s2.todo.backend.dto.TodoSummary;
 import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.service.ArchiveCursor;
+import com.s2.todo.backend.service.DueBucket;
+import com.s2.todo.backend.service.DueCursor;
+import com.s2.todo.backend.service.ExportFormat;
+import com.s2.todo.backend.service.IngestQueueFullException;
+import com.s2.todo.backend.service.SearchCursor;
+import com.s2.todo.backend.service.TodoArchiver;
+import com.s2.todo.backend.service.TodoCursor;
+import com.s2.todo.backend.service.TodoDueService;
+import com.s2.todo.backend.service.TodoEventLog;
+import com.s2.todo.backend.service.TodoEventsExpiredException;
+import com.s2.todo.backend.service.TodoExportService;
+import com.s2.todo.backend.service.TodoFeedBroadcaster;
+import com.s2.todo.backend.service.TodoIngestQueue;
+import com.s2.todo.backend.service.TodoMetrics;
+import com.s2.todo.backend.service.TodoSearchService;
 import com.s2.todo.backend.service.TodoService;
+import com.s2.todo.backend.service.UpdateResult;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * A REST-ful controller for managing Todo items.
@@ -25,174 +75,726 @@ import org.springframework.web.bind.annotation.RestController;
 public class TodoController {
 
     private final TodoService todoService;
+    private final TodoExportService todoExportService;
+    private final TodoMetrics todoMetrics;
+    private final TodoSearchService todoSearchService;
+    private final TodoIngestQueue todoIngestQueue;
+    private final TodoEventLog todoEventLog;
+    private final TodoFeedBroadcaster todoFeedBroadcaster;
+    private final TodoArchiver todoArchiver;
+    private final TodoDueService todoDueService;
+    private final int batchMaxSize;
     private final Logger logger = LoggerFactory.getLogger(TodoController.class);
 
     @Autowired
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoExportService todoExportService, TodoMetrics todoMetrics,
+                          TodoSearchService todoSearchService, TodoIngestQueue todoIngestQueue,
+                          TodoEventLog todoEventLog, TodoFeedBroadcaster todoFeedBroadcaster,
+                          TodoArchiver todoArchiver, TodoDueService todoDueService,
+                          @Value("${todo.batch.max-size:1000}") int batchMaxSize) {
         this.todoService = todoService;
+        this.todoExportService = todoExportService;
+        this.todoMetrics = todoMetrics;
+        this.todoSearchService = todoSearchService;
+        this.todoIngestQueue = todoIngestQueue;
+        this.todoEventLog = todoEventLog;
+        this.todoFeedBroadcaster = todoFeedBroadcaster;
+        this.todoArchiver = todoArchiver;
+        this.todoDueService = todoDueService;
+        this.batchMaxSize = batchMaxSize;
     }
 
     /**
      * Add a new Todo item.
+     * <p>
+     * With write-behind ingestion enabled ({@code todo.ingest.enabled}), the item is queued and inserted in a group
+     * commit; depending on {@code todo.ingest.ack} the response is sent once it is queued, with its pre-allocated ID,
+     * or once it is committed.
      *
      * @param todo The Todo item to be added.
-     * @return ResponseEntity containing the newly created Todo and HTTP status code 201 (Created).
+     * @return ResponseEntity containing the newly created Todo and HTTP status code 201 (Created), 202 (Accepted) if
+     * it has been queued but not yet committed, 400 (Bad Request) if it is incomplete, or 429 (Too Many Requests) if
+     * the ingestion queue is full.
      */
     @PostMapping
-    public ResponseEntity<Todo> addItem(@RequestBody Todo todo) {
-        logger.info("Received a request to add a new Todo item.");
+    public ResponseEntity<?> addItem(@RequestBody Todo todo) {
+        logger.debug("Received a request to add a new Todo item.");
 
         if (todo == null) {
             logger.error("Received an empty request body. Returning a bad request response.");
             return ResponseEntity.badRequest().build();
         }
 
+        if (todoIngestQueue.isEnabled()) {
+            return enqueueItem(todo);
+        }
+
         Todo createdTodo = todoService.save(todo);
-        logger.info("Added a new Todo item with ID: {}", createdTodo.getId());
+        logger.debug("Added a new Todo item with ID: {}", createdTodo.getId());
 
         return new ResponseEntity<>(createdTodo, HttpStatus.CREATED);
     }
 
+    private ResponseEntity<?> enqueueItem(Todo todo) {
+        CompletableFuture<Todo> committed;
+        try {
+            committed = todoIngestQueue.submit(todo);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Received an invalid Todo item: {}. Returning a bad request response.", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        URI location = URI.create("/todos/" + todo.getId());
+        if (todoIngestQueue.getAck() == TodoIngestQueue.Ack.ENQUEUE) {
+            logger.debug("Queued a new Todo item with ID: {}", todo.getId());
+            return ResponseEntity.accepted().location(location).body(todo);
+        }
+
+        try {
+            Todo createdTodo = committed.get(todoIngestQueue.getCommitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            logger.debug("Added a new Todo item with ID: {}", createdTodo.getId());
+            return ResponseEntity.created(location).body(createdTodo);
+        } catch (TimeoutException e) {
+            logger.warn("Todo item with ID {} not committed in time. Returning an accepted response.", todo.getId());
+            return ResponseEntity.accepted().location(location).body(todo);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Todo item " + todo.getId(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IngestQueueFullException queueFull) {
+                throw queueFull;
+            }
+            throw new IllegalStateException("Unable to store Todo item " + todo.getId(), e.getCause());
+        }
+    }
+
     /**
-     * Update the description of a Todo item.
+     * Add a batch of new Todo items in a single transaction.
      *
-     * @param id             The ID of the Todo item to be updated.
-     * @param newDescription The new description for the Todo item.
-     * @return ResponseEntity containing the updated Todo and HTTP status code 200 (OK).
+     * @param todos The Todo items to be added.
+     * @return ResponseEntity containing the result for each item and HTTP status code 201 (Created).
      */
-    @PutMapping("/{id}")
-    public ResponseEntity<?> updateDescription(@PathVariable Long id, @RequestBody String newDescription) {
-        logger.info("Received a request to update description for Todo item with ID: {}", id);
+    @PostMapping("/batch")
+    public ResponseEntity<?> addItems(@RequestBody List<Todo> todos) {
+        logger.debug("Received a request to add a batch of Todo items.");
 
-        // Retrieve the Todo item by ID
-        Todo todo = todoService.getTodoDetails(id);
+        ResponseEntity<?> invalidBatch = checkBatchSize(todos);
+        if (invalidBatch != null) {
+            return invalidBatch;
+        }
 
-        // Check if the Todo item exists
-        if (todo == null) {
-            logger.warn("Todo item with ID {} not found. Returning a not found response.", id);
-            return ResponseEntity.notFound().build();
+        List<BatchItemResult> results = todoService.saveAll(todos);
+        logger.debug("Processed a batch of {} Todo items.", results.size());
+
+        return new ResponseEntity<>(results, HttpStatus.CREATED);
+    }
+
+    /**
+     * Update the status of a batch of Todo items in a single transaction.
+     *
+     * @param changes The status changes to apply.
+     * @return ResponseEntity containing the result for each change and HTTP status code 200 (OK).
+     */
+    @PutMapping("/batch/status")
+    public ResponseEntity<?> updateStatuses(@RequestBody List<StatusChange> changes) {
+        logger.debug("Received a request to update the status of a batch of Todo items.");
+
+        ResponseEntity<?> invalidBatch = checkBatchSize(changes);
+        if (invalidBatch != null) {
+            return invalidBatch;
         }
 
-        // Check if the Todo item is past due
-        if (todo.getStatus() == Todo.Status.PAST_DUE) {
-            logger.warn("Cannot update description for a past due Todo item with ID: {}", id);
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot update description for a past due item.");
+        List<BatchItemResult> results = todoService.updateStatuses(changes);
+        logger.debug("Processed a batch of {} status changes.", results.size());
+
+        return ResponseEntity.ok(results);
+    }
+
+    private ResponseEntity<?> checkBatchSize(List<?> batch) {
+        if (batch == null || batch.isEmpty()) {
+            logger.error("Received an empty batch. Returning a bad request response.");
+            return ResponseEntity.badRequest().body("Batch must not be empty.");
+        }
+        if (batch.size() > batchMaxSize) {
+            logger.error("Received a batch of {} items, exceeding the limit of {}.", batch.size(), batchMaxSize);
+            return ResponseEntity.badRequest().body("Batch must not exceed " + batchMaxSize + " items.");
         }
+        return null;
+    }
 
-        // Update the description
-        todo.setDescription(newDescription);
+    /**
+     * Update the description of a Todo item.
+     *
+     * @param id             The ID of the Todo item to be updated.
+     * @param newDescription The new description for the Todo item.
+     * @param ifMatch        The optional ETag the Todo item must still have.
+     * @param accept         The optional Accept header, selecting the representation of the response.
+     * @return ResponseEntity containing the updated Todo and HTTP status code 200 (OK), 403 (Forbidden) if the item
+     * is past due, 404 (Not Found) or 412 (Precondition Failed) if the item has changed since the given ETag.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateDescription(
+        @PathVariable Long id,
+        @RequestBody String newDescription,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        logger.debug("Received a request to update description for Todo item with ID: {}", id);
 
-        // Save the updated Todo item
-        Todo updatedTodo = todoService.save(todo);
+        UpdateResult result = todoService.updateDescription(id, newDescription, ETags.expectedVersion(ifMatch));
 
-        logger.info("Updated description for Todo item with ID: {}", id);
+        logger.debug("Updated description for Todo item with ID {}: {}", id, result.outcome());
 
-        return ResponseEntity.ok(updatedTodo);
+        return toResponse(id, result, accept, "update_description", "Cannot update description for a past due item.");
     }
 
     /**
      * Mark a Todo item as "done".
      *
-     * @param id The ID of the Todo item to be marked as "done".
-     * @return ResponseEntity containing the Todo marked as "done" and HTTP status code 200 (OK).
+     * @param id      The ID of the Todo item to be marked as "done".
+     * @param ifMatch The optional ETag the Todo item must still have.
+     * @param accept  The optional Accept header, selecting the representation of the response.
+     * @return ResponseEntity containing the Todo marked as "done" and HTTP status code 200 (OK), 404 (Not Found) or
+     * 412 (Precondition Failed) if the item has changed since the given ETag.
      */
     @PutMapping("/{id}/done")
-    public ResponseEntity<Todo> markAsDone(@PathVariable Long id) {
-        logger.info("Received a request to mark Todo item with ID {} as 'done'", id);
+    public ResponseEntity<?> markAsDone(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        logger.debug("Received a request to mark Todo item with ID {} as 'done'", id);
 
-        // Mark the Todo item as 'done'
-        Todo markedAsDoneTodo = todoService.markAsDone(id);
+        UpdateResult result = todoService.changeStatus(id, Todo.Status.DONE, ETags.expectedVersion(ifMatch));
 
-        // Check if the Todo item was successfully marked as 'done'
-        if (markedAsDoneTodo == null) {
-            logger.warn("Todo item with ID {} not found. Returning a not found response.", id);
-            return ResponseEntity.notFound().build();
-        }
-
-        logger.info("Marked Todo item with ID {} as 'done'", id);
+        logger.debug("Marked Todo item with ID {} as 'done': {}", id, result.outcome());
 
-        return ResponseEntity.ok(markedAsDoneTodo);
+        return toResponse(id, result, accept, "mark_done", null);
     }
 
     /**
      * Mark a Todo item as "not done".
      *
-     * @param id The ID of the Todo item to be marked as "not done".
-     * @return ResponseEntity containing the Todo marked as "not done" and HTTP status code 200 (OK).
+     * @param id      The ID of the Todo item to be marked as "not done".
+     * @param ifMatch The optional ETag the Todo item must still have.
+     * @param accept  The optional Accept header, selecting the representation of the response.
+     * @return ResponseEntity containing the Todo marked as "not done" and HTTP status code 200 (OK), 403 (Forbidden)
+     * if the item is past due, 404 (Not Found) or 412 (Precondition Failed) if the item has changed since the given
+     * ETag.
      */
     @PutMapping("/{id}/notdone")
-    public ResponseEntity<?> markAsNotDone(@PathVariable Long id) {
-        logger.info("Received a request to mark Todo item with ID {} as 'not done'", id);
+    public ResponseEntity<?> markAsNotDone(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        logger.debug("Received a request to mark Todo item with ID {} as 'not done'", id);
 
-        // Retrieve the Todo item by ID
-        Todo todo = todoService.getTodoDetails(id);
+        // A single conditional UPDATE; past due items are excluded by its WHERE clause
+        UpdateResult result = todoService.changeStatus(id, Todo.Status.NOT_DONE, ETags.expectedVersion(ifMatch));
 
-        // Check if the Todo item exists
-        if (todo == null) {
-            logger.warn("Todo item with ID {} not found. Returning a not found response.", id);
-            return ResponseEntity.notFound().build();
-        }
+        logger.debug("Marked Todo item with ID {} as 'not done': {}", id, result.outcome());
+
+        return toResponse(id, result, accept, "mark_not_done", "Cannot mark past due item as not done.");
+    }
 
-        // Check if the Todo item is past due
-        if (todo.getStatus() == Todo.Status.PAST_DUE) {
-            logger.warn("Cannot mark past due Todo item with ID {} as 'not done'. Returning a forbidden response.", id);
-            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Cannot mark past due item as not done.");
+    private ResponseEntity<?> toResponse(Long id, UpdateResult result, String accept, String operation,
+                                         String forbiddenMessage) {
+        switch (result.outcome()) {
+            case NOT_FOUND -> {
+                logger.warn("Todo item with ID {} not found. Returning a not found response.", id);
+                todoMetrics.notFound(operation);
+                return ResponseEntity.notFound().build();
+            }
+            case FORBIDDEN -> {
+                logger.warn("Todo item with ID {} is past due. Returning a forbidden response.", id);
+                todoMetrics.forbidden(operation);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(forbiddenMessage);
+            }
+            case PRECONDITION_FAILED -> {
+                logger.warn("Todo item with ID {} has changed. Returning a precondition failed response.", id);
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(ETags.of(result.todo(), accept))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body("Todo item has been modified.");
+            }
+            default -> {
+                return ResponseEntity.ok()
+                    .eTag(ETags.of(result.todo(), accept))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(result.todo());
+            }
         }
+    }
+
+    /**
+     * Handle a concurrent modification detected by optimistic locking.
+     *
+     * @param e The exception raised on the version conflict.
+     * @return ResponseEntity with HTTP status code 409 (Conflict).
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        logger.warn("Concurrent modification of a Todo item: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Todo item has been modified concurrently.");
+    }
 
-        // Mark the Todo item as 'not done'
-        logger.info("Marked Todo item with ID {} as 'not done'", id);
-        return ResponseEntity.ok(todoService.updateStatus(id, Todo.Status.NOT_DONE));
+    /**
+     * Handle a Todo item that cannot be queued for write-behind ingestion.
+     *
+     * @param e The exception raised by the full queue.
+     * @return ResponseEntity with HTTP status code 429 (Too Many Requests) and a Retry-After header.
+     */
+    @ExceptionHandler(IngestQueueFullException.class)
+    public ResponseEntity<String> handleIngestQueueFull(IngestQueueFullException e) {
+        logger.warn("Rejected a Todo item: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
+    }
 
+    /**
+     * Handle a change feed position whose following events are no longer available.
+     *
+     * @param e The exception raised by the change feed.
+     * @return ResponseEntity with HTTP status code 410 (Gone).
+     */
+    @ExceptionHandler(TodoEventsExpiredException.class)
+    public ResponseEntity<String> handleEventsExpired(TodoEventsExpiredException e) {
+        logger.warn("Change feed position unavailable: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
     }
 
     /**
      * Get a list of all Todo items that are "not done" (with an option to retrieve all items).
+     * <p>
+     * Only the columns of a list view are selected, and pages are returned flat, without Spring Data's pageable and
+     * sort metadata. Clients may request CBOR ({@code application/cbor}) or Smile ({@code application/x-jackson-smile})
+     * instead of JSON through the Accept header. The {@code totalElements} and {@code totalPages} of a page come from
+     * the Todo counters rather than a count query, so they are approximate until the counters are reconciled.
+     * <p>
+     * When {@code after} is given (an empty value starts at the beginning), keyset pagination is used instead of
+     * page numbers: the response is a slice without totals, and its {@code next} cursor fetches the following slice.
      *
-     * @param allItems If true, retrieve all Todo items; if false (default), retrieve only "not done" items.
-     * @return ResponseEntity containing the list of Todo items and HTTP status code 200 (OK).
+     * @param allItems    If true, retrieve all Todo items; if false (default), retrieve only "not done" items.
+     * @param after       The cursor returned with the previous slice, enabling keyset pagination.
+     * @param ifNoneMatch The optional ETag of a listing the client already holds.
+     * @param accept      The optional Accept header, selecting the representation (JSON, CBOR or Smile).
+     * @return ResponseEntity containing the list of Todo items and HTTP status code 200 (OK), 304 (Not Modified)
+     * if no Todo item has changed since the given ETag, or 400 (Bad Request) if the page size is not between 1 and
+     * {@code todo.batch.max-size} or the page number is below 1.
      */
     @GetMapping
-    public ResponseEntity<Page<Todo>> getAllTodos(
+    public ResponseEntity<?> getAllTodos(
         @RequestParam(required = false, defaultValue = "false") boolean allItems,
         @RequestParam(defaultValue = "1") int page,
-        @RequestParam(defaultValue = "10") int pageSize
+        @RequestParam(defaultValue = "10") int pageSize,
+        @RequestParam(required = false) String after,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
-        logger.info("Received a request to retrieve Todo items (allItems={}, page={}, pageSize={})", allItems, page,
+        if (pageSize <= 0 || pageSize > batchMaxSize) {
+            logger.warn("Received an invalid page size {}. Returning a bad request response.", pageSize);
+            return ResponseEntity.badRequest().body("pageSize must be between 1 and " + batchMaxSize + ".");
+        }
+        if (after == null && page < 1) {
+            logger.warn("Received an invalid page number {}. Returning a bad request response.", page);
+            return ResponseEntity.badRequest().body("page must be at least 1.");
+        }
+
+        // Read before querying, so a change committed meanwhile makes the next poll refetch
+        String eTag = ETags.ofCollection(todoService.getCollectionVersion(), accept);
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            logger.debug("Todo items unchanged since {}. Returning a not modified response.", ifNoneMatch);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        if (after != null) {
+            return getTodosAfter(allItems, after, pageSize, eTag);
+        }
+
+        logger.debug("Received a request to retrieve Todo items (allItems={}, page={}, pageSize={})", allItems, page,
+            pageSize);
+
+        Page<TodoSummary> todosPage;
+
+        if (allItems) {
+            todosPage = todoService.getAllTodoSummaries(page, pageSize);
+        } else {
+            todosPage = todoService.getNotDoneTodoSummaries(page, pageSize);
+        }
+
+        logger.debug("Retrieved {} Todo items.", todosPage.getNumberOfElements());
+
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(PageResponse.of(todosPage));
+    }
+
+    private ResponseEntity<?> getTodosAfter(boolean allItems, String after, int pageSize, String eTag) {
+        logger.debug("Received a request to retrieve Todo items (allItems={}, after={}, pageSize={})", allItems, after,
             pageSize);
 
-        Page<Todo> todosPage;
+        TodoCursor cursor;
+        try {
+            cursor = after.isBlank() ? null : TodoCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Received an invalid cursor '{}'. Returning a bad request response.", after);
+            return ResponseEntity.badRequest().body("Invalid cursor.");
+        }
+
+        Slice<TodoSummary> todosSlice;
 
         if (allItems) {
-            todosPage = todoService.getAllTodos(page, pageSize);
+            todosSlice = todoService.getAllTodoSummariesAfter(cursor, pageSize);
         } else {
-            todosPage = todoService.getNotDoneTodos(page, pageSize);
+            todosSlice = todoService.getNotDoneTodoSummariesAfter(cursor, pageSize);
         }
 
-        logger.info("Retrieved {} Todo items.", todosPage.getNumberOfElements());
+        String next = todosSlice.hasNext()
+            ? TodoCursor.of(todosSlice.getContent().get(todosSlice.getNumberOfElements() - 1)).encode()
+            : null;
+
+        logger.debug("Retrieved {} Todo items.", todosSlice.getNumberOfElements());
 
-        return ResponseEntity.ok(todosPage);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(new CursorSlice<>(
+            todosSlice.getContent(), pageSize, todosSlice.getNumberOfElements(), todosSlice.hasNext(), next));
+    }
+
+    /**
+     * Search Todo items by description, best matches first, using keyset pagination.
+     *
+     * @param q        The search text; all words must match, and a word ending with {@code *} matches as a prefix.
+     * @param status   If given, return only Todo items with this status.
+     * @param pageSize The number of items per page.
+     * @param after    The cursor returned with the previous page, or absent for the first page.
+     * @return ResponseEntity containing the matching Todo items and HTTP status code 200 (OK), or 400 (Bad Request)
+     * if the search text is empty or too long or the cursor is invalid.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+        @RequestParam(required = false) String q,
+        @RequestParam(required = false) Todo.Status status,
+        @RequestParam(defaultValue = "10") int pageSize,
+        @RequestParam(required = false) String after
+    ) {
+        logger.debug("Received a request to search Todo items (q={}, status={}, pageSize={})", q, status, pageSize);
+
+        if (q == null || q.isBlank()) {
+            logger.warn("Received an empty search text. Returning a bad request response.");
+            return ResponseEntity.badRequest().body("Search text is required.");
+        }
+
+        CursorSlice<TodoSummary> results;
+        try {
+            SearchCursor cursor = after == null || after.isBlank() ? null : SearchCursor.decode(after);
+            results = todoSearchService.search(q, status, cursor, pageSize);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Received an invalid search request: {}. Returning a bad request response.", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        logger.debug("Found {} Todo items.", results.numberOfElements());
+
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * List archived Todo items, i.e. items done longer than the archive retention period, ordered by the month of
+     * their completion and ID, using keyset pagination.
+     *
+     * @param month    If given, return only Todo items completed in this month (UTC), as {@code yyyy-MM}.
+     * @param pageSize The number of items per page.
+     * @param after    The cursor returned with the previous page, or absent for the first page.
+     * @return ResponseEntity containing the archived Todo items and HTTP status code 200 (OK), or 400 (Bad Request)
+     * if the month or the cursor is invalid or the page size is out of range.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<?> getArchivedTodos(
+        @RequestParam(required = false) String month,
+        @RequestParam(defaultValue = "10") int pageSize,
+        @RequestParam(required = false) String after
+    ) {
+        logger.debug("Received a request to retrieve archived Todo items (month={}, after={}, pageSize={})", month,
+            after, pageSize);
+
+        if (pageSize <= 0 || pageSize > batchMaxSize) {
+            logger.warn("Received an invalid page size {}. Returning a bad request response.", pageSize);
+            return ResponseEntity.badRequest().body("pageSize must be between 1 and " + batchMaxSize + ".");
+        }
+
+        YearMonth archiveMonth;
+        ArchiveCursor cursor;
+        try {
+            archiveMonth = month == null || month.isBlank() ? null : YearMonth.parse(month);
+            cursor = after == null || after.isBlank() ? null : ArchiveCursor.decode(after);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            logger.warn("Received an invalid archive request: {}. Returning a bad request response.", e.getMessage());
+            return ResponseEntity.badRequest().body("Invalid month or cursor.");
+        }
+
+        CursorSlice<Todo> todos = todoArchiver.getArchivedTodos(archiveMonth, cursor, pageSize);
+
+        logger.debug("Retrieved {} archived Todo items.", todos.numberOfElements());
+
+        return ResponseEntity.ok(todos);
+    }
+
+    /**
+     * List the open Todo items due within a range, earliest first, using keyset pagination. Served from the in-memory
+     * due date index; only the page itself is read from the database.
+     *
+     * @param from     The start of the range as an ISO-8601 instant (inclusive), or absent for now.
+     * @param to       The end of the range as an ISO-8601 instant (exclusive), or absent for a day after the start.
+     * @param pageSize The number of items per page.
+     * @param after    The cursor returned with the previous page, or absent for the first page.
+     * @return ResponseEntity containing the due Todo items and HTTP status code 200 (OK), or 400 (Bad Request) if
+     * the range or the cursor is invalid or the page size is out of range.
+     */
+    @GetMapping("/due")
+    public ResponseEntity<?> getDueTodos(
+        @RequestParam(required = false) String from,
+        @RequestParam(required = false) String to,
+        @RequestParam(defaultValue = "10") int pageSize,
+        @RequestParam(required = false) String after
+    ) {
+        logger.debug("Received a request to retrieve due Todo items (from={}, to={}, after={}, pageSize={})", from,
+            to, after, pageSize);
+
+        if (pageSize <= 0 || pageSize > batchMaxSize) {
+            logger.warn("Received an invalid page size {}. Returning a bad request response.", pageSize);
+            return ResponseEntity.badRequest().body("pageSize must be between 1 and " + batchMaxSize + ".");
+        }
+
+        Date start;
+        Date end;
+        DueCursor cursor;
+        try {
+            start = parseInstant(from, new Date());
+            end = parseInstant(to, Date.from(start.toInstant().plus(Duration.ofDays(1))));
+            cursor = after == null || after.isBlank() ? null : DueCursor.decode(after);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            logger.warn("Received an invalid due request: {}. Returning a bad request response.", e.getMessage());
+            return ResponseEntity.badRequest().body("Invalid range or cursor.");
+        }
+
+        CursorSlice<TodoSummary> todos = todoDueService.getDueTodos(start, end, cursor, pageSize);
+
+        logger.debug("Retrieved {} due Todo items.", todos.numberOfElements());
+
+        return ResponseEntity.ok(todos);
+    }
+
+    /**
+     * Count the open Todo items by due date/time, in calendar buckets aligned to a time zone. Served from the
+     * in-memory due date index, without querying the database.
+     *
+     * @param from   The start of the range as an ISO-8601 instant (inclusive), or absent for now.
+     * @param to     The end of the range as an ISO-8601 instant (exclusive), or absent for 30 days after the start.
+     * @param bucket The width of the buckets: hour, day, week or month.
+     * @param zone   The time zone the buckets are aligned to.
+     * @return ResponseEntity containing the histogram and HTTP status code 200 (OK), or 400 (Bad Request) if the
+     * range, the bucket or the zone is invalid or the range needs too many buckets.
+     */
+    @GetMapping("/due/histogram")
+    public ResponseEntity<?> getDueHistogram(
+        @RequestParam(required = false) String from,
+        @RequestParam(required = false) String to,
+        @RequestParam(defaultValue = "day") String bucket,
+        @RequestParam(defaultValue = "UTC") String zone
+    ) {
+        logger.debug("Received a request to retrieve the due date histogram (from={}, to={}, bucket={}, zone={})",
+            from, to, bucket, zone);
+
+        DueHistogram histogram;
+        try {
+            Date start = parseInstant(from, new Date());
+            Date end = parseInstant(to, Date.from(start.toInstant().plus(Duration.ofDays(30))));
+            histogram = todoDueService.getDueHistogram(start, end, DueBucket.valueOf(bucket.toUpperCase(Locale.ROOT)),
+                ZoneId.of(zone));
+        } catch (DateTimeException | IllegalArgumentException e) {
+            logger.warn("Received an invalid histogram request: {}. Returning a bad request response.",
+                e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        return ResponseEntity.ok(histogram);
+    }
+
+    private static Date parseInstant(String value, Date defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : Date.from(Instant.parse(value));
+    }
+
+    /**
+     * Read the change feed: the creates, updates, status changes and PAST_DUE transitions committed after a position,
+     * oldest first. Positions within the latest events are served from memory, without querying the database.
+     *
+     * @param since    The sequence number of the last event the client has seen, or 0 to read from the start.
+     * @param pageSize The maximum number of events to return.
+     * @return ResponseEntity containing the events and HTTP status code 200 (OK), 400 (Bad Request) if a parameter
+     * is out of range, 404 (Not Found) if the change feed is disabled, or 410 (Gone) if events following the position
+     * have been pruned.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+        @RequestParam(defaultValue = "0") long since,
+        @RequestParam(defaultValue = "100") int pageSize
+    ) {
+        logger.debug("Received a request to read the change feed (since={}, pageSize={})", since, pageSize);
+
+        if (!todoEventLog.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (since < 0 || pageSize <= 0 || pageSize > batchMaxSize) {
+            logger.warn("Received an invalid change feed request. Returning a bad request response.");
+            return ResponseEntity.badRequest()
+                .body("since must not be negative and pageSize must be between 1 and " + batchMaxSize + ".");
+        }
+
+        List<TodoEvent> events = todoEventLog.readAfter(since, pageSize).stream()
+            .map(TodoEventLog.Entry::event)
+            .toList();
+        long next = events.isEmpty() ? since : events.get(events.size() - 1).seq();
+
+        logger.debug("Read {} change feed events.", events.size());
+
+        return ResponseEntity.ok(new TodoEventSlice(events, pageSize, events.size(), events.size() == pageSize,
+            next));
+    }
+
+    /**
+     * Stream the change feed as Server-Sent Events, each carrying one event as JSON with its sequence number as
+     * event ID. Reconnecting clients resume after the {@code Last-Event-ID} they send.
+     *
+     * @param since       The sequence number of the last event the client has seen; by default only new events are
+     *                    streamed.
+     * @param lastEventId The ID of the last event received before a reconnect, taking precedence over since.
+     * @return ResponseEntity streaming the events with HTTP status code 200 (OK), 400 (Bad Request) if the position
+     * is invalid, 404 (Not Found) if the change feed is disabled, 410 (Gone) if events following the position have
+     * been pruned, or 503 (Service Unavailable) if too many clients are streaming.
+     */
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+        @RequestParam(required = false) Long since,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        logger.debug("Received a request to stream the change feed (since={}, lastEventId={})", since, lastEventId);
+
+        if (!todoEventLog.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        long position;
+        try {
+            position = lastEventId != null ? Long.parseLong(lastEventId.trim())
+                : since != null ? since : todoEventLog.lastReleasedSeq();
+        } catch (NumberFormatException e) {
+            logger.warn("Received an invalid Last-Event-ID '{}'. Returning a bad request response.", lastEventId);
+            return ResponseEntity.badRequest().build();
+        }
+        if (position < 0) {
+            logger.warn("Received a negative change feed position. Returning a bad request response.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        SseEmitter emitter = todoFeedBroadcaster.subscribe(position);
+        if (emitter == null) {
+            logger.warn("Too many change feed subscribers. Returning a service unavailable response.");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * Get the counts of Todo items by status and completion status, served from memory without querying the
+     * database.
+     *
+     * @return ResponseEntity containing the counts and HTTP status code 200 (OK).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStats> getStats() {
+        logger.debug("Received a request to retrieve Todo statistics.");
+        return ResponseEntity.ok(todoService.getStats());
+    }
+
+    /**
+     * Export all Todo items, optionally filtered, streamed straight to the response.
+     *
+     * @param format   The export format: ndjson (default) or csv.
+     * @param status   If given, export only Todo items with this status.
+     * @param isDone   If given, export only Todo items with this completion status.
+     * @param response The response to stream the Todo items to, with HTTP status code 200 (OK), or 400 (Bad Request)
+     *                 if the format is unknown.
+     */
+    @GetMapping("/export")
+    public void exportTodos(
+        @RequestParam(defaultValue = "ndjson") String format,
+        @RequestParam(required = false) Todo.Status status,
+        @RequestParam(required = false) Boolean isDone,
+        HttpServletResponse response
+    ) throws IOException {
+        logger.debug("Received a request to export Todo items (format={}, status={}, isDone={})", format, status,
+            isDone);
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Received an unknown export format '{}'. Returning a bad request response.", format);
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown export format.");
+            return;
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition",
+            "attachment; filename=\"todos." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"");
+        long count = todoExportService.export(exportFormat, status, isDone, response.getOutputStream());
+
+        logger.debug("Exported {} Todo items.", count);
     }
 
     /**
      * Get details of a specific Todo item.
      *
-     * @param id The ID of the Todo item to retrieve details for.
-     * @return ResponseEntity containing the Todo details and HTTP status code 200 (OK) if found,
-     * or HTTP status code 404 (Not Found) if the Todo item does not exist.
+     * @param id          The ID of the Todo item to retrieve details for.
+     * @param ifNoneMatch The optional ETag of the Todo item the client already holds.
+     * @param accept      The optional Accept header, selecting the representation (JSON, CBOR or Smile).
+     * @return ResponseEntity containing the Todo details and HTTP status code 200 (OK) if found, 304 (Not Modified)
+     * if the Todo item still has the given ETag, or HTTP status code 404 (Not Found) if the Todo item does not exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Todo> getTodoDetails(@PathVariable Long id) {
-        logger.info("Received a request to retrieve details for Todo item with ID: {}", id);
+    public ResponseEntity<Todo> getTodoDetails(
+        @PathVariable Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        logger.debug("Received a request to retrieve details for Todo item with ID: {}", id);
+
+        if (ifNoneMatch != null) {
+            // Only the version is looked up; the item is neither loaded nor serialized if the client's copy is current
+            Long version = todoService.getTodoVersion(id);
+            if (version == null) {
+                logger.warn("Todo item with ID {} not found. Returning a not found response.", id);
+                todoMetrics.notFound("get");
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = ETags.of(version, accept);
+            if (ETags.matches(ifNoneMatch, eTag)) {
+                logger.debug("Todo item with ID {} unchanged. Returning a not modified response.", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
 
         Todo todo = todoService.getTodoDetails(id);
 
         if (todo == null) {
             logger.warn("Todo item with ID {} not found. Returning a not found response.", id);
+            todoMetrics.notFound("get");
             return ResponseEntity.notFound().build();
         }
 
-        logger.info("Retrieved details for Todo item with ID: {}", id);
+        logger.debug("Retrieved details for Todo item with ID: {}", id);
 
-        return ResponseEntity.ok(todo);
+        return ResponseEntity.ok().eTag(ETags.of(todo, accept)).varyBy(HttpHeaders.ACCEPT).body(todo);
     }
 }
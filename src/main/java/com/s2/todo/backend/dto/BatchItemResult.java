@@ -0,0 +1,28 @@
+package com.s2.todo.backend.dto;
+
+/**
+ * The outcome of a single item of a batch request.
+ *
+ * @param index   The position of the item in the request.
+ * @param id      The ID of the Todo item, if known.
+ * @param outcome The outcome for the item.
+ * @param message A description of why the item was rejected, or null if it was applied.
+ */
+public record BatchItemResult(int index, Long id, Outcome outcome, String message) {
+
+    public enum Outcome {
+        CREATED,
+        UPDATED,
+        INVALID,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+
+    public static BatchItemResult applied(int index, Long id, Outcome outcome) {
+        return new BatchItemResult(index, id, outcome, null);
+    }
+
+    public static BatchItemResult rejected(int index, Long id, Outcome outcome, String message) {
+        return new BatchItemResult(index, id, outcome, message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.s2.todo.backend.dto;
+
+import java.util.List;
+
+/**
+ * A slice of items returned by keyset (cursor) pagination.
+ *
+ * @param content          The items of this slice.
+ * @param size             The requested slice size.
+ * @param numberOfElements The number of items in this slice.
+ * @param hasNext          Whether more items follow this slice.
+ * @param next             The cursor to pass as {@code after} to fetch the next slice, or null if this is the last one.
+ * @param <T>              The type of the items.
+ */
+public record CursorSlice<T>(List<T> content, int size, int numberOfElements, boolean hasNext, String next) {
+}
@@ -0,0 +1,23 @@
+package com.s2.todo.backend.dto;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Counts of open Todo items by due date/time, in consecutive calendar buckets.
+ *
+ * @param bucket  The width of the buckets: hour, day, week or month.
+ * @param zone    The time zone the buckets are aligned to.
+ * @param buckets The buckets, earliest first, including empty ones.
+ * @param total   The number of open Todo items due within all buckets.
+ */
+public record DueHistogram(String bucket, String zone, List<Bucket> buckets, long total) {
+
+    /**
+     * @param start The start of the bucket (inclusive).
+     * @param end   The end of the bucket (exclusive).
+     * @param count The number of open Todo items due within the bucket.
+     */
+    public record Bucket(Date start, Date end, long count) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.s2.todo.backend.dto;
+
+import java.util.List;
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of items returned by page-number pagination, without the pageable and sort metadata of {@link Page}.
+ *
+ * @param content          The items of this page.
+ * @param page             The page number (1-based).
+ * @param pageSize         The requested page size.
+ * @param numberOfElements The number of items in this page.
+ * @param totalElements    The total number of items; approximate for Todo listings, whose totals come from the
+ *                         in-memory counters.
+ * @param totalPages       The total number of pages, derived from {@code totalElements}.
+ * @param <T>              The type of the items.
+ */
+public record PageResponse<T>(List<T> content, int page, int pageSize, int numberOfElements, long totalElements,
+                              int totalPages) {
+
+    /**
+     * @param page The page to flatten.
+     * @param <T>  The type of the items.
+     * @return The flat page.
+     */
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber() + 1, page.getSize(),
+            page.getNumberOfElements(), page.getTotalElements(), page.getTotalPages());
+    }
+}
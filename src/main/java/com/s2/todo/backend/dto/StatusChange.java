@@ -0,0 +1,12 @@
+package com.s2.todo.backend.dto;
+
+import com.s2.todo.backend.model.Todo;
+
+/**
+ * A requested status change of a single Todo item within a batch.
+ *
+ * @param id     The ID of the Todo item.
+ * @param status The status to change the Todo item to (DONE or NOT_DONE).
+ */
+public record StatusChange(Long id, Todo.Status status) {
+}
@@ -0,0 +1,47 @@
+package com.s2.todo.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.s2.todo.backend.model.Todo;
+import java.util.Date;
+
+/**
+ * An entry of the change feed: one change to one Todo item.
+ *
+ * @param seq         The position in the change feed; increases with every committed change.
+ * @param type        What changed.
+ * @param id          The ID of the Todo item.
+ * @param status      The status of the Todo item after the change, if known.
+ * @param description The description of the Todo item after the change, if it changed.
+ * @param version     The version of the Todo item after the change, if known.
+ * @param at          When the change was made.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TodoEvent(long seq, Type type, long id, Todo.Status status, String description, Long version,
+                        Date at) {
+
+    /**
+     * What changed about the Todo item.
+     */
+    public enum Type {
+        /** The item was created. */
+        CREATED,
+        /** The item was replaced as a whole. */
+        UPDATED,
+        /** The description changed. */
+        DESCRIPTION_UPDATED,
+        /** The item was marked as "done" or "not done". */
+        STATUS_CHANGED,
+        /** The item fell due and moved to PAST_DUE. */
+        PAST_DUE,
+        /** The item was moved to the archive; it is still returned by {@code GET /todos/{id}}. */
+        ARCHIVED
+    }
+
+    /**
+     * @param seq The position assigned in the change feed.
+     * @return This event at the given position.
+     */
+    public TodoEvent withSeq(long seq) {
+        return new TodoEvent(seq, type, id, status, description, version, at);
+    }
+}
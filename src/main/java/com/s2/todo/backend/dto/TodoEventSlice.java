@@ -0,0 +1,15 @@
+package com.s2.todo.backend.dto;
+
+import java.util.List;
+
+/**
+ * A slice of the change feed.
+ *
+ * @param content          The events of this slice, oldest first.
+ * @param size             The requested slice size.
+ * @param numberOfElements The number of events in this slice.
+ * @param hasNext          Whether more events may follow immediately.
+ * @param next             The position to pass as {@code since} to read the following events.
+ */
+public record TodoEventSlice(List<TodoEvent> content, int size, int numberOfElements, boolean hasNext, long next) {
+}
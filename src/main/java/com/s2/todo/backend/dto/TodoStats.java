@@ -0,0 +1,17 @@
+package com.s2.todo.backend.dto;
+
+import com.s2.todo.backend.model.Todo;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Counts of Todo items, maintained incrementally and reconciled with the database periodically.
+ *
+ * @param total        The total number of Todo items.
+ * @param done         The number of done Todo items.
+ * @param notDone      The number of Todo items that are not done.
+ * @param byStatus     The number of Todo items per status.
+ * @param reconciledAt When the counts were last reconciled with the database, or null if not yet.
+ */
+public record TodoStats(long total, long done, long notDone, Map<Todo.Status, Long> byStatus, Date reconciledAt) {
+}
@@ -0,0 +1,18 @@
+package com.s2.todo.backend.dto;
+
+import com.s2.todo.backend.model.Todo;
+import java.util.Date;
+
+/**
+ * The columns of a Todo item shown in list views, selected directly by the repository without loading entities.
+ *
+ * @param id          The ID of the Todo item.
+ * @param description The description of the Todo item.
+ * @param status      The status of the Todo item.
+ * @param createdAt   The creation date/time of the Todo item.
+ * @param dueDateTime The due date/time of the Todo item.
+ * @param done        Whether the Todo item is done.
+ */
+public record TodoSummary(long id, String description, Todo.Status status, Date createdAt, Date dueDateTime,
+                          boolean done) {
+}
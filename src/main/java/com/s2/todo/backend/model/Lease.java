@@ -0,0 +1,30 @@
+package com.s2.todo.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Time-limited ownership of a job that must run on a single node of a cluster, such as the past due sweep.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Lease implements Serializable {
+
+    @Id
+    private String name;
+    // Node currently holding the lease, or null if it was never taken
+    private String owner;
+    // The lease is free once this instant has passed, unless its owner renews it
+    @Column(nullable = false)
+    private Date expiresAt;
+}
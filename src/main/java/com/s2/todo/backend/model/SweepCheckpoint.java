@@ -0,0 +1,42 @@
+package com.s2.todo.backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress marker of a chunked sweep, committed together with every chunk so an interrupted sweep can be resumed.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepCheckpoint implements Serializable {
+
+    @Id
+    private String name;
+    // Due date/time threshold the sweep was started with
+    @Column(nullable = false)
+    private Date cutoff;
+    // Highest id that has already been swept
+    @Column(nullable = false)
+    private long lastId;
+    // Highest id that existed when the sweep was started
+    @Column(nullable = false)
+    private long maxId;
+    @Column(nullable = false)
+    private long rowsUpdated;
+
+    private boolean completed;
+
+    private Date startedAt;
+    private Date completedAt;
+
+}
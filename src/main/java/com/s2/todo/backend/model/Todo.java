@@ -9,6 +9,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import java.io.Serializable;
 import java.util.Date;
 import lombok.AllArgsConstructor;
@@ -19,13 +21,15 @@ import org.springframework.data.annotation.CreatedDate;
 
 @Entity
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Todo implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Pooled sequence: one round-trip allocates 50 IDs, matching the increment of todo_seq
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = 50)
     private long id;
     @Column(nullable = false)
     private String description;
@@ -41,6 +45,11 @@ public class Todo implements Serializable {
 
     private boolean isDone;
 
+    // Incremented by every update, including bulk and conditional updates; exposed as the ETag
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // Getter and Setter for isDone
     public boolean isDone() {
         return isDone;
@@ -0,0 +1,44 @@
+package com.s2.todo.backend.repository;
+
+import com.s2.todo.backend.model.Lease;
+import java.util.Date;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Repository interface for managing leases.
+ */
+public interface LeaseRepository extends JpaRepository<Lease, String> {
+
+    /**
+     * Take or renew a lease with a single conditional UPDATE: it succeeds if the node already owns the lease or the
+     * lease has expired.
+     *
+     * @param name      The name of the lease.
+     * @param owner     The node taking the lease.
+     * @param now       The current time.
+     * @param expiresAt The new expiry of the lease.
+     * @return 1 if the node holds the lease until {@code expiresAt}, 0 otherwise.
+     */
+    @Modifying
+    @Query("update Lease l set l.owner = :owner, l.expiresAt = :expiresAt "
+        + "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") Date now,
+                @Param("expiresAt") Date expiresAt);
+
+    /**
+     * Give up a lease, if the node still owns it.
+     *
+     * @param name  The name of the lease.
+     * @param owner The node giving up the lease.
+     * @param now   The current time, which becomes the expiry of the lease.
+     * @return The number of updated rows.
+     */
+    @Modifying
+    @Query("update Lease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") Date now);
+}
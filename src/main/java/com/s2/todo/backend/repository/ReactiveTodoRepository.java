@@ -0,0 +1,148 @@
+package com.s2.todo.backend.repository;
+
+import com.s2.todo.backend.model.Todo;
+import io.r2dbc.spi.Readable;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking repository for Todo items over R2DBC, mirroring the queries of {@link TodoRepository}.
+ * <p>
+ * Status and description changes are single conditional UPDATEs; callers tell "not found" from "past due" by
+ * looking the item up only when no row was affected.
+ */
+public class ReactiveTodoRepository {
+
+    private static final String INSERT_COLUMNS =
+        "id, description, status, created_at, due_date_time, marked_as_done_date_time, is_done";
+    private static final String COLUMNS = INSERT_COLUMNS + ", version";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTodoRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Find a Todo item by its ID.
+     *
+     * @param id The ID of the Todo item.
+     * @return The Todo item, or empty if it does not exist.
+     */
+    public Mono<Todo> findById(long id) {
+        return databaseClient.sql("select " + COLUMNS + " from todo where id = :id")
+            .bind("id", id)
+            .map(ReactiveTodoRepository::toTodo)
+            .one();
+    }
+
+    /**
+     * Stream all Todo items in (createdAt, id) order.
+     *
+     * @return The Todo items, emitted as they are read.
+     */
+    public Flux<Todo> findAll() {
+        return databaseClient.sql("select " + COLUMNS + " from todo order by created_at, id")
+            .map(ReactiveTodoRepository::toTodo)
+            .all();
+    }
+
+    /**
+     * Stream Todo items by their completion status in (createdAt, id) order.
+     *
+     * @param done Indicates whether the Todo items are completed or not.
+     * @return The Todo items, emitted as they are read.
+     */
+    public Flux<Todo> findByIsDone(boolean done) {
+        return databaseClient.sql("select " + COLUMNS + " from todo where is_done = :done order by created_at, id")
+            .bind("done", done)
+            .map(ReactiveTodoRepository::toTodo)
+            .all();
+    }
+
+    /**
+     * Insert a new Todo item.
+     *
+     * @param todo The Todo item to insert; its ID is ignored.
+     * @return The ID of the inserted Todo item.
+     */
+    public Mono<Long> insert(Todo todo) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into todo (" + INSERT_COLUMNS + ") values "
+                + "(next value for todo_seq, :description, :status, :createdAt, :dueDateTime, :markedAsDoneDateTime, "
+                + ":isDone)")
+            .filter(statement -> statement.returnGeneratedValues("id"))
+            .bind("description", todo.getDescription())
+            .bind("status", todo.getStatus().name())
+            .bind("createdAt", toLocalDateTime(todo.getCreatedAt()))
+            .bind("isDone", todo.isDone());
+        spec = bindNullable(spec, "dueDateTime", toLocalDateTime(todo.getDueDateTime()));
+        spec = bindNullable(spec, "markedAsDoneDateTime", toLocalDateTime(todo.getMarkedAsDoneDateTime()));
+        return spec.map(row -> row.get("id", Long.class)).one();
+    }
+
+    /**
+     * Update the description of a Todo item unless it is past due.
+     *
+     * @param id          The ID of the Todo item.
+     * @param description The new description.
+     * @return The number of updated rows.
+     */
+    public Mono<Long> updateDescriptionUnlessPastDue(long id, String description) {
+        return databaseClient.sql("update todo set description = :description, version = version + 1 "
+                + "where id = :id and status <> 'PAST_DUE'")
+            .bind("description", description)
+            .bind("id", id)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    /**
+     * Update the status of a Todo item, optionally unless it is past due.
+     *
+     * @param id           The ID of the Todo item.
+     * @param status       The status to update to (DONE or NOT_DONE).
+     * @param allowPastDue Whether past due items may be updated as well.
+     * @return The number of updated rows.
+     */
+    public Mono<Long> updateStatus(long id, Todo.Status status, boolean allowPastDue) {
+        boolean done = status == Todo.Status.DONE;
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("update todo set status = :status, is_done = :done, version = version + 1, "
+                + "marked_as_done_date_time = :markedAsDoneDateTime where id = :id"
+                + (allowPastDue ? "" : " and status <> 'PAST_DUE'"))
+            .bind("status", status.name())
+            .bind("done", done)
+            .bind("id", id);
+        spec = bindNullable(spec, "markedAsDoneDateTime", done ? LocalDateTime.now() : null);
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  LocalDateTime value) {
+        return value == null ? spec.bindNull(name, LocalDateTime.class) : spec.bind(name, value);
+    }
+
+    private static Todo toTodo(Readable row) {
+        return Todo.builder()
+            .id(row.get("id", Long.class))
+            .description(row.get("description", String.class))
+            .status(Todo.Status.valueOf(row.get("status", String.class)))
+            .createdAt(toDate(row.get("created_at", LocalDateTime.class)))
+            .dueDateTime(toDate(row.get("due_date_time", LocalDateTime.class)))
+            .markedAsDoneDateTime(toDate(row.get("marked_as_done_date_time", LocalDateTime.class)))
+            .isDone(Boolean.TRUE.equals(row.get("is_done", Boolean.class)))
+            .version(row.get("version", Long.class))
+            .build();
+    }
+
+    private static Date toDate(LocalDateTime value) {
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private static LocalDateTime toLocalDateTime(Date value) {
+        return value == null ? null : LocalDateTime.ofInstant(value.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,10 @@
+package com.s2.todo.backend.repository;
+
+import com.s2.todo.backend.model.SweepCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository interface for managing sweep checkpoints.
+ */
+public interface SweepCheckpointRepository extends JpaRepository<SweepCheckpoint, String> {
+}
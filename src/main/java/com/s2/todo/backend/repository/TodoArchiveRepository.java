@@ -0,0 +1,152 @@
+package com.s2.todo.backend.repository;
+
+import com.s2.todo.backend.model.Todo;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the archive of Todo items, keyed by month (yyyymm, UTC) of completion.
+ * <p>
+ * Items are moved with a DELETE whose deleted rows are read back through H2's {@code OLD TABLE} and inserted into the
+ * archive in the same transaction, so an item is archived exactly as it was deleted, even if it changed after it
+ * was selected.
+ */
+@Repository
+public class TodoArchiveRepository {
+
+    private static final String COLUMNS = "id, description, status, created_at, due_date_time, "
+        + "marked_as_done_date_time, is_done, version";
+    // Done items by their completion date/time, or by their creation for items done before it was recorded
+    private static final String ARCHIVABLE = "status = 'DONE' and coalesce(marked_as_done_date_time, created_at) "
+        + "< :cutoff";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public TodoArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Find the IDs of Todo items ready for archival, in ID order.
+     *
+     * @param cutoff  The date/time items must have been done before.
+     * @param afterId The ID to continue after (exclusive).
+     * @param limit   The maximum number of IDs.
+     * @return The IDs.
+     */
+    public List<Long> findArchivableIds(Date cutoff, long afterId, int limit) {
+        return namedJdbcTemplate.queryForList("select id from todo where id > :afterId and " + ARCHIVABLE
+                + " order by id limit :limit",
+            Map.of("afterId", afterId, "cutoff", new Timestamp(cutoff.getTime()), "limit", limit), Long.class);
+    }
+
+    /**
+     * Move Todo items that are still ready for archival from the todo table to the archive.
+     *
+     * @param ids        The IDs of the Todo items.
+     * @param cutoff     The date/time items must have been done before.
+     * @param archivedAt The time of archival.
+     * @return The moved Todo items, as they were deleted.
+     */
+    public List<Todo> moveToArchive(Collection<Long> ids, Date cutoff, Date archivedAt) {
+        List<Todo> deleted = namedJdbcTemplate.query("select " + COLUMNS + " from old table (delete from todo "
+                + "where id in (:ids) and " + ARCHIVABLE + ")",
+            Map.of("ids", ids, "cutoff", new Timestamp(cutoff.getTime())), (rs, rowNum) -> toTodo(rs));
+        List<Object[]> rows = new ArrayList<>(deleted.size());
+        Timestamp timestamp = new Timestamp(archivedAt.getTime());
+        for (Todo todo : deleted) {
+            rows.add(new Object[] {
+                archiveMonth(todo),
+                todo.getId(),
+                todo.getDescription(),
+                todo.getStatus().name(),
+                timestamp(todo.getCreatedAt()),
+                timestamp(todo.getDueDateTime()),
+                timestamp(todo.getMarkedAsDoneDateTime()),
+                todo.isDone(),
+                todo.getVersion(),
+                timestamp
+            });
+        }
+        jdbcTemplate.batchUpdate("insert into todo_archive (archive_month, " + COLUMNS + ", archived_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return deleted;
+    }
+
+    /**
+     * Find an archived Todo item.
+     *
+     * @param id The ID of the Todo item.
+     * @return The archived Todo item, if any.
+     */
+    public Optional<Todo> findById(long id) {
+        return jdbcTemplate.query("select " + COLUMNS + " from todo_archive where id = ?",
+            (rs, rowNum) -> toTodo(rs), id).stream().findFirst();
+    }
+
+    /**
+     * Find a slice of archived Todo items using keyset pagination, ordered by month and ID.
+     *
+     * @param month      The month (yyyymm) to read, or null for all months.
+     * @param afterMonth The month of the last item of the previous slice.
+     * @param afterId    The ID of the last item of the previous slice (exclusive).
+     * @param limit      The maximum number of items.
+     * @return The archived Todo items.
+     */
+    public List<Todo> findSlice(Integer month, int afterMonth, long afterId, int limit) {
+        if (month != null) {
+            return jdbcTemplate.query("select " + COLUMNS + " from todo_archive where archive_month = ? and id > ? "
+                + "order by id limit ?", (rs, rowNum) -> toTodo(rs), month, afterId, limit);
+        }
+        return jdbcTemplate.query("select " + COLUMNS + " from todo_archive where archive_month > ? "
+                + "or (archive_month = ? and id > ?) order by archive_month, id limit ?",
+            (rs, rowNum) -> toTodo(rs), afterMonth, afterMonth, afterId, limit);
+    }
+
+    /**
+     * The month an archived Todo item is filed under: that of its completion, falling back to its creation.
+     *
+     * @param todo The Todo item.
+     * @return The month as yyyymm, in UTC.
+     */
+    public static int archiveMonth(Todo todo) {
+        Date date = todo.getMarkedAsDoneDateTime() != null ? todo.getMarkedAsDoneDateTime() : todo.getCreatedAt();
+        ZonedDateTime utc = date.toInstant().atZone(ZoneOffset.UTC);
+        return utc.getYear() * 100 + utc.getMonthValue();
+    }
+
+    private static Todo toTodo(ResultSet rs) throws SQLException {
+        return Todo.builder()
+            .id(rs.getLong(1))
+            .description(rs.getString(2))
+            .status(Todo.Status.valueOf(rs.getString(3)))
+            .createdAt(date(rs.getTimestamp(4)))
+            .dueDateTime(date(rs.getTimestamp(5)))
+            .markedAsDoneDateTime(date(rs.getTimestamp(6)))
+            .isDone(rs.getBoolean(7))
+            .version(rs.getLong(8))
+            .build();
+    }
+
+    private static Date date(Timestamp timestamp) {
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+}
@@ -0,0 +1,33 @@
+package com.s2.todo.backend.repository;
+
+/**
+ * An entry of the change log: Todo items within an ID range changed on a node.
+ *
+ * @param seq   The position in the change log, or 0 if not yet published.
+ * @param node  The node that made the change, or null if not yet published.
+ * @param kind  What changed.
+ * @param minId The lowest changed ID (inclusive).
+ * @param maxId The highest changed ID (inclusive).
+ */
+public record TodoChange(long seq, String node, Kind kind, long minId, long maxId) {
+
+    /**
+     * What changed about the Todo items.
+     */
+    public enum Kind {
+        /** An item was created or any of its fields changed; its current state must be reloaded. */
+        ITEM,
+        /** A bulk update moved "not done" items in the range to PAST_DUE. */
+        PAST_DUE
+    }
+
+    /**
+     * @param kind  What changed.
+     * @param minId The lowest changed ID (inclusive).
+     * @param maxId The highest changed ID (inclusive).
+     * @return A change not yet published to the change log.
+     */
+    public static TodoChange of(Kind kind, long minId, long maxId) {
+        return new TodoChange(0, null, kind, minId, maxId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.s2.todo.backend.repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the change log shared by the nodes of a cluster: appended in batches, read in sequence order.
+ */
+@Repository
+public class TodoChangeLogRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoChangeLogRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return The highest sequence number in the change log, or 0 if it is empty.
+     */
+    public long findMaxSeq() {
+        return jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from todo_change", Long.class);
+    }
+
+    /**
+     * Append changes made on a node in one JDBC batch.
+     *
+     * @param node      The node that made the changes.
+     * @param changes   The changes; their sequence numbers are assigned by the database.
+     * @param changedAt The time of publication, used for pruning.
+     */
+    public void insertAll(String node, List<TodoChange> changes, Date changedAt) {
+        Timestamp timestamp = new Timestamp(changedAt.getTime());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (TodoChange change : changes) {
+            rows.add(new Object[] {node, change.kind().name(), change.minId(), change.maxId(), timestamp});
+        }
+        jdbcTemplate.batchUpdate("insert into todo_change (node, kind, min_id, max_id, changed_at) "
+            + "values (?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Read the changes following a sequence number.
+     *
+     * @param seq   The sequence number to read after (exclusive).
+     * @param limit The maximum number of changes to read.
+     * @return The changes, in sequence order.
+     */
+    public List<TodoChange> findAfter(long seq, int limit) {
+        return jdbcTemplate.query("select seq, node, kind, min_id, max_id from todo_change where seq > ? "
+                + "order by seq limit ?",
+            (rs, rowNum) -> new TodoChange(rs.getLong(1), rs.getString(2), TodoChange.Kind.valueOf(rs.getString(3)),
+                rs.getLong(4), rs.getLong(5)),
+            seq, limit);
+    }
+
+    /**
+     * Delete changes published before a given time.
+     *
+     * @param changedAt The time before which changes are deleted.
+     * @return The number of deleted changes.
+     */
+    public int deleteBefore(Date changedAt) {
+        return jdbcTemplate.update("delete from todo_change where changed_at < ?", new Timestamp(changedAt.getTime()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.s2.todo.backend.repository;
+
+import com.s2.todo.backend.model.Todo;
+
+/**
+ * Number of Todo items with a status and completion status.
+ *
+ * @param status The status of the Todo items.
+ * @param done   Whether the Todo items are done.
+ * @param count  The number of Todo items.
+ */
+public record TodoCount(Todo.Status status, boolean done, long count) {
+}
@@ -0,0 +1,12 @@
+package com.s2.todo.backend.repository;
+
+import java.util.Date;
+
+/**
+ * Projection of a Todo item onto its ID and due date/time.
+ *
+ * @param id          The ID of the Todo item.
+ * @param dueDateTime The due date/time of the Todo item.
+ */
+public record TodoDue(long id, Date dueDateTime) {
+}
@@ -0,0 +1,60 @@
+package com.s2.todo.backend.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the due date/times of open (not done) Todo items, streamed as primitives to rebuild the in-memory
+ * due date index without creating an entity or a Date per row.
+ */
+@Repository
+public class TodoDueDateRepository {
+
+    // Open items; the status index (status, due_date_time) serves both values of the IN list
+    private static final String OPEN = "status in ('NOT_DONE', 'PAST_DUE') and due_date_time is not null";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoDueDateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Receives the ID and due date/time (epoch milliseconds) of an open Todo item.
+     */
+    @FunctionalInterface
+    public interface DueHandler {
+        void accept(long id, long due);
+    }
+
+    /**
+     * @return The earliest and latest due date/times of open Todo items in epoch milliseconds, or null if there are
+     * none.
+     */
+    public long[] findOpenDueBounds() {
+        List<long[]> bounds = jdbcTemplate.query("select min(due_date_time), max(due_date_time) from todo where "
+            + OPEN, (rs, rowNum) -> {
+                Timestamp min = rs.getTimestamp(1);
+                Timestamp max = rs.getTimestamp(2);
+                return min == null || max == null ? null : new long[] {min.getTime(), max.getTime()};
+            });
+        return bounds.isEmpty() ? null : bounds.get(0);
+    }
+
+    /**
+     * Stream the open Todo items due within a range, ordered by due date/time and ID.
+     *
+     * @param fromDue The lower bound of the due date/time, in epoch milliseconds (inclusive).
+     * @param toDue   The upper bound of the due date/time, in epoch milliseconds (exclusive).
+     * @param handler Receives every Todo item.
+     */
+    public void forEachOpenDue(long fromDue, long toDue, DueHandler handler) {
+        jdbcTemplate.query("select id, due_date_time from todo where " + OPEN + " and due_date_time >= ? "
+                + "and due_date_time < ? order by due_date_time, id",
+            (RowCallbackHandler) rs -> handler.accept(rs.getLong(1), rs.getTimestamp(2).getTime()),
+            new Timestamp(fromDue), new Timestamp(toDue));
+    }
+}
@@ -0,0 +1,93 @@
+package com.s2.todo.backend.repository;
+
+import com.s2.todo.backend.dto.TodoEvent;
+import com.s2.todo.backend.model.Todo;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC access to the change feed: appended in batches within the transaction of the change, read in sequence order.
+ */
+@Repository
+public class TodoEventRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoEventRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return The lowest sequence number in the change feed, or 0 if it is empty.
+     */
+    public long findMinSeq() {
+        return jdbcTemplate.queryForObject("select coalesce(min(seq), 0) from todo_event", Long.class);
+    }
+
+    /**
+     * @return The highest sequence number in the change feed, or 0 if it is empty.
+     */
+    public long findMaxSeq() {
+        return jdbcTemplate.queryForObject("select coalesce(max(seq), 0) from todo_event", Long.class);
+    }
+
+    /**
+     * Append events with their sequence numbers already assigned, in one JDBC batch.
+     *
+     * @param events The events.
+     */
+    public void insertAll(List<TodoEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (TodoEvent event : events) {
+            rows.add(new Object[] {
+                event.seq(),
+                event.type().name(),
+                event.id(),
+                event.status() == null ? null : event.status().name(),
+                event.description(),
+                event.version(),
+                new Timestamp(event.at().getTime())
+            });
+        }
+        jdbcTemplate.batchUpdate("insert into todo_event (seq, type, todo_id, status, description, version, "
+            + "occurred_at) values (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Read the events within a range of sequence numbers.
+     *
+     * @param fromSeq The sequence number to read after (exclusive).
+     * @param toSeq   The sequence number to read up to (inclusive).
+     * @param limit   The maximum number of events to read.
+     * @return The events, in sequence order.
+     */
+    public List<TodoEvent> findBetween(long fromSeq, long toSeq, int limit) {
+        return jdbcTemplate.query("select seq, type, todo_id, status, description, version, occurred_at "
+                + "from todo_event where seq > ? and seq <= ? order by seq limit ?",
+            (rs, rowNum) -> toEvent(rs), fromSeq, toSeq, limit);
+    }
+
+    /**
+     * Delete events made before a given time, always keeping the newest one so sequence numbers are never reused.
+     *
+     * @param occurredAt The time before which events are deleted.
+     * @return The number of deleted events.
+     */
+    public int deleteBefore(Date occurredAt) {
+        return jdbcTemplate.update("delete from todo_event where occurred_at < ? "
+            + "and seq < (select max(seq) from todo_event)", new Timestamp(occurredAt.getTime()));
+    }
+
+    private static TodoEvent toEvent(ResultSet rs) throws SQLException {
+        String status = rs.getString(4);
+        return new TodoEvent(rs.getLong(1), TodoEvent.Type.valueOf(rs.getString(2)), rs.getLong(3),
+            status == null ? null : Todo.Status.valueOf(status), rs.getString(5), rs.getObject(6, Long.class),
+            new Date(rs.getTimestamp(7).getTime()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.s2.todo.backend.repository;
+
+import com.s2.todo.backend.model.Todo;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC inserts of Todo items whose IDs were allocated up front, used by the write-behind ingestion path.
+ * <p>
+ * JPA would ignore a pre-set ID of an entity with a generated ID, so rows are written with a plain JDBC batch. The
+ * statements join the surrounding transaction of the JPA transaction manager.
+ */
+@Repository
+public class TodoInsertRepository {
+
+    private static final String INSERT = "insert into todo (id, description, status, created_at, due_date_time, "
+        + "marked_as_done_date_time, is_done, version) values (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoInsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Advance the ID sequence by one allocation block.
+     *
+     * @return The new value of the sequence, the upper bound of the allocated block.
+     */
+    public long nextIdBlock() {
+        return jdbcTemplate.queryForObject("select next value for todo_seq", Long.class);
+    }
+
+    /**
+     * Insert Todo items with their IDs, creation dates and versions already set, in one JDBC batch.
+     *
+     * @param todos The Todo items to insert.
+     */
+    public void insertAll(List<Todo> todos) {
+        List<Object[]> rows = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            rows.add(new Object[] {
+                todo.getId(),
+                todo.getDescription(),
+                todo.getStatus().name(),
+                timestamp(todo.getCreatedAt()),
+                timestamp(todo.getDueDateTime()),
+                timestamp(todo.getMarkedAsDoneDateTime()),
+                todo.isDone()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+}
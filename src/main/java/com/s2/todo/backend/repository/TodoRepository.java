@@ -1,17 +1,33 @@
 package com.s2.todo.backend.repository;
 
+import com.s2.todo.backend.dto.TodoSummary;
 import com.s2.todo.backend.model.Todo;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
-import org.springframework.data.domain.Page;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for managing Todo items.
  */
 public interface TodoRepository extends JpaRepository<Todo, Long> {
 
+    /**
+     * Select clause projecting a Todo item {@code t} onto a {@link TodoSummary}.
+     */
+    String SELECT_SUMMARY = "select new com.s2.todo.backend.dto.TodoSummary("
+        + "t.id, t.description, t.status, t.createdAt, t.dueDateTime, t.isDone) ";
+
     /**
      * Find Todo items by their status.
      *
@@ -30,12 +46,282 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByStatusAndDueDateTimeLessThan(Todo.Status status, Date dueDate);
 
     /**
-     * Find Todo items by their completion status.
+     * Find the version of a Todo item without loading it.
+     *
+     * @param id The ID of the Todo item.
+     * @return The version of the Todo item, or empty if it does not exist.
+     */
+    @Query("select t.version from Todo t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    /**
+     * Find a page of Todo items projected onto the columns of a list view, without a count query.
+     *
+     * @param pageable Pageable object for pagination.
+     * @return The Todo summaries of the page, ordered by creation date/time and ID.
+     */
+    @Query(SELECT_SUMMARY + "from Todo t order by t.createdAt, t.id")
+    List<TodoSummary> findSummaries(Pageable pageable);
+
+    /**
+     * Find a page of Todo items by their completion status, projected onto the columns of a list view, without a
+     * count query.
      *
      * @param done     Indicates whether the Todo items are completed or not.
      * @param pageable Pageable object for pagination.
-     * @return A page of Todo items based on their completion status.
+     * @return The Todo summaries of the page based on their completion status, ordered by creation date/time and ID.
      */
-    Page<Todo> findByIsDone(boolean done, Pageable pageable);
-}
+    @Query(SELECT_SUMMARY + "from Todo t where t.isDone = :done order by t.createdAt, t.id")
+    List<TodoSummary> findSummariesByIsDone(@Param("done") boolean done, Pageable pageable);
+
+    /**
+     * Find Todo items by their IDs, projected onto the columns of a list view.
+     *
+     * @param ids The IDs of the Todo items.
+     * @return The Todo summaries, in no particular order.
+     */
+    @Query(SELECT_SUMMARY + "from Todo t where t.id in :ids")
+    List<TodoSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the Todo items within an ID range, projected onto the columns of a list view.
+     *
+     * @param fromId The lower bound of the ID range (exclusive).
+     * @param toId   The upper bound of the ID range (inclusive).
+     * @return The Todo summaries, ordered by ID.
+     */
+    @Query(SELECT_SUMMARY + "from Todo t where t.id > :fromId and t.id <= :toId order by t.id")
+    List<TodoSummary> findSummariesInIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Find which of the given Todo items have a status.
+     *
+     * @param ids    The IDs of the Todo items.
+     * @param status The status of the Todo items.
+     * @return The IDs of the Todo items with the status.
+     */
+    @Query("select t.id from Todo t where t.id in :ids and t.status = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Todo.Status status);
+
+    /**
+     * Find the Todo items within an ID range that have a status.
+     *
+     * @param status The status of the Todo items.
+     * @param fromId The lower bound of the ID range (exclusive).
+     * @param toId   The upper bound of the ID range (inclusive).
+     * @return The IDs of the Todo items with the status.
+     */
+    @Query("select t.id from Todo t where t.id > :fromId and t.id <= :toId and t.status = :status")
+    List<Long> findIdsInIdRangeByStatus(@Param("status") Todo.Status status, @Param("fromId") long fromId,
+                                        @Param("toId") long toId);
+
+    /**
+     * Count Todo items by status and completion status.
+     *
+     * @return The number of Todo items of every status and completion status present.
+     */
+    @Query("select new com.s2.todo.backend.repository.TodoCount(t.status, t.isDone, count(t)) from Todo t "
+        + "group by t.status, t.isDone")
+    List<TodoCount> countByStatusAndIsDone();
+
+    /**
+     * Find the first slice of Todo summaries in keyset order, without a count query.
+     *
+     * @param pageable Pageable object limiting the slice size.
+     * @return A slice of Todo summaries ordered by creation date/time and ID.
+     */
+    @Query(SELECT_SUMMARY + "from Todo t order by t.createdAt, t.id")
+    Slice<TodoSummary> findSummarySlice(Pageable pageable);
+
+    /**
+     * Find the slice of Todo summaries following a keyset cursor, without a count query.
+     *
+     * @param createdAt The creation date/time of the last Todo item of the previous slice.
+     * @param id        The ID of the last Todo item of the previous slice.
+     * @param pageable  Pageable object limiting the slice size.
+     * @return A slice of Todo summaries ordered by creation date/time and ID.
+     */
+    @Query(SELECT_SUMMARY + "from Todo t "
+        + "where t.createdAt >= :createdAt and (t.createdAt > :createdAt or t.id > :id) order by t.createdAt, t.id")
+    Slice<TodoSummary> findSummarySliceAfter(@Param("createdAt") Date createdAt, @Param("id") long id,
+                                             Pageable pageable);
+
+    /**
+     * Find the first slice of Todo summaries with a completion status in keyset order, without a count query.
+     *
+     * @param done     Indicates whether the Todo items are completed or not.
+     * @param pageable Pageable object limiting the slice size.
+     * @return A slice of Todo summaries ordered by creation date/time and ID.
+     */
+    @Query(SELECT_SUMMARY + "from Todo t where t.isDone = :done order by t.createdAt, t.id")
+    Slice<TodoSummary> findSummarySliceByIsDone(@Param("done") boolean done, Pageable pageable);
+
+    /**
+     * Find the slice of Todo summaries with a completion status following a keyset cursor, without a count query.
+     *
+     * @param done      Indicates whether the Todo items are completed or not.
+     * @param createdAt The creation date/time of the last Todo item of the previous slice.
+     * @param id        The ID of the last Todo item of the previous slice.
+     * @param pageable  Pageable object limiting the slice size.
+     * @return A slice of Todo summaries ordered by creation date/time and ID.
+     */
+    @Query(SELECT_SUMMARY + "from Todo t where t.isDone = :done "
+        + "and t.createdAt >= :createdAt and (t.createdAt > :createdAt or t.id > :id) order by t.createdAt, t.id")
+    Slice<TodoSummary> findSummarySliceByIsDoneAfter(@Param("done") boolean done, @Param("createdAt") Date createdAt,
+                                                     @Param("id") long id, Pageable pageable);
+
+    /**
+     * Stream Todo items in ID order through a forward-only, read-only cursor, optionally filtered.
+     * Must be consumed within a transaction and closed afterwards.
+     *
+     * @param status The status of the Todo items to retrieve, or null for any status.
+     * @param done   The completion status of the Todo items to retrieve, or null for any.
+     * @return A stream of Todo items.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Todo t where (:status is null or t.status = :status) and (:done is null or t.isDone = :done) "
+        + "order by t.id")
+    Stream<Todo> streamAll(@Param("status") Todo.Status status, @Param("done") Boolean done);
 
+    /**
+     * Find the lowest Todo item ID.
+     *
+     * @return The lowest ID, or null if there are no Todo items.
+     */
+    @Query("select min(t.id) from Todo t")
+    Long findMinId();
+
+    /**
+     * Find the highest Todo item ID.
+     *
+     * @return The highest ID, or null if there are no Todo items.
+     */
+    @Query("select max(t.id) from Todo t")
+    Long findMaxId();
+
+    /**
+     * Bulk update the status of Todo items within an ID range whose due date/time has passed.
+     *
+     * @param fromStatus The current status of the Todo items to update.
+     * @param toStatus   The status to update the Todo items to.
+     * @param dueDate    The due date/time the Todo items must be due before.
+     * @param fromId     The lower ID bound (exclusive).
+     * @param toId       The upper ID bound (inclusive).
+     * @return The number of updated Todo items.
+     */
+    @Modifying
+    @Query("update Todo t set t.status = :toStatus, t.version = t.version + 1 "
+        + "where t.status = :fromStatus and t.dueDateTime < :dueDate and t.id > :fromId and t.id <= :toId")
+    int updateStatusForDueInIdRange(@Param("fromStatus") Todo.Status fromStatus,
+                                    @Param("toStatus") Todo.Status toStatus,
+                                    @Param("dueDate") Date dueDate,
+                                    @Param("fromId") long fromId,
+                                    @Param("toId") long toId);
+
+    /**
+     * Update the status of a Todo item in a single statement, provided it still has the status it was read with and,
+     * if given, the expected version.
+     *
+     * @param id                   The ID of the Todo item.
+     * @param fromStatus           The status the Todo item must still have.
+     * @param status               The status to update to.
+     * @param done                 The completion status to update to.
+     * @param markedAsDoneDateTime The date/time the Todo item was marked as done, or null.
+     * @param version              The expected version of the Todo item, or null to skip the check.
+     * @return The number of updated Todo items (0 or 1).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.status = :status, t.isDone = :done, t.markedAsDoneDateTime = :markedAsDoneDateTime, "
+        + "t.version = t.version + 1 where t.id = :id and t.status = :fromStatus "
+        + "and (:version is null or t.version = :version)")
+    int updateStatusConditionally(@Param("id") long id,
+                                  @Param("fromStatus") Todo.Status fromStatus,
+                                  @Param("status") Todo.Status status,
+                                  @Param("done") boolean done,
+                                  @Param("markedAsDoneDateTime") Date markedAsDoneDateTime,
+                                  @Param("version") Long version);
+
+    /**
+     * Update the description of a Todo item in a single statement, provided it is not in an excluded status and, if
+     * given, still has the expected version.
+     *
+     * @param id             The ID of the Todo item.
+     * @param description    The new description.
+     * @param excludedStatus The status in which the Todo item must not be updated.
+     * @param version        The expected version of the Todo item, or null to skip the check.
+     * @return The number of updated Todo items (0 or 1).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.description = :description, t.version = t.version + 1 where t.id = :id "
+        + "and t.status <> :excludedStatus and (:version is null or t.version = :version)")
+    int updateDescriptionConditionally(@Param("id") long id,
+                                       @Param("description") String description,
+                                       @Param("excludedStatus") Todo.Status excludedStatus,
+                                       @Param("version") Long version);
+
+    /**
+     * Find the IDs and due date/times of Todo items with a status that fall due within a time window, earliest first.
+     *
+     * @param status   The status of the Todo items to retrieve.
+     * @param from     The start of the window (inclusive).
+     * @param to       The end of the window (exclusive).
+     * @param pageable Pageable object limiting the number of results.
+     * @return The IDs and due date/times of the Todo items.
+     */
+    @Query("select new com.s2.todo.backend.repository.TodoDue(t.id, t.dueDateTime) from Todo t "
+        + "where t.status = :status and t.dueDateTime >= :from and t.dueDateTime < :to order by t.dueDateTime")
+    List<TodoDue> findDueBetween(@Param("status") Todo.Status status, @Param("from") Date from, @Param("to") Date to,
+                                 Pageable pageable);
+
+    /**
+     * Bulk update the status of the given Todo items whose due date/time has passed.
+     *
+     * @param ids        The IDs of the Todo items to update.
+     * @param fromStatus The current status of the Todo items to update.
+     * @param toStatus   The status to update the Todo items to.
+     * @param dueDate    The due date/time the Todo items must be due before.
+     * @return The number of updated Todo items.
+     */
+    @Modifying
+    @Query("update Todo t set t.status = :toStatus, t.version = t.version + 1 "
+        + "where t.id in :ids and t.status = :fromStatus and t.dueDateTime < :dueDate")
+    int updateStatusForDueIds(@Param("ids") Collection<Long> ids,
+                              @Param("fromStatus") Todo.Status fromStatus,
+                              @Param("toStatus") Todo.Status toStatus,
+                              @Param("dueDate") Date dueDate);
+
+    /**
+     * Lock those of the given Todo items with a status whose due date/time has passed, until the end of the
+     * transaction.
+     *
+     * @param ids     The IDs of the Todo items.
+     * @param status  The status the Todo items must have.
+     * @param dueDate The due date/time the Todo items must be due before.
+     * @return The IDs of the locked Todo items.
+     */
+    @Query(value = "select id from todo where id in (:ids) and status = :status and due_date_time < :dueDate "
+        + "for update", nativeQuery = true)
+    List<Long> lockDueIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") String status,
+                          @Param("dueDate") Date dueDate);
+
+    /**
+     * Lock the Todo items within an ID range with a status whose due date/time has passed, until the end of the
+     * transaction.
+     *
+     * @param status  The status the Todo items must have.
+     * @param dueDate The due date/time the Todo items must be due before.
+     * @param fromId  The lower ID bound (exclusive).
+     * @param toId    The upper ID bound (inclusive).
+     * @return The IDs of the locked Todo items.
+     */
+    @Query(value = "select id from todo where id > :fromId and id <= :toId and status = :status "
+        + "and due_date_time < :dueDate for update", nativeQuery = true)
+    List<Long> lockDueIdsInIdRange(@Param("status") String status,
+                                   @Param("dueDate") Date dueDate,
+                                   @Param("fromId") long fromId,
+                                   @Param("toId") long toId);
+}
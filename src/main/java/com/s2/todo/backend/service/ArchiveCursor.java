@@ -0,0 +1,54 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoArchiveRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor pointing at the last (month, id) of a slice of archived Todo items.
+ *
+ * @param month The month (yyyymm) the last Todo item is archived under.
+ * @param id    The ID of the last Todo item.
+ */
+public record ArchiveCursor(int month, long id) {
+
+    /**
+     * Create a cursor pointing at the given archived Todo item.
+     *
+     * @param todo The last Todo item of a slice.
+     * @return The cursor.
+     */
+    public static ArchiveCursor of(Todo todo) {
+        return new ArchiveCursor(TodoArchiveRepository.archiveMonth(todo), todo.getId());
+    }
+
+    /**
+     * Decode a cursor token.
+     *
+     * @param token The token produced by {@link #encode()}.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the token is malformed.
+     */
+    public static ArchiveCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new ArchiveCursor(Integer.parseInt(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    /**
+     * @return The opaque, URL-safe token of this cursor.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((month + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,122 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.repository.LeaseRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Identity of this node in multi-node mode ({@code todo.cluster.enabled}) and its leases on jobs that must run on a
+ * single node.
+ * <p>
+ * Leases are rows of the shared database taken and renewed with a conditional UPDATE, so no external coordinator is
+ * needed. A node holds a lease until it expires unless it renews it; {@link #holdsLease(String)} renews once half of
+ * the time to live has passed, so jobs checking it at least that often keep it. Node clocks are assumed to agree
+ * to well within the time to live. With multi-node mode off, every lease is always held.
+ */
+@Component
+public class ClusterNode {
+
+    static final String PAST_DUE_SWEEP_LEASE = "past-due-sweep";
+    static final String DUE_SCHEDULER_LEASE = "due-scheduler";
+    static final String ARCHIVE_LEASE = "todo-archive";
+
+    private final LeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final String nodeId;
+    private final long ttlMillis;
+    // Expiry of every lease this node holds
+    private final Map<String, Long> heldUntil = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(ClusterNode.class);
+
+    public ClusterNode(LeaseRepository leaseRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${todo.cluster.enabled:false}") boolean enabled,
+                       @Value("${todo.cluster.node-id:}") String nodeId,
+                       @Value("${todo.cluster.lease-ttl:PT30S}") Duration leaseTtl) {
+        if (leaseTtl.isNegative() || leaseTtl.isZero()) {
+            throw new IllegalArgumentException("todo.cluster.lease-ttl must be positive");
+        }
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        // A random ID by default, so nodes sharing a host name (or restarted under the same one) never collide
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : nodeId;
+        this.ttlMillis = leaseTtl.toMillis();
+    }
+
+    /**
+     * @return Whether multi-node mode is on.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The ID of this node, unique within the cluster.
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Check whether this node holds a lease, taking it if it is free and renewing it if half of its time to live
+     * has passed.
+     *
+     * @param name The name of the lease.
+     * @return Whether this node may run the job guarded by the lease.
+     */
+    public boolean holdsLease(String name) {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Long until = heldUntil.get(name);
+        if (until != null && until - now > ttlMillis / 2) {
+            return true;
+        }
+        try {
+            int rows = transactionTemplate.execute(status -> leaseRepository.acquire(name, nodeId, new Date(now),
+                new Date(now + ttlMillis)));
+            if (rows > 0) {
+                if (until == null) {
+                    logger.info("Node {} took the {} lease", nodeId, name);
+                }
+                heldUntil.put(name, now + ttlMillis);
+                return true;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Unable to take or renew the {} lease", name, e);
+        }
+        if (heldUntil.remove(name) != null) {
+            logger.warn("Node {} lost the {} lease", nodeId, name);
+        }
+        return false;
+    }
+
+    /**
+     * Give up all leases on shutdown, so another node takes over without waiting for them to expire.
+     */
+    @PreDestroy
+    public void releaseLeases() {
+        for (String name : heldUntil.keySet()) {
+            try {
+                transactionTemplate.execute(status -> leaseRepository.release(name, nodeId, new Date()));
+                logger.info("Node {} released the {} lease", nodeId, name);
+            } catch (RuntimeException e) {
+                logger.warn("Unable to release the {} lease; it expires on its own", name, e);
+            }
+        }
+        heldUntil.clear();
+    }
+}
@@ -0,0 +1,215 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.repository.TodoChange;
+import com.s2.todo.backend.repository.TodoChangeLogRepository;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the per-node copies of Todo items (cache, search index, due date queue, collection version) in step with
+ * writes made on other nodes, through a change log table in the shared database instead of a message broker.
+ * <p>
+ * Every poll first publishes the IDs this node changed since the previous poll, in one batch, then reads the entries
+ * appended since the last one it applied. Entries of other nodes evict the cached items and reload their current
+ * state into the search index and the due date queue. Sequence numbers are handed out before commit, so an entry may
+ * become visible after a later one; the read position only advances past such a gap once it is filled or older than
+ * {@code todo.cluster.gap-timeout}, and entries past the gap are applied once. Entries are pruned after
+ * {@code todo.cluster.change-retention}.
+ */
+@Service
+public class ClusterSync {
+
+    private static final int READ_BATCH_SIZE = 1000;
+
+    private final TodoChangeLogRepository changeLogRepository;
+    private final TodoRepository todoRepository;
+    private final TodoChangeTracker todoChangeTracker;
+    private final TodoCache todoCache;
+    private final TodoSearchIndex todoSearchIndex;
+    private final DueDateScheduler dueDateScheduler;
+    private final TodoDueIndex todoDueIndex;
+    private final ClusterNode clusterNode;
+    private final long gapTimeoutMillis;
+    private final Duration retention;
+    // Guards the read position; polls may be triggered by the scheduler and by tests
+    private final ReentrantLock lock = new ReentrantLock();
+    // Every entry up to here has been applied or skipped
+    private long lastSeq = -1;
+    // Entries beyond a gap that were already applied
+    private final Set<Long> appliedBeyondGap = new HashSet<>();
+    private long gapSeenAt;
+    private final Logger logger = LoggerFactory.getLogger(ClusterSync.class);
+
+    public ClusterSync(TodoChangeLogRepository changeLogRepository,
+                       TodoRepository todoRepository,
+                       TodoChangeTracker todoChangeTracker,
+                       TodoCache todoCache,
+                       TodoSearchIndex todoSearchIndex,
+                       DueDateScheduler dueDateScheduler,
+                       TodoDueIndex todoDueIndex,
+                       ClusterNode clusterNode,
+                       @Value("${todo.cluster.gap-timeout:PT5S}") Duration gapTimeout,
+                       @Value("${todo.cluster.change-retention:PT1H}") Duration retention) {
+        this.changeLogRepository = changeLogRepository;
+        this.todoRepository = todoRepository;
+        this.todoChangeTracker = todoChangeTracker;
+        this.todoCache = todoCache;
+        this.todoSearchIndex = todoSearchIndex;
+        this.dueDateScheduler = dueDateScheduler;
+        this.todoDueIndex = todoDueIndex;
+        this.clusterNode = clusterNode;
+        this.gapTimeoutMillis = gapTimeout.toMillis();
+        this.retention = retention;
+    }
+
+    /**
+     * Start reading the change log at its end once the application is ready; everything before it is already
+     * reflected by the state loaded at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            lastSeq = changeLogRepository.findMaxSeq();
+            appliedBeyondGap.clear();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Node {} following the change log from sequence {}", clusterNode.nodeId(), lastSeq);
+    }
+
+    /**
+     * Publish the changes of this node and apply those of the other nodes.
+     *
+     * @return The number of applied changes of other nodes.
+     */
+    @Scheduled(fixedDelayString = "${todo.cluster.poll-interval:PT0.2S}")
+    public int sync() {
+        if (!clusterNode.isEnabled()) {
+            return 0;
+        }
+        publish();
+        lock.lock();
+        try {
+            return lastSeq < 0 ? 0 : poll();
+        } catch (RuntimeException e) {
+            logger.warn("Unable to read the change log; retrying on the next poll", e);
+            return 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Delete change log entries older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${todo.cluster.prune-interval:PT5M}")
+    public void prune() {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        int deleted = changeLogRepository.deleteBefore(new Date(System.currentTimeMillis() - retention.toMillis()));
+        logger.debug("Pruned {} change log entries", deleted);
+    }
+
+    private void publish() {
+        List<TodoChange> changes = todoChangeTracker.drainUnpublished();
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            changeLogRepository.insertAll(clusterNode.nodeId(), changes, new Date());
+        } catch (RuntimeException e) {
+            // Other nodes serve these items from their caches until the cache TTL expires
+            logger.warn("Unable to publish {} changes to the change log", changes.size(), e);
+        }
+    }
+
+    private int poll() {
+        List<TodoChange> changes = changeLogRepository.findAfter(lastSeq, READ_BATCH_SIZE);
+        long now = System.currentTimeMillis();
+        boolean blocked = false;
+        List<TodoChange> remote = new ArrayList<>();
+        for (TodoChange change : changes) {
+            if (!blocked && change.seq() != lastSeq + 1) {
+                if (gapSeenAt == 0) {
+                    gapSeenAt = now;
+                }
+                // Give an uncommitted entry time to appear, then skip its sequence number for good
+                blocked = now - gapSeenAt < gapTimeoutMillis;
+                if (!blocked) {
+                    logger.debug("Skipping change log sequence numbers ({}, {})", lastSeq, change.seq());
+                }
+            }
+            if (!blocked) {
+                lastSeq = change.seq();
+                gapSeenAt = 0;
+            }
+            // Entries past a gap are remembered until the read position passes them, so each is applied once
+            boolean alreadyApplied = blocked
+                ? !appliedBeyondGap.add(change.seq())
+                : appliedBeyondGap.remove(change.seq());
+            if (!alreadyApplied && !clusterNode.nodeId().equals(change.node())) {
+                remote.add(change);
+            }
+        }
+        if (!remote.isEmpty()) {
+            apply(remote);
+        }
+        return remote.size();
+    }
+
+    private void apply(List<TodoChange> changes) {
+        Set<Long> itemIds = new LinkedHashSet<>();
+        for (TodoChange change : changes) {
+            if (change.kind() == TodoChange.Kind.ITEM) {
+                for (long id = change.minId(); id <= change.maxId(); id++) {
+                    itemIds.add(id);
+                }
+            } else {
+                long minId = change.minId();
+                long maxId = change.maxId();
+                if (minId == maxId) {
+                    todoCache.evict(minId);
+                } else {
+                    todoCache.evictIf(todo -> todo.getId() >= minId && todo.getId() <= maxId);
+                }
+                todoSearchIndex.markPastDueInRange(minId - 1, maxId);
+            }
+        }
+        if (!itemIds.isEmpty()) {
+            for (Long id : itemIds) {
+                todoCache.evict(id);
+            }
+            for (TodoSummary todo : todoRepository.findSummariesByIdIn(itemIds)) {
+                todoSearchIndex.index(todo);
+                dueDateScheduler.schedule(todo.id(), todo.status(), todo.dueDateTime());
+                todoDueIndex.update(todo);
+                itemIds.remove(todo.id());
+            }
+            // Items no longer found were archived by the other node
+            todoSearchIndex.remove(itemIds);
+            todoDueIndex.remove(itemIds);
+        }
+        todoChangeTracker.changed();
+        logger.debug("Applied {} changes of other nodes", changes.size());
+    }
+}
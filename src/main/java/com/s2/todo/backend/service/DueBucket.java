@@ -0,0 +1,43 @@
+package com.s2.todo.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The width of the buckets of a due date histogram, aligned to the calendar of a time zone.
+ */
+public enum DueBucket {
+    HOUR,
+    DAY,
+    /** Weeks starting on Monday. */
+    WEEK,
+    MONTH;
+
+    /**
+     * @param time A date/time.
+     * @return The start of the bucket holding it.
+     */
+    public ZonedDateTime start(ZonedDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * @param start The start of a bucket.
+     * @return The start of the following bucket.
+     */
+    public ZonedDateTime next(ZonedDateTime start) {
+        return switch (this) {
+            case HOUR -> start.plusHours(1);
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.s2.todo.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset pagination cursor pointing at the last (due date/time, id) of a slice of Todo items ordered by due
+ * date/time; also a single hit of the due date index.
+ *
+ * @param due The due date/time of the Todo item, in epoch milliseconds.
+ * @param id  The ID of the Todo item.
+ */
+public record DueCursor(long due, long id) {
+
+    /**
+     * Decode a cursor token.
+     *
+     * @param token The token produced by {@link #encode()}.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the token is malformed.
+     */
+    public static DueCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new DueCursor(Long.parseLong(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    /**
+     * @return The opaque, URL-safe token of this cursor.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((due + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+}
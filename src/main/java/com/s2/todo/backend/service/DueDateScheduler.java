@@ -0,0 +1,294 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoDue;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves "not done" Todo items to PAST_DUE within seconds of their due date/time, instead of waiting for the nightly
+ * sweep.
+ * <p>
+ * Only items falling due within a near horizon are held in memory, in a primitive priority queue ordered by due
+ * date/time. The queue is rebuilt from the database at startup, refilled as the horizon advances and fed by the
+ * service whenever an item is saved or its status changes. Each tick transitions everything that has fallen due
+ * with batched conditional UPDATEs, so stale entries (items completed or deleted in the meantime) simply match no
+ * rows; with the change feed enabled, the matching rows are locked and selected first, so the feed can name them. The
+ * {@link PastDueSweeper} remains the safety net for anything the queue missed.
+ * <p>
+ * In multi-node mode only the node holding the scheduler lease transitions items; items saved on other nodes reach
+ * its queue through the change log. A node rebuilds its queue whenever it takes the lease over.
+ */
+@Service
+public class DueDateScheduler {
+
+    private final TodoRepository todoRepository;
+    private final TodoCache todoCache;
+    private final TodoMetrics todoMetrics;
+    private final TodoAuditLog todoAuditLog;
+    private final TodoChangeTracker todoChangeTracker;
+    private final TodoCounters todoCounters;
+    private final TodoSearchIndex todoSearchIndex;
+    private final ClusterNode clusterNode;
+    private final TodoEventLog todoEventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long horizonMillis;
+    private final int maxResident;
+    private final int batchSize;
+    private final DueQueue queue;
+    // Guards the queue and the window; never held across a database call
+    private final ReentrantLock lock = new ReentrantLock();
+    // Every "not done" item due before this instant is either in the queue or already loaded by a refill
+    private long windowEnd = Long.MIN_VALUE;
+    // Whether this node held the scheduler lease at the last tick
+    private boolean leading = true;
+    private final Logger logger = LoggerFactory.getLogger(DueDateScheduler.class);
+
+    public DueDateScheduler(TodoRepository todoRepository,
+                            TodoCache todoCache,
+                            TodoMetrics todoMetrics,
+                            TodoAuditLog todoAuditLog,
+                            TodoChangeTracker todoChangeTracker,
+                            TodoCounters todoCounters,
+                            TodoSearchIndex todoSearchIndex,
+                            ClusterNode clusterNode,
+                            TodoEventLog todoEventLog,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${todo.due-scheduler.enabled:true}") boolean enabled,
+                            @Value("${todo.due-scheduler.horizon:PT1H}") Duration horizon,
+                            @Value("${todo.due-scheduler.max-resident:100000}") int maxResident,
+                            @Value("${todo.due-scheduler.batch-size:500}") int batchSize) {
+        if (horizon.isNegative() || horizon.isZero() || maxResident <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("todo.due-scheduler horizon, max-resident and batch-size must be positive");
+        }
+        this.todoRepository = todoRepository;
+        this.todoCache = todoCache;
+        this.todoMetrics = todoMetrics;
+        this.todoAuditLog = todoAuditLog;
+        this.todoChangeTracker = todoChangeTracker;
+        this.todoCounters = todoCounters;
+        this.todoSearchIndex = todoSearchIndex;
+        this.clusterNode = clusterNode;
+        this.todoEventLog = todoEventLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.horizonMillis = horizon.toMillis();
+        this.maxResident = maxResident;
+        this.batchSize = batchSize;
+        this.queue = new DueQueue(Math.min(maxResident, 1024));
+        todoMetrics.monitorDueQueue(this::size);
+    }
+
+    /**
+     * Rebuild the queue from the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            queue.clear();
+            windowEnd = Long.MIN_VALUE;
+        } finally {
+            lock.unlock();
+        }
+        refill(System.currentTimeMillis());
+        logger.info("Due date scheduler rebuilt with {} items due within {} ms", size(), horizonMillis);
+    }
+
+    /**
+     * Track a Todo item that was saved or whose status changed, if it falls due within the current window.
+     *
+     * @param todo The Todo item.
+     */
+    public void schedule(Todo todo) {
+        if (todo != null) {
+            schedule(todo.getId(), todo.getStatus(), todo.getDueDateTime());
+        }
+    }
+
+    /**
+     * Track a Todo item that was saved or whose status changed, if it falls due within the current window.
+     *
+     * @param id          The ID of the Todo item.
+     * @param status      The status of the Todo item.
+     * @param dueDateTime The due date/time of the Todo item, or null if it has none.
+     */
+    public void schedule(long id, Todo.Status status, Date dueDateTime) {
+        if (!enabled || status != Todo.Status.NOT_DONE || dueDateTime == null) {
+            return;
+        }
+        long due = dueDateTime.getTime();
+        lock.lock();
+        try {
+            if (due >= windowEnd) {
+                return; // Picked up by a later refill
+            }
+            if (queue.size() >= maxResident) {
+                // Shrink the window so a refill loads the item once there is room again
+                windowEnd = due;
+                return;
+            }
+            queue.add(due, id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Transition every queued item that has fallen due, refilling the queue first if the horizon has advanced.
+     *
+     * @return The number of Todo items moved to PAST_DUE.
+     */
+    @Scheduled(fixedDelayString = "${todo.due-scheduler.tick:1000}")
+    public int transitionDueItems() {
+        if (!enabled) {
+            return 0;
+        }
+        if (!clusterNode.holdsLease(ClusterNode.DUE_SCHEDULER_LEASE)) {
+            leading = false;
+            return 0;
+        }
+        if (!leading) {
+            // Items saved on other nodes while another node was leading are only known to the database
+            leading = true;
+            rebuild();
+        }
+        long now = System.currentTimeMillis();
+        refill(now);
+
+        int transitioned = 0;
+        List<Long> ids = new ArrayList<>(batchSize);
+        while (true) {
+            ids.clear();
+            long earliestDue = now;
+            lock.lock();
+            try {
+                while (!queue.isEmpty() && queue.peekDue() < now && ids.size() < batchSize) {
+                    earliestDue = Math.min(earliestDue, queue.peekDue());
+                    ids.add(queue.peekId());
+                    queue.poll();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (ids.isEmpty()) {
+                break;
+            }
+            Date cutoff = new Date(now);
+            // Exactly the moved items, when they are selected for the change feed
+            List<Long> movedIds = new ArrayList<>();
+            int rows = transactionTemplate.execute(status -> {
+                int count;
+                if (todoEventLog.isEnabled()) {
+                    // Lock the rows about to move, so the change feed names exactly the moved items
+                    List<Long> dueIds = todoRepository.lockDueIds(ids, Todo.Status.NOT_DONE.name(), cutoff);
+                    count = dueIds.isEmpty() ? 0 : todoRepository.updateStatusForDueIds(dueIds, Todo.Status.NOT_DONE,
+                        Todo.Status.PAST_DUE, cutoff);
+                    todoEventLog.pastDue(dueIds);
+                    movedIds.addAll(dueIds);
+                } else {
+                    count = todoRepository.updateStatusForDueIds(ids, Todo.Status.NOT_DONE, Todo.Status.PAST_DUE,
+                        cutoff);
+                }
+                todoCounters.moved(Todo.Status.NOT_DONE, false, Todo.Status.PAST_DUE, false, count);
+                return count;
+            });
+            for (Long id : ids) {
+                todoCache.evict(id);
+            }
+            if (rows > 0) {
+                todoChangeTracker.pastDue(ids);
+                if (todoEventLog.isEnabled()) {
+                    todoSearchIndex.pastDue(movedIds);
+                } else {
+                    todoSearchIndex.markPastDue(ids);
+                }
+            }
+            todoMetrics.dueTransitions(rows, Duration.ofMillis(now - earliestDue));
+            transitioned += rows;
+        }
+        if (transitioned > 0) {
+            todoAuditLog.dueTransitioned(transitioned);
+            logger.debug("Moved {} Todo items to PAST_DUE", transitioned);
+        }
+        return transitioned;
+    }
+
+    /**
+     * @return The number of entries currently held in the queue.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        long to = now + horizonMillis;
+        long from;
+        int room;
+        lock.lock();
+        try {
+            // Refill once half of the horizon has elapsed, or when a full queue has since drained
+            if (windowEnd > now + horizonMillis / 2 || queue.size() >= maxResident) {
+                return;
+            }
+            from = windowEnd == Long.MIN_VALUE ? 0 : windowEnd;
+            room = maxResident - queue.size();
+            // Items saved while the window is loading are queued directly; duplicates are harmless
+            windowEnd = to;
+        } finally {
+            lock.unlock();
+        }
+
+        List<TodoDue> loaded;
+        try {
+            loaded = todoRepository.findDueBetween(Todo.Status.NOT_DONE, new Date(from), new Date(to),
+                PageRequest.of(0, room));
+        } catch (RuntimeException e) {
+            logger.warn("Unable to refill the due date scheduler; the past due sweep will catch up", e);
+            lock.lock();
+            try {
+                windowEnd = Math.min(windowEnd, from);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+
+        lock.lock();
+        try {
+            for (TodoDue due : loaded) {
+                queue.add(due.dueDateTime().getTime(), due.id());
+            }
+            if (loaded.size() == room) {
+                // Truncated: resume from the last loaded due date/time, re-reading any ties
+                windowEnd = Math.min(windowEnd, loaded.get(loaded.size() - 1).dueDateTime().getTime());
+            }
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Loaded {} Todo items due in [{}, {})", loaded.size(), from, to);
+    }
+}
@@ -0,0 +1,349 @@
+package com.s2.todo.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of (due time, ID) pairs with a map from ID to due time, all in primitive arrays.
+ * <p>
+ * Pairs are kept in order in blocks of at most {@value #BLOCK_CAPACITY}; a pair is located by a binary search over
+ * the last pair of every block, then within its block, so an insert or removal moves at most one block's worth of
+ * entries. Each entry costs about 32 bytes and no objects are allocated per entry. Not thread-safe.
+ */
+final class DueIndex {
+
+    static final int BLOCK_CAPACITY = 1024;
+
+    private static final long ABSENT = Long.MIN_VALUE;
+    // Bulk loads leave room in every block, so the first inserts do not split them all
+    private static final int BULK_FILL = BLOCK_CAPACITY * 3 / 4;
+
+    private long[][] dues = new long[16][];
+    private long[][] ids = new long[16][];
+    private int[] sizes = new int[16];
+    private int blocks;
+    private int size;
+    private final IdMap dueById;
+
+    DueIndex() {
+        this.dueById = new IdMap(16);
+    }
+
+    private DueIndex(int expectedSize) {
+        this.dueById = new IdMap(expectedSize);
+    }
+
+    /**
+     * Build an index from pairs already sorted by due time, then ID.
+     *
+     * @param sortedDues The due times.
+     * @param sortedIds  The IDs.
+     * @param count      The number of pairs.
+     * @return The index.
+     */
+    static DueIndex of(long[] sortedDues, long[] sortedIds, int count) {
+        DueIndex index = new DueIndex(count);
+        for (int from = 0; from < count; from += BULK_FILL) {
+            int length = Math.min(BULK_FILL, count - from);
+            long[] blockDues = new long[BLOCK_CAPACITY];
+            long[] blockIds = new long[BLOCK_CAPACITY];
+            System.arraycopy(sortedDues, from, blockDues, 0, length);
+            System.arraycopy(sortedIds, from, blockIds, 0, length);
+            index.insertBlock(index.blocks, blockDues, blockIds, length);
+            index.size += length;
+        }
+        for (int i = 0; i < count; i++) {
+            index.dueById.put(sortedIds[i], sortedDues[i]);
+        }
+        return index;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Add an ID, or move it to a new due time.
+     */
+    void put(long id, long due) {
+        long previous = dueById.get(id);
+        if (previous == due) {
+            return;
+        }
+        if (previous != ABSENT) {
+            removeEntry(previous, id);
+        }
+        dueById.put(id, due);
+        insertEntry(due, id);
+    }
+
+    /**
+     * @return Whether the ID was present.
+     */
+    boolean remove(long id) {
+        long previous = dueById.remove(id);
+        if (previous == ABSENT) {
+            return false;
+        }
+        removeEntry(previous, id);
+        return true;
+    }
+
+    /**
+     * @return The number of entries due within [fromDue, toDue).
+     */
+    long count(long fromDue, long toDue) {
+        return fromDue >= toDue ? 0 : rank(toDue, Long.MIN_VALUE) - rank(fromDue, Long.MIN_VALUE);
+    }
+
+    /**
+     * Copy the entries following a pair, in order, while they are due before a limit.
+     *
+     * @param startDue  The due time of the first candidate pair.
+     * @param startId   The ID of the first candidate pair (inclusive).
+     * @param toDue     The due time entries must be before.
+     * @param outDues   Receives the due times.
+     * @param outIds    Receives the IDs.
+     * @return The number of copied entries, at most the length of the output arrays.
+     */
+    int range(long startDue, long startId, long toDue, long[] outDues, long[] outIds) {
+        if (blocks == 0) {
+            return 0;
+        }
+        int count = 0;
+        int block = findBlock(startDue, startId);
+        int position = lowerBound(block, startDue, startId);
+        while (block < blocks && count < outDues.length) {
+            if (position >= sizes[block]) {
+                block++;
+                position = 0;
+                continue;
+            }
+            long due = dues[block][position];
+            if (due >= toDue) {
+                break;
+            }
+            outDues[count] = due;
+            outIds[count++] = ids[block][position++];
+        }
+        return count;
+    }
+
+    // Number of entries before the pair
+    private long rank(long due, long id) {
+        if (blocks == 0) {
+            return 0;
+        }
+        int block = findBlock(due, id);
+        long rank = lowerBound(block, due, id);
+        for (int b = 0; b < block; b++) {
+            rank += sizes[b];
+        }
+        return rank;
+    }
+
+    private void insertEntry(long due, long id) {
+        if (blocks == 0) {
+            insertBlock(0, new long[BLOCK_CAPACITY], new long[BLOCK_CAPACITY], 0);
+        }
+        int block = findBlock(due, id);
+        if (sizes[block] == BLOCK_CAPACITY) {
+            split(block);
+            int last = sizes[block] - 1;
+            if (compare(due, id, dues[block][last], ids[block][last]) > 0) {
+                block++;
+            }
+        }
+        int position = lowerBound(block, due, id);
+        int length = sizes[block] - position;
+        System.arraycopy(dues[block], position, dues[block], position + 1, length);
+        System.arraycopy(ids[block], position, ids[block], position + 1, length);
+        dues[block][position] = due;
+        ids[block][position] = id;
+        sizes[block]++;
+        size++;
+    }
+
+    private void removeEntry(long due, long id) {
+        int block = findBlock(due, id);
+        int position = lowerBound(block, due, id);
+        if (position >= sizes[block] || dues[block][position] != due || ids[block][position] != id) {
+            throw new IllegalStateException("Due index entry of ID " + id + " is missing");
+        }
+        int length = sizes[block] - position - 1;
+        System.arraycopy(dues[block], position + 1, dues[block], position, length);
+        System.arraycopy(ids[block], position + 1, ids[block], position, length);
+        sizes[block]--;
+        size--;
+        if (sizes[block] == 0) {
+            removeBlock(block);
+        } else if (block + 1 < blocks && sizes[block] + sizes[block + 1] <= BLOCK_CAPACITY / 2) {
+            // Merge sparse neighbours, so removals do not leave a long tail of nearly empty blocks
+            System.arraycopy(dues[block + 1], 0, dues[block], sizes[block], sizes[block + 1]);
+            System.arraycopy(ids[block + 1], 0, ids[block], sizes[block], sizes[block + 1]);
+            sizes[block] += sizes[block + 1];
+            removeBlock(block + 1);
+        }
+    }
+
+    // The first block whose last pair is not before the given one, or the last block
+    private int findBlock(long due, long id) {
+        int low = 0;
+        int high = blocks - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int last = sizes[mid] - 1;
+            if (compare(dues[mid][last], ids[mid][last], due, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // The position of the first pair of the block that is not before the given one
+    private int lowerBound(int block, long due, long id) {
+        long[] blockDues = dues[block];
+        long[] blockIds = ids[block];
+        int low = 0;
+        int high = sizes[block];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(blockDues[mid], blockIds[mid], due, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void split(int block) {
+        int half = sizes[block] / 2;
+        int moved = sizes[block] - half;
+        long[] upperDues = new long[BLOCK_CAPACITY];
+        long[] upperIds = new long[BLOCK_CAPACITY];
+        System.arraycopy(dues[block], half, upperDues, 0, moved);
+        System.arraycopy(ids[block], half, upperIds, 0, moved);
+        sizes[block] = half;
+        insertBlock(block + 1, upperDues, upperIds, moved);
+    }
+
+    private void insertBlock(int block, long[] blockDues, long[] blockIds, int blockSize) {
+        if (blocks == sizes.length) {
+            dues = Arrays.copyOf(dues, blocks * 2);
+            ids = Arrays.copyOf(ids, blocks * 2);
+            sizes = Arrays.copyOf(sizes, blocks * 2);
+        }
+        int length = blocks - block;
+        System.arraycopy(dues, block, dues, block + 1, length);
+        System.arraycopy(ids, block, ids, block + 1, length);
+        System.arraycopy(sizes, block, sizes, block + 1, length);
+        dues[block] = blockDues;
+        ids[block] = blockIds;
+        sizes[block] = blockSize;
+        blocks++;
+    }
+
+    private void removeBlock(int block) {
+        int length = blocks - block - 1;
+        System.arraycopy(dues, block + 1, dues, block, length);
+        System.arraycopy(ids, block + 1, ids, block, length);
+        System.arraycopy(sizes, block + 1, sizes, block, length);
+        blocks--;
+        dues[blocks] = null;
+        ids[blocks] = null;
+    }
+
+    private static int compare(long due1, long id1, long due2, long id2) {
+        int byDue = Long.compare(due1, due2);
+        return byDue != 0 ? byDue : Long.compare(id1, id2);
+    }
+
+    /**
+     * Open-addressing hash map from ID to due time with linear probing; ID 0 marks an empty slot, as IDs start at 1.
+     */
+    private static final class IdMap {
+
+        private long[] keys;
+        private long[] values;
+        private int mask;
+        private int size;
+
+        private IdMap(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private long get(long key) {
+            for (int i = slot(key); ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == 0) {
+                    return ABSENT;
+                }
+            }
+        }
+
+        private void put(long key, long value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int i = slot(key);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        private long remove(long key) {
+            int i = slot(key);
+            while (keys[i] != key) {
+                if (keys[i] == 0) {
+                    return ABSENT;
+                }
+                i = (i + 1) & mask;
+            }
+            long value = values[i];
+            // Backward-shift deletion: move later entries of the probe sequence into the gap, so lookups never stop
+            // early at an emptied slot
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                if (((j - slot(keys[j])) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = 0;
+            size--;
+            return value;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            mask = keys.length - 1;
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
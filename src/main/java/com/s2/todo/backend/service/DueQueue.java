@@ -0,0 +1,88 @@
+package com.s2.todo.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of (due time, ID) pairs kept in two parallel primitive arrays, so each resident entry costs 16 bytes and
+ * no objects are allocated per entry. Not thread-safe.
+ */
+final class DueQueue {
+
+    private long[] dues;
+    private long[] ids;
+    private int size;
+
+    DueQueue(int initialCapacity) {
+        this.dues = new long[Math.max(initialCapacity, 16)];
+        this.ids = new long[dues.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The earliest due time in the queue; only valid when the queue is not empty.
+     */
+    long peekDue() {
+        return dues[0];
+    }
+
+    /**
+     * @return The ID of the earliest due entry in the queue; only valid when the queue is not empty.
+     */
+    long peekId() {
+        return ids[0];
+    }
+
+    void add(long due, long id) {
+        if (size == dues.length) {
+            dues = Arrays.copyOf(dues, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (dues[parent] <= due) {
+                break;
+            }
+            dues[i] = dues[parent];
+            ids[i] = ids[parent];
+            i = parent;
+        }
+        dues[i] = due;
+        ids[i] = id;
+    }
+
+    /**
+     * Remove the earliest due entry; only valid when the queue is not empty.
+     */
+    void poll() {
+        long due = dues[--size];
+        long id = ids[size];
+        int half = size >>> 1;
+        int i = 0;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && dues[child + 1] < dues[child]) {
+                child++;
+            }
+            if (due <= dues[child]) {
+                break;
+            }
+            dues[i] = dues[child];
+            ids[i] = ids[child];
+            i = child;
+        }
+        dues[i] = due;
+        ids[i] = id;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.s2.todo.backend.service;
+
+/**
+ * The formats Todo items can be exported in.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return The content type of the format.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,12 @@
+package com.s2.todo.backend.service;
+
+/**
+ * Thrown when a Todo item cannot be queued for write-behind ingestion because the queue is full (or the writer has
+ * stopped); clients should retry later.
+ */
+public class IngestQueueFullException extends RuntimeException {
+
+    public IngestQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,202 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.model.SweepCheckpoint;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.SweepCheckpointRepository;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves overdue "not done" Todo items to PAST_DUE with set-based updates.
+ * <p>
+ * The ID space is walked in fixed-size ranges; every range is updated with a single bulk UPDATE that commits in its
+ * own transaction together with the sweep checkpoint. If the process dies mid-sweep, the next run picks up after the
+ * last committed range using the original cutoff. With the change feed enabled, the rows about to move are locked
+ * and selected first, and updated by ID, so the feed can name them.
+ * <p>
+ * In multi-node mode only the node holding the sweep lease sweeps; it renews the lease between chunks and stops if
+ * it loses it, leaving the checkpoint for the next holder to resume.
+ */
+@Service
+public class PastDueSweeper {
+
+    static final String CHECKPOINT_NAME = "past-due";
+
+    private final TodoRepository todoRepository;
+    private final SweepCheckpointRepository checkpointRepository;
+    private final TodoCache todoCache;
+    private final TodoMetrics todoMetrics;
+    private final TodoChangeTracker todoChangeTracker;
+    private final TodoCounters todoCounters;
+    private final TodoSearchIndex todoSearchIndex;
+    private final ClusterNode clusterNode;
+    private final TodoEventLog todoEventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    // A lock rather than synchronized, so a virtual thread running the sweep does not pin its carrier during I/O
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private final Logger logger = LoggerFactory.getLogger(PastDueSweeper.class);
+
+    public PastDueSweeper(TodoRepository todoRepository,
+                          SweepCheckpointRepository checkpointRepository,
+                          TodoCache todoCache,
+                          TodoMetrics todoMetrics,
+                          TodoChangeTracker todoChangeTracker,
+                          TodoCounters todoCounters,
+                          TodoSearchIndex todoSearchIndex,
+                          ClusterNode clusterNode,
+                          TodoEventLog todoEventLog,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${todo.sweep.chunk-size:5000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("todo.sweep.chunk-size must be positive");
+        }
+        this.todoRepository = todoRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.todoCache = todoCache;
+        this.todoMetrics = todoMetrics;
+        this.todoChangeTracker = todoChangeTracker;
+        this.todoCounters = todoCounters;
+        this.todoSearchIndex = todoSearchIndex;
+        this.clusterNode = clusterNode;
+        this.todoEventLog = todoEventLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Run a sweep, resuming an interrupted one if its checkpoint is still open.
+     *
+     * @return The report of the sweep.
+     */
+    public SweepReport sweep() {
+        sweepLock.lock();
+        try {
+            return doSweep();
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private SweepReport doSweep() {
+        long start = System.nanoTime();
+        if (!clusterNode.holdsLease(ClusterNode.PAST_DUE_SWEEP_LEASE)) {
+            logger.info("Past due sweep skipped: another node holds the sweep lease.");
+            return new SweepReport(0, 0, elapsedMillis(start), 0, false);
+        }
+        SweepCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT_NAME).orElse(null);
+        boolean resumed = checkpoint != null && !checkpoint.isCompleted();
+        if (resumed) {
+            logger.info("Resuming past due sweep after ID {} (cutoff={}, maxId={})", checkpoint.getLastId(),
+                checkpoint.getCutoff(), checkpoint.getMaxId());
+        } else {
+            checkpoint = startCheckpoint();
+            if (checkpoint == null) {
+                logger.info("No Todo items to sweep.");
+                return new SweepReport(0, 0, elapsedMillis(start), 0, false);
+            }
+        }
+
+        long rowsUpdated = 0;
+        int chunks = 0;
+        long maxChunkMillis = 0;
+        while (checkpoint.getLastId() < checkpoint.getMaxId()) {
+            if (!clusterNode.holdsLease(ClusterNode.PAST_DUE_SWEEP_LEASE)) {
+                logger.warn("Past due sweep stopped after ID {}: the sweep lease was lost.", checkpoint.getLastId());
+                break;
+            }
+            long chunkStart = System.nanoTime();
+            SweepCheckpoint current = checkpoint;
+            long fromId = current.getLastId();
+            long toId = Math.min(current.getMaxId(), fromId + chunkSize);
+            // Exactly the moved items, when they are selected for the change feed
+            List<Long> movedIds = new ArrayList<>();
+            int updated = transactionTemplate.execute(status -> {
+                int count;
+                if (todoEventLog.isEnabled()) {
+                    // Lock the rows about to move, so the change feed names exactly the moved items
+                    List<Long> ids = todoRepository.lockDueIdsInIdRange(Todo.Status.NOT_DONE.name(),
+                        current.getCutoff(), fromId, toId);
+                    count = ids.isEmpty() ? 0 : todoRepository.updateStatusForDueIds(ids, Todo.Status.NOT_DONE,
+                        Todo.Status.PAST_DUE, current.getCutoff());
+                    todoEventLog.pastDue(ids);
+                    movedIds.addAll(ids);
+                } else {
+                    count = todoRepository.updateStatusForDueInIdRange(Todo.Status.NOT_DONE, Todo.Status.PAST_DUE,
+                        current.getCutoff(), fromId, toId);
+                }
+                // Items that are "not done" are expected not to be flagged as done; reconciliation covers the rest
+                todoCounters.moved(Todo.Status.NOT_DONE, false, Todo.Status.PAST_DUE, false, count);
+                current.setLastId(toId);
+                current.setRowsUpdated(current.getRowsUpdated() + count);
+                if (toId >= current.getMaxId()) {
+                    current.setCompleted(true);
+                    current.setCompletedAt(new Date());
+                }
+                checkpointRepository.save(current);
+                return count;
+            });
+            if (updated > 0) {
+                todoChangeTracker.pastDueInRange(fromId, toId);
+                evictSwept(current.getCutoff(), fromId, toId);
+                if (todoEventLog.isEnabled()) {
+                    todoSearchIndex.pastDue(movedIds);
+                } else {
+                    todoSearchIndex.markPastDueInRange(fromId, toId);
+                }
+            }
+            long chunkMillis = elapsedMillis(chunkStart);
+            todoMetrics.sweepChunk(Duration.ofNanos(System.nanoTime() - chunkStart), updated);
+            maxChunkMillis = Math.max(maxChunkMillis, chunkMillis);
+            rowsUpdated += updated;
+            chunks++;
+            logger.debug("Swept IDs ({}, {}]: {} rows in {} ms", fromId, toId, updated, chunkMillis);
+        }
+
+        SweepReport report = new SweepReport(rowsUpdated, chunks, elapsedMillis(start), maxChunkMillis, resumed);
+        todoMetrics.sweep(report);
+        logger.info("Past due sweep completed: {} rows in {} chunks, {} ms ({} rows/s, avg chunk {} ms, max chunk {} ms)",
+            report.rowsUpdated(), report.chunks(), report.elapsedMillis(), String.format("%.1f", report.rowsPerSecond()),
+            String.format("%.1f", report.avgChunkMillis()), report.maxChunkMillis());
+        return report;
+    }
+
+    private SweepCheckpoint startCheckpoint() {
+        Long minId = todoRepository.findMinId();
+        Long maxId = todoRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return null;
+        }
+        SweepCheckpoint checkpoint = SweepCheckpoint.builder()
+            .name(CHECKPOINT_NAME)
+            .cutoff(new Date())
+            .lastId(minId - 1)
+            .maxId(maxId)
+            .rowsUpdated(0)
+            .completed(false)
+            .startedAt(new Date())
+            .build();
+        logger.info("Starting past due sweep over IDs [{}, {}] (cutoff={})", minId, maxId, checkpoint.getCutoff());
+        return checkpointRepository.save(checkpoint);
+    }
+
+    private void evictSwept(Date cutoff, long fromId, long toId) {
+        todoCache.evictIf(todo -> todo.getId() > fromId && todo.getId() <= toId
+            && todo.getStatus() == Todo.Status.NOT_DONE
+            && todo.getDueDateTime() != null && todo.getDueDateTime().before(cutoff));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,43 @@
+package com.s2.todo.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor pointing at the last (score, id) of a page of ranked search results.
+ *
+ * @param score The relevance score of the last search hit.
+ * @param id    The ID of the Todo item of the last search hit.
+ */
+public record SearchCursor(float score, long id) {
+
+    /**
+     * Decode a cursor token.
+     *
+     * @param token The token produced by {@link #encode()}.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the token is malformed.
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            // The score is carried as its exact bit pattern, so the next page starts exactly after this hit
+            return new SearchCursor(Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator))),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    /**
+     * @return The opaque, URL-safe token of this cursor.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((Float.floatToIntBits(score) + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+}
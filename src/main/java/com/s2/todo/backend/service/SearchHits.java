@@ -0,0 +1,12 @@
+package com.s2.todo.backend.service;
+
+import java.util.List;
+
+/**
+ * A page of ranked search hits.
+ *
+ * @param hits    The hits, best first, each as the cursor pointing at it.
+ * @param hasNext Whether more hits follow this page.
+ */
+public record SearchHits(List<SearchCursor> hits, boolean hasNext) {
+}
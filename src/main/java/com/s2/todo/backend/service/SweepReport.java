@@ -0,0 +1,27 @@
+package com.s2.todo.backend.service;
+
+/**
+ * Summary of a single past due sweep run.
+ *
+ * @param rowsUpdated    The number of Todo items moved to PAST_DUE.
+ * @param chunks         The number of chunks (transactions) the sweep was split into.
+ * @param elapsedMillis  The total wall-clock time of the sweep.
+ * @param maxChunkMillis The latency of the slowest chunk.
+ * @param resumed        Whether the sweep continued an interrupted earlier run.
+ */
+public record SweepReport(long rowsUpdated, int chunks, long elapsedMillis, long maxChunkMillis, boolean resumed) {
+
+    /**
+     * @return The sweep throughput in rows per second.
+     */
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? rowsUpdated : rowsUpdated * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * @return The average chunk latency in milliseconds.
+     */
+    public double avgChunkMillis() {
+        return chunks == 0 ? 0 : (double) elapsedMillis / chunks;
+    }
+}
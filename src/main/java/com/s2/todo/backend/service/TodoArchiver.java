@@ -0,0 +1,201 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoArchiveRepository;
+import io.micrometer.observation.annotation.Observed;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves Todo items done longer than the retention period ({@code todo.archive.retention}) from the todo table to
+ * the archive, so the table, its indexes and its scans only hold the items still in use.
+ * <p>
+ * Items are moved in batches of {@code todo.archive.batch-size}, each deleted and inserted into the archive in its
+ * own transaction, with an optional pause between batches so archival does not monopolize the connection pool. An
+ * archived item is read-only; it is still returned by {@code GET /todos/{id}} and listed by month through
+ * {@link #getArchivedTodos(YearMonth, ArchiveCursor, int)}.
+ * <p>
+ * In multi-node mode only the node holding the archive lease archives.
+ */
+@Service
+@Observed(name = "todo.service")
+public class TodoArchiver {
+
+    private static final Todo.Status[] STATUSES = Todo.Status.values();
+
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final TodoCache todoCache;
+    private final TodoMetrics todoMetrics;
+    private final TodoAuditLog todoAuditLog;
+    private final TodoChangeTracker todoChangeTracker;
+    private final TodoCounters todoCounters;
+    private final TodoSearchIndex todoSearchIndex;
+    private final ClusterNode clusterNode;
+    private final TodoEventLog todoEventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final Duration batchPause;
+    // A lock rather than synchronized, so a virtual thread archiving does not pin its carrier during I/O
+    private final ReentrantLock archiveLock = new ReentrantLock();
+    private final Logger logger = LoggerFactory.getLogger(TodoArchiver.class);
+
+    public TodoArchiver(TodoArchiveRepository todoArchiveRepository,
+                        TodoCache todoCache,
+                        TodoMetrics todoMetrics,
+                        TodoAuditLog todoAuditLog,
+                        TodoChangeTracker todoChangeTracker,
+                        TodoCounters todoCounters,
+                        TodoSearchIndex todoSearchIndex,
+                        ClusterNode clusterNode,
+                        TodoEventLog todoEventLog,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${todo.archive.enabled:true}") boolean enabled,
+                        @Value("${todo.archive.retention:P30D}") Duration retention,
+                        @Value("${todo.archive.batch-size:1000}") int batchSize,
+                        @Value("${todo.archive.batch-pause:PT0S}") Duration batchPause) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("todo.archive.batch-size must be positive");
+        }
+        if (retention.isNegative()) {
+            throw new IllegalArgumentException("todo.archive.retention must not be negative");
+        }
+        this.todoArchiveRepository = todoArchiveRepository;
+        this.todoCache = todoCache;
+        this.todoMetrics = todoMetrics;
+        this.todoAuditLog = todoAuditLog;
+        this.todoChangeTracker = todoChangeTracker;
+        this.todoCounters = todoCounters;
+        this.todoSearchIndex = todoSearchIndex;
+        this.clusterNode = clusterNode;
+        this.todoEventLog = todoEventLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+    }
+
+    /**
+     * Scheduled task to archive Todo items done longer than the retention period, daily at 00:30 by default.
+     */
+    @Scheduled(cron = "${todo.archive.cron:0 30 0 * * ?}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Archive the Todo items done longer than the retention period.
+     *
+     * @return The number of archived Todo items.
+     */
+    public long archive() {
+        archiveLock.lock();
+        try {
+            return doArchive(new Date(System.currentTimeMillis() - retention.toMillis()));
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    /**
+     * Get a slice of archived Todo items, ordered by month and ID, using keyset pagination.
+     *
+     * @param month    If given, only Todo items archived under this month (UTC) are returned.
+     * @param after    The cursor of the last Todo item of the previous slice, or null for the first slice.
+     * @param pageSize The number of items per slice.
+     * @return The slice of archived Todo items, with the cursor of the next slice.
+     */
+    public CursorSlice<Todo> getArchivedTodos(YearMonth month, ArchiveCursor after, int pageSize) {
+        logger.debug("Retrieving archived Todo items (month={}, after={}, pageSize={})", month, after, pageSize);
+        Integer archiveMonth = month == null ? null : month.getYear() * 100 + month.getMonthValue();
+        List<Todo> todos = todoArchiveRepository.findSlice(archiveMonth, after == null ? 0 : after.month(),
+            after == null ? 0 : after.id(), pageSize + 1);
+        boolean hasNext = todos.size() > pageSize;
+        List<Todo> content = hasNext ? todos.subList(0, pageSize) : todos;
+        String next = hasNext ? ArchiveCursor.of(content.get(content.size() - 1)).encode() : null;
+        logger.debug("Retrieved {} archived Todo items.", content.size());
+        return new CursorSlice<>(content, pageSize, content.size(), hasNext, next);
+    }
+
+    private long doArchive(Date cutoff) {
+        long start = System.nanoTime();
+        long archived = 0;
+        int batches = 0;
+        long lastId = 0;
+        while (true) {
+            if (!clusterNode.holdsLease(ClusterNode.ARCHIVE_LEASE)) {
+                logger.info("Archival stopped after ID {}: another node holds the archive lease.", lastId);
+                break;
+            }
+            long batchStart = System.nanoTime();
+            List<Long> ids = todoArchiveRepository.findArchivableIds(cutoff, lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Todo> moved = transactionTemplate.execute(status -> {
+                List<Todo> todos = todoArchiveRepository.moveToArchive(ids, cutoff, new Date());
+                countRemoved(todos);
+                todoEventLog.archived(todos);
+                return todos;
+            });
+            lastId = ids.get(ids.size() - 1);
+            if (!moved.isEmpty()) {
+                List<Long> movedIds = moved.stream().map(Todo::getId).toList();
+                movedIds.forEach(todoCache::evict);
+                todoSearchIndex.remove(movedIds);
+                todoChangeTracker.changed(movedIds);
+                todoAuditLog.archived(moved.size());
+            }
+            todoMetrics.archiveBatch(Duration.ofNanos(System.nanoTime() - batchStart), moved.size());
+            archived += moved.size();
+            batches++;
+            logger.debug("Archived {} Todo items up to ID {}", moved.size(), lastId);
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        logger.info("Archival completed: {} Todo items done before {} in {} batches, {} ms", archived, cutoff,
+            batches, (System.nanoTime() - start) / 1_000_000);
+        return archived;
+    }
+
+    private void countRemoved(List<Todo> todos) {
+        // One slot per (status, done) pair, as in TodoCounters
+        long[] rows = new long[STATUSES.length * 2];
+        for (Todo todo : todos) {
+            rows[todo.getStatus().ordinal() * 2 + (todo.isDone() ? 1 : 0)]++;
+        }
+        for (Todo.Status status : STATUSES) {
+            todoCounters.removed(status, false, rows[status.ordinal() * 2]);
+            todoCounters.removed(status, true, rows[status.ordinal() * 2 + 1]);
+        }
+    }
+
+    private boolean pause() {
+        if (batchPause.isZero() || batchPause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.model.Todo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Audit trail of Todo mutations, written to the {@code todo.audit} logger as one {@code event=... key=value} line per
+ * event.
+ * <p>
+ * Events carry only IDs and enum constants, never whole entities, and are checked against the log level before any
+ * argument is boxed, so a disabled audit trail costs nothing and an enabled one allocates little.
+ */
+@Component
+public class TodoAuditLog {
+
+    static final String LOGGER_NAME = "todo.audit";
+
+    private final Logger logger = LoggerFactory.getLogger(LOGGER_NAME);
+
+    /**
+     * @param id The ID of the created Todo item.
+     */
+    public void created(long id) {
+        if (logger.isInfoEnabled()) {
+            logger.info("event=created id={}", id);
+        }
+    }
+
+    /**
+     * @param id The ID of the Todo item whose fields were updated.
+     */
+    public void updated(long id) {
+        if (logger.isInfoEnabled()) {
+            logger.info("event=updated id={}", id);
+        }
+    }
+
+    /**
+     * @param id     The ID of the Todo item.
+     * @param status The new status of the Todo item.
+     */
+    public void statusChanged(long id, Todo.Status status) {
+        if (logger.isInfoEnabled()) {
+            logger.info("event=status_changed id={} status={}", id, status);
+        }
+    }
+
+    /**
+     * @param report The report of a completed past due sweep.
+     */
+    public void pastDueSwept(SweepReport report) {
+        if (logger.isInfoEnabled()) {
+            logger.info("event=past_due_swept rows={} chunks={} millis={}", report.rowsUpdated(), report.chunks(),
+                report.elapsedMillis());
+        }
+    }
+
+    /**
+     * @param rows The number of Todo items moved to PAST_DUE by the due date scheduler.
+     */
+    public void dueTransitioned(int rows) {
+        if (logger.isInfoEnabled()) {
+            logger.info("event=due_transitioned rows={}", rows);
+        }
+    }
+
+    /**
+     * @param rows The number of Todo items moved to the archive by one batch.
+     */
+    public void archived(int rows) {
+        if (logger.isInfoEnabled()) {
+            logger.info("event=archived rows={}", rows);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.s2.todo.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.s2.todo.backend.model.Todo;
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, in-process read-through cache of Todo items by ID.
+ * <p>
+ * Entries are evicted by size and by time since they were written, and are invalidated by every write path of
+ * {@link TodoService}. Copies are handed in and out, so callers mutating a Todo never alter the cached state.
+ */
+@Component
+public class TodoCache {
+
+    private final Cache<Long, Todo> cache;
+
+    public TodoCache(@Value("${todo.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${todo.cache.ttl:PT5M}") Duration ttl,
+                     TodoMetrics todoMetrics) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        todoMetrics.monitor(cache, "todo");
+    }
+
+    /**
+     * Get a Todo item, loading it on a miss.
+     *
+     * @param id     The ID of the Todo item.
+     * @param loader Loads the Todo item on a miss, returning null if it does not exist.
+     * @return A copy of the Todo item, or null if it does not exist.
+     */
+    public Todo get(Long id, Function<Long, Todo> loader) {
+        return copy(cache.get(id, key -> copy(loader.apply(key))));
+    }
+
+    /**
+     * Get the version of a cached Todo item without copying it.
+     *
+     * @param id The ID of the Todo item.
+     * @return The cached version, or null if the Todo item is not cached.
+     */
+    public Long version(Long id) {
+        Todo todo = cache.getIfPresent(id);
+        return todo == null ? null : todo.getVersion();
+    }
+
+    /**
+     * Store the current state of a Todo item.
+     *
+     * @param todo The Todo item as it was persisted.
+     */
+    public void put(Todo todo) {
+        cache.put(todo.getId(), copy(todo));
+    }
+
+    /**
+     * Invalidate a single Todo item.
+     *
+     * @param id The ID of the Todo item.
+     */
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Invalidate all cached Todo items matching a condition.
+     *
+     * @param condition The condition on the cached state.
+     */
+    public void evictIf(Predicate<Todo> condition) {
+        cache.asMap().values().removeIf(condition);
+    }
+
+    /**
+     * Invalidate all cached Todo items.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return The hit, miss and eviction counters of the cache.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return The approximate number of cached Todo items.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static Todo copy(Todo todo) {
+        return todo == null ? null : todo.toBuilder().build();
+    }
+}
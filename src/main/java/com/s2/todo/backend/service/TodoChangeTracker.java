@@ -0,0 +1,113 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.repository.TodoChange;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version of the Todo collection as a whole, advanced by every write path of this application.
+ * <p>
+ * Listings are tagged with it, so polling clients can be answered with 304 (Not Modified) without running a query.
+ * The version is prefixed with the startup time, so tags handed out before a restart never match again.
+ * <p>
+ * In multi-node mode ({@code todo.cluster.enabled}) the changed IDs are also kept until {@link ClusterSync} publishes
+ * them to the change log, so the other nodes can invalidate their copies.
+ */
+@Component
+public class TodoChangeTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong changes = new AtomicLong();
+    private final boolean recording;
+    private final ConcurrentLinkedQueue<TodoChange> unpublished = new ConcurrentLinkedQueue<>();
+
+    public TodoChangeTracker(@Value("${todo.cluster.enabled:false}") boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Record a change to one or more Todo items that is not published to other nodes, e.g. one made by another node.
+     */
+    public void changed() {
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Record a change to a Todo item.
+     *
+     * @param id The ID of the created or updated Todo item.
+     */
+    public void changed(long id) {
+        changed();
+        if (recording) {
+            unpublished.add(TodoChange.of(TodoChange.Kind.ITEM, id, id));
+        }
+    }
+
+    /**
+     * Record a change to several Todo items.
+     *
+     * @param ids The IDs of the created or updated Todo items.
+     */
+    public void changed(Collection<Long> ids) {
+        changed();
+        if (recording) {
+            for (Long id : ids) {
+                unpublished.add(TodoChange.of(TodoChange.Kind.ITEM, id, id));
+            }
+        }
+    }
+
+    /**
+     * Record a bulk update that may have moved some of the given Todo items to PAST_DUE.
+     *
+     * @param ids The IDs of the Todo items the bulk update may have changed.
+     */
+    public void pastDue(Collection<Long> ids) {
+        changed();
+        if (recording) {
+            for (Long id : ids) {
+                unpublished.add(TodoChange.of(TodoChange.Kind.PAST_DUE, id, id));
+            }
+        }
+    }
+
+    /**
+     * Record a bulk update that may have moved Todo items within an ID range to PAST_DUE.
+     *
+     * @param fromId The lower bound of the ID range (exclusive).
+     * @param toId   The upper bound of the ID range (inclusive).
+     */
+    public void pastDueInRange(long fromId, long toId) {
+        changed();
+        if (recording) {
+            unpublished.add(TodoChange.of(TodoChange.Kind.PAST_DUE, fromId + 1, toId));
+        }
+    }
+
+    /**
+     * Take the changes recorded since the last call, for publication to other nodes.
+     *
+     * @return The unpublished changes, oldest first.
+     */
+    List<TodoChange> drainUnpublished() {
+        List<TodoChange> drained = new ArrayList<>();
+        TodoChange change;
+        while ((change = unpublished.poll()) != null) {
+            drained.add(change);
+        }
+        return drained;
+    }
+
+    /**
+     * @return The current version of the Todo collection.
+     */
+    public String version() {
+        return epoch + "-" + changes.get();
+    }
+}
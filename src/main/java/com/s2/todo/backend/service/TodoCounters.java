@@ -0,0 +1,201 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.TodoStats;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoCount;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory counts of Todo items by status and completion status, so totals are served without {@code count(*)}.
+ * <p>
+ * Write paths report their changes here; inside a transaction a change is applied only once it commits. The counts
+ * are loaded at startup and periodically reconciled with the database, which corrects drift from writes that bypass
+ * the service (the reactive API, direct SQL), from writes of other nodes and from deletes. Until then the counts are
+ * approximate. Concurrent changes to the same item do not drift them: the service reads an item's previous state
+ * with its row locked.
+ */
+@Component
+public class TodoCounters {
+
+    private static final Todo.Status[] STATUSES = Todo.Status.values();
+
+    private final TodoRepository todoRepository;
+    private final TodoMetrics todoMetrics;
+    // One slot per (status, done) pair, see index()
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length * 2);
+    private volatile Date reconciledAt;
+    private final Logger logger = LoggerFactory.getLogger(TodoCounters.class);
+
+    public TodoCounters(TodoRepository todoRepository, TodoMetrics todoMetrics) {
+        this.todoRepository = todoRepository;
+        this.todoMetrics = todoMetrics;
+    }
+
+    /**
+     * Count a created Todo item.
+     *
+     * @param status The status of the Todo item.
+     * @param done   Whether the Todo item is done.
+     */
+    public void added(Todo.Status status, boolean done) {
+        afterCommit(() -> add(status, done, 1));
+    }
+
+    /**
+     * Count a Todo item changing its status or completion status.
+     *
+     * @param fromStatus The previous status of the Todo item.
+     * @param fromDone   Whether the Todo item was done.
+     * @param toStatus   The new status of the Todo item.
+     * @param toDone     Whether the Todo item is now done.
+     */
+    public void moved(Todo.Status fromStatus, boolean fromDone, Todo.Status toStatus, boolean toDone) {
+        moved(fromStatus, fromDone, toStatus, toDone, 1);
+    }
+
+    /**
+     * Count Todo items changing their status or completion status in bulk.
+     *
+     * @param fromStatus The previous status of the Todo items.
+     * @param fromDone   Whether the Todo items were done.
+     * @param toStatus   The new status of the Todo items.
+     * @param toDone     Whether the Todo items are now done.
+     * @param rows       The number of Todo items.
+     */
+    public void moved(Todo.Status fromStatus, boolean fromDone, Todo.Status toStatus, boolean toDone, long rows) {
+        if (rows == 0 || (fromStatus == toStatus && fromDone == toDone)) {
+            return;
+        }
+        afterCommit(() -> {
+            add(fromStatus, fromDone, -rows);
+            add(toStatus, toDone, rows);
+        });
+    }
+
+    /**
+     * Count Todo items removed from the todo table, e.g. by archival.
+     *
+     * @param status The status of the Todo items.
+     * @param done   Whether the Todo items are done.
+     * @param rows   The number of Todo items.
+     */
+    public void removed(Todo.Status status, boolean done, long rows) {
+        if (rows == 0) {
+            return;
+        }
+        afterCommit(() -> add(status, done, -rows));
+    }
+
+    /**
+     * @return The total number of Todo items.
+     */
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @param done Whether to count done Todo items or those that are not done.
+     * @return The number of Todo items with the completion status.
+     */
+    public long count(boolean done) {
+        long count = 0;
+        for (Todo.Status status : STATUSES) {
+            count += counts.get(index(status, done));
+        }
+        return count;
+    }
+
+    /**
+     * @return A snapshot of all counts.
+     */
+    public TodoStats stats() {
+        Map<Todo.Status, Long> byStatus = new EnumMap<>(Todo.Status.class);
+        long done = 0;
+        long notDone = 0;
+        for (Todo.Status status : STATUSES) {
+            long statusDone = counts.get(index(status, true));
+            long statusNotDone = counts.get(index(status, false));
+            byStatus.put(status, statusDone + statusNotDone);
+            done += statusDone;
+            notDone += statusNotDone;
+        }
+        return new TodoStats(done + notDone, done, notDone, byStatus, reconciledAt);
+    }
+
+    /**
+     * Load the counts from the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        logger.info("Loaded Todo counters: {} items", total());
+    }
+
+    /**
+     * Replace the counts with those of the database.
+     *
+     * @return The sum of the absolute corrections made to the counts.
+     */
+    @Scheduled(fixedDelayString = "${todo.counters.reconcile-interval:PT5M}",
+        initialDelayString = "${todo.counters.reconcile-interval:PT5M}")
+    public long reconcile() {
+        List<TodoCount> actual = todoRepository.countByStatusAndIsDone();
+        long[] reconciled = new long[counts.length()];
+        for (TodoCount count : actual) {
+            if (count.status() != null) {
+                reconciled[index(count.status(), count.done())] = count.count();
+            }
+        }
+        long drift = 0;
+        for (int i = 0; i < reconciled.length; i++) {
+            // Changes committed while counting may be lost or counted twice here; the next run corrects them
+            drift += Math.abs(counts.getAndSet(i, reconciled[i]) - reconciled[i]);
+        }
+        reconciledAt = new Date();
+        todoMetrics.countersReconciled(drift);
+        if (drift > 0) {
+            logger.info("Reconciled Todo counters, correcting a drift of {}", drift);
+        }
+        return drift;
+    }
+
+    private void add(Todo.Status status, boolean done, long delta) {
+        if (status != null) {
+            counts.addAndGet(index(status, done), delta);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static int index(Todo.Status status, boolean done) {
+        return status.ordinal() * 2 + (done ? 1 : 0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Opaque keyset pagination cursor pointing at the last (createdAt, id) of a returned slice.
+ *
+ * @param createdAt The creation date/time of the last Todo item, in epoch milliseconds.
+ * @param id        The ID of the last Todo item.
+ */
+public record TodoCursor(long createdAt, long id) {
+
+    /**
+     * Create a cursor pointing at the given Todo item.
+     *
+     * @param todo The last Todo item of a slice.
+     * @return The cursor.
+     */
+    public static TodoCursor of(Todo todo) {
+        return new TodoCursor(todo.getCreatedAt().getTime(), todo.getId());
+    }
+
+    /**
+     * Create a cursor pointing at the given Todo summary.
+     *
+     * @param todo The last Todo summary of a slice.
+     * @return The cursor.
+     */
+    public static TodoCursor of(TodoSummary todo) {
+        return new TodoCursor(todo.createdAt().getTime(), todo.id());
+    }
+
+    /**
+     * Decode a cursor token.
+     *
+     * @param token The token produced by {@link #encode()}.
+     * @return The cursor.
+     * @throws IllegalArgumentException If the token is malformed.
+     */
+    public static TodoCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            return new TodoCursor(Long.parseLong(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 decoding errors are IllegalArgumentExceptions as well
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+    }
+
+    /**
+     * @return The opaque, URL-safe token of this cursor.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((createdAt + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return The creation date/time as a Date.
+     */
+    public Date createdAtDate() {
+        return new Date(createdAt);
+    }
+}
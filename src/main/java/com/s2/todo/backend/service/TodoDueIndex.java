@@ -0,0 +1,332 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoDueDateRepository;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory index of the due date/times of open (not done) Todo items, answering due date range queries and counts
+ * without touching the database.
+ * <p>
+ * The (due date/time, ID) pairs are held in a {@link DueIndex} of primitive arrays. Every write of this instance
+ * updates it once it commits, and items written by other nodes are updated through the change log. It is rebuilt
+ * from the database at startup, loading due date/time ranges in parallel; items written meanwhile are re-read once
+ * the rebuild completes.
+ */
+@Service
+public class TodoDueIndex {
+
+    private static final int RELOAD_CHUNK_SIZE = 1000;
+
+    private final TodoRepository todoRepository;
+    private final TodoDueDateRepository todoDueDateRepository;
+    private final boolean enabled;
+    private final int rebuildThreads;
+    // Queries share the index; writes and the swap after a rebuild hold it exclusively
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private DueIndex index = new DueIndex();
+    // IDs written while a rebuild is running; guarded by the write lock
+    private Set<Long> changedDuringRebuild;
+    private final Logger logger = LoggerFactory.getLogger(TodoDueIndex.class);
+
+    public TodoDueIndex(TodoRepository todoRepository,
+                        TodoDueDateRepository todoDueDateRepository,
+                        @Value("${todo.due-index.enabled:true}") boolean enabled,
+                        @Value("${todo.due-index.rebuild-threads:0}") int rebuildThreads) {
+        this.todoRepository = todoRepository;
+        this.todoDueDateRepository = todoDueDateRepository;
+        this.enabled = enabled;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Build the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * @return Whether the index is maintained.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record the state of a saved Todo item.
+     *
+     * @param todo The Todo item as it was persisted.
+     */
+    public void update(Todo todo) {
+        if (todo != null) {
+            update(todo.getId(), todo.getStatus(), todo.getDueDateTime());
+        }
+    }
+
+    /**
+     * Record the current state of a Todo item read from the database.
+     *
+     * @param todo The Todo item.
+     */
+    public void update(TodoSummary todo) {
+        update(todo.id(), todo.status(), todo.dueDateTime());
+    }
+
+    /**
+     * Record the state of a Todo item: open items with a due date/time are indexed, all others removed.
+     *
+     * @param id          The ID of the Todo item.
+     * @param status      The status of the Todo item.
+     * @param dueDateTime The due date/time of the Todo item, or null if it has none.
+     */
+    public void update(long id, Todo.Status status, Date dueDateTime) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            track(id);
+            if (status != Todo.Status.DONE && dueDateTime != null) {
+                index.put(id, dueDateTime.getTime());
+            } else {
+                index.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove Todo items that left the todo table, e.g. by archival.
+     *
+     * @param ids The IDs of the Todo items.
+     */
+    public void remove(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                track(id);
+                index.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the open Todo items due within a range, ordered by due date/time and ID.
+     *
+     * @param from  The lower bound of the due date/time (inclusive).
+     * @param to    The upper bound of the due date/time (exclusive).
+     * @param after The last hit of the previous page, or null for the first page.
+     * @param limit The maximum number of hits.
+     * @return The hits, in order.
+     */
+    public List<DueCursor> find(Date from, Date to, DueCursor after, int limit) {
+        long startDue = from.getTime();
+        long startId = Long.MIN_VALUE;
+        if (after != null && after.due() >= startDue) {
+            startDue = after.due();
+            startId = after.id() + 1;
+        }
+        long[] dues = new long[limit];
+        long[] ids = new long[limit];
+        int count;
+        lock.readLock().lock();
+        try {
+            count = index.range(startDue, startId, to.getTime(), dues, ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<DueCursor> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hits.add(new DueCursor(dues[i], ids[i]));
+        }
+        return hits;
+    }
+
+    /**
+     * Count the open Todo items due within consecutive ranges, consistently across all ranges.
+     *
+     * @param boundaries The bounds of the ranges in epoch milliseconds, ascending: range i spans
+     *                   [boundaries[i], boundaries[i + 1]).
+     * @return The number of open Todo items due within each range.
+     */
+    public long[] count(long[] boundaries) {
+        long[] counts = new long[Math.max(0, boundaries.length - 1)];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = index.count(boundaries[i], boundaries[i + 1]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * @return The number of indexed Todo items.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the index from the database, loading due date/time ranges in parallel.
+     *
+     * @return The number of indexed Todo items.
+     */
+    public long rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        rebuildLock.lock();
+        try {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            DueIndex rebuilt = loadRanges();
+            Set<Long> written;
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+                written = changedDuringRebuild;
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // Items written meanwhile may have been loaded from a stale read
+            reload(written);
+            logger.info("Rebuilt the due date index with {} Todo items in {} ms using {} threads", rebuilt.size(),
+                (System.nanoTime() - start) / 1_000_000, rebuildThreads);
+            return rebuilt.size();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    private DueIndex loadRanges() {
+        long[] bounds = todoDueDateRepository.findOpenDueBounds();
+        if (bounds == null) {
+            return new DueIndex();
+        }
+        long from = bounds[0];
+        long span = bounds[1] - from + 1;
+        int parts = (int) Math.max(1, Math.min(rebuildThreads, span));
+        ExecutorService executor = Executors.newFixedThreadPool(parts);
+        try {
+            List<Future<Chunk>> futures = new ArrayList<>(parts);
+            for (int part = 0; part < parts; part++) {
+                // Disjoint, ascending due date/time ranges, so the sorted chunks only need to be concatenated
+                long fromDue = from + span * part / parts;
+                long toDue = from + span * (part + 1) / parts;
+                futures.add(executor.submit(() -> {
+                    Chunk chunk = new Chunk();
+                    todoDueDateRepository.forEachOpenDue(fromDue, toDue, chunk::add);
+                    return chunk;
+                }));
+            }
+            List<Chunk> chunks = new ArrayList<>(parts);
+            int total = 0;
+            for (Future<Chunk> future : futures) {
+                Chunk chunk = future.get();
+                chunks.add(chunk);
+                total += chunk.size;
+            }
+            long[] dues = new long[total];
+            long[] ids = new long[total];
+            int offset = 0;
+            for (Chunk chunk : chunks) {
+                System.arraycopy(chunk.dues, 0, dues, offset, chunk.size);
+                System.arraycopy(chunk.ids, 0, ids, offset, chunk.size);
+                offset += chunk.size;
+            }
+            return DueIndex.of(dues, ids, total);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the due date index", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to rebuild the due date index", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void reload(Set<Long> ids) {
+        List<Long> pending = new ArrayList<>(ids);
+        for (int from = 0; from < pending.size(); from += RELOAD_CHUNK_SIZE) {
+            List<Long> chunk = pending.subList(from, Math.min(pending.size(), from + RELOAD_CHUNK_SIZE));
+            Set<Long> missing = new HashSet<>(chunk);
+            for (TodoSummary todo : todoRepository.findSummariesByIdIn(chunk)) {
+                update(todo);
+                missing.remove(todo.id());
+            }
+            remove(missing);
+        }
+    }
+
+    private void track(long id) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(id);
+        }
+    }
+
+    // The pairs of one due date/time range, in the order they were read
+    private static final class Chunk {
+
+        private long[] dues = new long[1024];
+        private long[] ids = new long[1024];
+        private int size;
+
+        private void add(long id, long due) {
+            if (size == dues.length) {
+                dues = Arrays.copyOf(dues, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            dues[size] = due;
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.dto.DueHistogram;
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import io.micrometer.observation.annotation.Observed;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for querying open Todo items by due date/time.
+ * <p>
+ * The {@link TodoDueIndex} finds and counts the open items within a due date/time range in memory; a page of Todo
+ * items is then read from the database in one query, so results always show the current state, and items done
+ * meanwhile are dropped.
+ */
+@Service
+@Observed(name = "todo.service")
+public class TodoDueService {
+
+    /** The highest number of buckets of one histogram. */
+    public static final int MAX_BUCKETS = 1000;
+
+    private final TodoDueIndex todoDueIndex;
+    private final TodoRepository todoRepository;
+    private final Logger logger = LoggerFactory.getLogger(TodoDueService.class);
+
+    public TodoDueService(TodoDueIndex todoDueIndex, TodoRepository todoRepository) {
+        this.todoDueIndex = todoDueIndex;
+        this.todoRepository = todoRepository;
+    }
+
+    /**
+     * Get the open Todo items due within a range, earliest first, using keyset pagination.
+     *
+     * @param from     The lower bound of the due date/time (inclusive).
+     * @param to       The upper bound of the due date/time (exclusive).
+     * @param after    The cursor of the last Todo item of the previous page, or null for the first page.
+     * @param pageSize The number of items per page.
+     * @return The page of open Todo items, with the cursor of the next page.
+     */
+    public CursorSlice<TodoSummary> getDueTodos(Date from, Date to, DueCursor after, int pageSize) {
+        logger.debug("Retrieving due Todo items (from={}, to={}, after={}, pageSize={})", from, to, after, pageSize);
+        List<DueCursor> hits = todoDueIndex.find(from, to, after, pageSize + 1);
+        boolean hasNext = hits.size() > pageSize;
+        if (hasNext) {
+            hits = hits.subList(0, pageSize);
+        }
+        if (hits.isEmpty()) {
+            return new CursorSlice<>(List.of(), pageSize, 0, false, null);
+        }
+
+        List<Long> ids = hits.stream().map(DueCursor::id).toList();
+        Map<Long, TodoSummary> todos = todoRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(TodoSummary::id, Function.identity()));
+        List<TodoSummary> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TodoSummary todo = todos.get(id);
+            if (todo != null && todo.status() != Todo.Status.DONE) {
+                content.add(todo);
+            }
+        }
+
+        String next = hasNext ? hits.get(hits.size() - 1).encode() : null;
+        logger.debug("Retrieved {} due Todo items.", content.size());
+        return new CursorSlice<>(content, pageSize, content.size(), hasNext, next);
+    }
+
+    /**
+     * Count the open Todo items by due date/time, in calendar buckets covering a range. The first and last buckets
+     * are whole, so they may extend beyond the range.
+     *
+     * @param from   The start of the range (inclusive).
+     * @param to     The end of the range (exclusive).
+     * @param bucket The width of the buckets.
+     * @param zone   The time zone the buckets are aligned to.
+     * @return The counts of each bucket.
+     * @throws IllegalArgumentException If the range is empty or needs more than {@value #MAX_BUCKETS} buckets.
+     */
+    public DueHistogram getDueHistogram(Date from, Date to, DueBucket bucket, ZoneId zone) {
+        logger.debug("Retrieving the due date histogram (from={}, to={}, bucket={}, zone={})", from, to, bucket,
+            zone);
+        if (!from.before(to)) {
+            throw new IllegalArgumentException("The start of the range must be before its end.");
+        }
+        List<ZonedDateTime> starts = new ArrayList<>();
+        ZonedDateTime start = bucket.start(from.toInstant().atZone(zone));
+        starts.add(start);
+        while (start.toInstant().isBefore(to.toInstant())) {
+            if (starts.size() > MAX_BUCKETS) {
+                throw new IllegalArgumentException("The range needs more than " + MAX_BUCKETS + " buckets.");
+            }
+            start = bucket.next(start);
+            starts.add(start);
+        }
+
+        long[] boundaries = starts.stream().mapToLong(time -> time.toInstant().toEpochMilli()).toArray();
+        long[] counts = todoDueIndex.count(boundaries);
+        List<DueHistogram.Bucket> buckets = new ArrayList<>(counts.length);
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            buckets.add(new DueHistogram.Bucket(new Date(boundaries[i]), new Date(boundaries[i + 1]), counts[i]));
+            total += counts[i];
+        }
+        return new DueHistogram(bucket.name().toLowerCase(Locale.ROOT), zone.getId(), buckets, total);
+    }
+}
@@ -0,0 +1,397 @@
+package com.s2.todo.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.s2.todo.backend.dto.TodoEvent;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoEventRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The change feed: an append-only log of every create, update, status change and PAST_DUE transition, in the order
+ * the changes were committed.
+ * <p>
+ * Events are written to the database in the transaction of the change itself, with sequence numbers assigned here.
+ * Once a transaction completes, its events are released to readers in sequence order: an event waits until every
+ * event with a lower sequence number has been committed or rolled back, so readers never see a position skip an
+ * event that appears later. Released events are kept, serialized once, in a ring buffer of the latest
+ * {@code todo.feed.buffer-size} events; reads from a position within the buffer never touch the database, and only
+ * readers further behind page through the table. Events older than {@code todo.feed.retention} are pruned.
+ * <p>
+ * Sequence numbers continue after the highest one in the table on startup, so the feed has a single writer per
+ * database and is not available in multi-node mode.
+ */
+@Service
+public class TodoEventLog {
+
+    private final TodoEventRepository todoEventRepository;
+    private final TodoMetrics todoMetrics;
+    private final ObjectWriter writer;
+    private final boolean enabled;
+    private final Duration retention;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    // Guards everything below; the only database call made while holding it is the one-time load
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean loaded;
+    // The highest sequence number assigned
+    private long lastSeq;
+    // The highest sequence number released to readers
+    private long releasedSeq;
+    // Events assigned but not yet committed or rolled back
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    // Events committed but waiting for a lower in-flight one
+    private final TreeMap<Long, Entry> committed = new TreeMap<>();
+    // The latest released events, oldest at ringHead
+    private final Entry[] ring;
+    private int ringHead;
+    private int ringSize;
+    // Every released event after this sequence number is in the ring
+    private long bufferFloor;
+    // Every event after this sequence number is still in the table
+    private long retainedFloor;
+    private final Logger logger = LoggerFactory.getLogger(TodoEventLog.class);
+
+    public TodoEventLog(TodoEventRepository todoEventRepository,
+                        TodoMetrics todoMetrics,
+                        ObjectProvider<ObjectMapper> objectMapper,
+                        @Value("${todo.feed.enabled:true}") boolean enabled,
+                        @Value("${todo.cluster.enabled:false}") boolean clusterEnabled,
+                        @Value("${todo.feed.buffer-size:10000}") int bufferSize,
+                        @Value("${todo.feed.retention:P1D}") Duration retention) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("todo.feed.buffer-size must be positive");
+        }
+        if (enabled && clusterEnabled) {
+            logger.warn("The change feed is not available in multi-node mode and has been disabled");
+        }
+        this.todoEventRepository = todoEventRepository;
+        this.todoMetrics = todoMetrics;
+        // Same JSON representation as the API responses
+        this.writer = objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build())
+            .writerFor(TodoEvent.class);
+        this.enabled = enabled && !clusterEnabled;
+        this.retention = retention;
+        this.ring = new Entry[bufferSize];
+    }
+
+    /**
+     * A released event with its JSON representation.
+     *
+     * @param event The event.
+     * @param json  The event serialized as JSON.
+     */
+    public record Entry(TodoEvent event, String json) {
+    }
+
+    /**
+     * @return Whether changes are recorded in the change feed.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Register a callback run whenever events are released; it must return quickly.
+     *
+     * @param listener The callback.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Record new Todo items, within the transaction that inserts them.
+     *
+     * @param todos The saved Todo items.
+     */
+    public void created(Collection<Todo> todos) {
+        append(todos, TodoEvent.Type.CREATED, true);
+    }
+
+    /**
+     * Record a Todo item replaced as a whole, within the transaction that saves it.
+     *
+     * @param todo The saved Todo item.
+     */
+    public void updated(Todo todo) {
+        append(List.of(todo), TodoEvent.Type.UPDATED, true);
+    }
+
+    /**
+     * Record a changed description, within the transaction that changes it.
+     *
+     * @param todo The updated Todo item.
+     */
+    public void descriptionUpdated(Todo todo) {
+        append(List.of(todo), TodoEvent.Type.DESCRIPTION_UPDATED, true);
+    }
+
+    /**
+     * Record changed statuses, within the transaction that changes them.
+     *
+     * @param todos The updated Todo items.
+     */
+    public void statusChanged(Collection<Todo> todos) {
+        append(todos, TodoEvent.Type.STATUS_CHANGED, false);
+    }
+
+    /**
+     * Record Todo items moved to PAST_DUE, within the transaction that moves them.
+     *
+     * @param ids The IDs of the moved Todo items.
+     */
+    public void pastDue(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+        List<TodoEvent> events = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            events.add(new TodoEvent(0, TodoEvent.Type.PAST_DUE, id, Todo.Status.PAST_DUE, null, null, now));
+        }
+        append(events);
+    }
+
+    /**
+     * Record Todo items moved to the archive, within the transaction that moves them.
+     *
+     * @param todos The archived Todo items.
+     */
+    public void archived(Collection<Todo> todos) {
+        append(todos, TodoEvent.Type.ARCHIVED, false);
+    }
+
+    private void append(Collection<Todo> todos, TodoEvent.Type type, boolean withDescription) {
+        if (!enabled || todos.isEmpty()) {
+            return;
+        }
+        Date now = new Date();
+        List<TodoEvent> events = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            events.add(new TodoEvent(0, type, todo.getId(), todo.getStatus(),
+                withDescription ? todo.getDescription() : null, todo.getVersion(), now));
+        }
+        append(events);
+    }
+
+    private void append(List<TodoEvent> events) {
+        List<TodoEvent> sequenced = new ArrayList<>(events.size());
+        lock.lock();
+        try {
+            load();
+            for (TodoEvent event : events) {
+                long seq = ++lastSeq;
+                inFlight.add(seq);
+                sequenced.add(event.withSeq(seq));
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            todoEventRepository.insertAll(sequenced);
+        } catch (RuntimeException e) {
+            settle(sequenced, false);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    settle(sequenced, status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            settle(sequenced, true);
+        }
+    }
+
+    private void settle(List<TodoEvent> events, boolean commit) {
+        List<Entry> entries = List.of();
+        try {
+            entries = commit ? serialize(events) : List.of();
+        } catch (IllegalStateException e) {
+            // Still settle the events, so the ones after them are not held back forever
+            logger.error("Unable to release {} change feed events", events.size(), e);
+        }
+        int released = 0;
+        lock.lock();
+        try {
+            for (TodoEvent event : events) {
+                inFlight.remove(event.seq());
+            }
+            for (Entry entry : entries) {
+                committed.put(entry.event().seq(), entry);
+            }
+            long lowestInFlight = inFlight.isEmpty() ? Long.MAX_VALUE : inFlight.first();
+            while (!committed.isEmpty() && committed.firstKey() < lowestInFlight) {
+                Entry entry = committed.pollFirstEntry().getValue();
+                buffer(entry);
+                releasedSeq = entry.event().seq();
+                released++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (released > 0) {
+            todoMetrics.feedEvents(released);
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+        }
+    }
+
+    /**
+     * Read the released events following a position of the change feed.
+     *
+     * @param seq   The sequence number to read after (exclusive).
+     * @param limit The maximum number of events to read.
+     * @return The events, in sequence order; empty if the reader is up to date.
+     * @throws TodoEventsExpiredException If events following the position have been pruned, or the position lies
+     *                                    ahead of the change feed.
+     */
+    public List<Entry> readAfter(long seq, int limit) {
+        long upTo;
+        lock.lock();
+        try {
+            checkAvailable(seq);
+            if (seq >= bufferFloor) {
+                return readBuffer(seq, limit);
+            }
+            upTo = releasedSeq;
+        } finally {
+            lock.unlock();
+        }
+        return serialize(todoEventRepository.findBetween(seq, upTo, limit));
+    }
+
+    /**
+     * Check that the change feed can be read from a position.
+     *
+     * @param seq The sequence number to read after (exclusive).
+     * @throws TodoEventsExpiredException If events following the position have been pruned, or the position lies
+     *                                    ahead of the change feed.
+     */
+    public void checkAvailable(long seq) {
+        lock.lock();
+        try {
+            load();
+            if (seq > releasedSeq) {
+                throw new TodoEventsExpiredException("Position " + seq + " lies ahead of the change feed.");
+            }
+            if (seq < bufferFloor && seq < retainedFloor) {
+                throw new TodoEventsExpiredException("Events after position " + seq + " have been pruned.");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The sequence number of the latest released event, or 0 if there is none.
+     */
+    public long lastReleasedSeq() {
+        lock.lock();
+        try {
+            load();
+            return releasedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Delete events older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${todo.feed.prune-interval:PT1H}")
+    public void prune() {
+        if (!enabled) {
+            return;
+        }
+        int deleted = todoEventRepository.deleteBefore(new Date(System.currentTimeMillis() - retention.toMillis()));
+        if (deleted > 0) {
+            long minSeq = todoEventRepository.findMinSeq();
+            lock.lock();
+            try {
+                retainedFloor = Math.max(retainedFloor, minSeq - 1);
+            } finally {
+                lock.unlock();
+            }
+        }
+        logger.debug("Pruned {} change feed events", deleted);
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        long maxSeq = todoEventRepository.findMaxSeq();
+        long minSeq = todoEventRepository.findMinSeq();
+        lastSeq = maxSeq;
+        releasedSeq = maxSeq;
+        bufferFloor = maxSeq;
+        retainedFloor = minSeq == 0 ? 0 : minSeq - 1;
+        loaded = true;
+        logger.info("Change feed continuing after sequence {}", maxSeq);
+    }
+
+    private void buffer(Entry entry) {
+        if (ringSize == ring.length) {
+            bufferFloor = ring[ringHead].event().seq();
+            ring[ringHead] = entry;
+            ringHead = (ringHead + 1) % ring.length;
+        } else {
+            ring[(ringHead + ringSize) % ring.length] = entry;
+            ringSize++;
+        }
+    }
+
+    private List<Entry> readBuffer(long seq, int limit) {
+        // Binary search for the first buffered event after the position
+        int low = 0;
+        int high = ringSize;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ring[(ringHead + mid) % ring.length].event().seq() <= seq) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int count = Math.min(limit, ringSize - low);
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(ring[(ringHead + low + i) % ring.length]);
+        }
+        return entries;
+    }
+
+    private List<Entry> serialize(List<TodoEvent> events) {
+        List<Entry> entries = new ArrayList<>(events.size());
+        for (TodoEvent event : events) {
+            try {
+                entries.add(new Entry(event, writer.writeValueAsString(event)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Unable to serialize change feed event " + event.seq(), e);
+            }
+        }
+        return entries;
+    }
+}
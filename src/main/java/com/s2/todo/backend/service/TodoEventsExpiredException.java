@@ -0,0 +1,12 @@
+package com.s2.todo.backend.service;
+
+/**
+ * Thrown when the change feed is read from a position whose following events have already been pruned; clients
+ * must reload the Todo items they hold and follow the feed from its current position.
+ */
+public class TodoEventsExpiredException extends RuntimeException {
+
+    public TodoEventsExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,105 @@
+package com.s2.todo.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for exporting Todo items.
+ * <p>
+ * Items are read through a forward-only database cursor and written one by one with Jackson's streaming writers,
+ * each entity being detached once written, so memory use does not depend on the number of exported items.
+ */
+@Service
+public class TodoExportService {
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+        .addColumn("id")
+        .addColumn("description")
+        .addColumn("status")
+        .addColumn("createdAt")
+        .addColumn("dueDateTime")
+        .addColumn("markedAsDoneDateTime")
+        .addColumn("done")
+        .addColumn("version")
+        .build()
+        .withHeader();
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter csvWriter;
+    private final Logger logger = LoggerFactory.getLogger(TodoExportService.class);
+
+    public TodoExportService(TodoRepository todoRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectProvider<ObjectMapper> objectMapper) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Same JSON representation as the API responses
+        this.ndjsonWriter = objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build())
+            .writerFor(Todo.class)
+            .withRootValueSeparator("\n")
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.csvWriter = csvMapper.writerFor(Todo.class)
+            .with(CSV_SCHEMA)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Write all matching Todo items to an output stream.
+     *
+     * @param format The format to write the Todo items in.
+     * @param status The status of the Todo items to export, or null for any status.
+     * @param done   The completion status of the Todo items to export, or null for any.
+     * @param out    The output stream to write to; it is not closed.
+     * @return The number of exported Todo items.
+     */
+    public long export(ExportFormat format, Todo.Status status, Boolean done, OutputStream out) {
+        logger.info("Exporting Todo items as {} (status={}, done={})", format, status, done);
+        ObjectWriter writer = format == ExportFormat.CSV ? csvWriter : ndjsonWriter;
+        Long count = transactionTemplate.execute(tx -> {
+            try (Stream<Todo> todos = todoRepository.streamAll(status, done);
+                 SequenceWriter sequenceWriter = writer.writeValues(out)) {
+                long written = 0;
+                for (Todo todo : (Iterable<Todo>) todos::iterator) {
+                    sequenceWriter.write(todo);
+                    entityManager.detach(todo);
+                    written++;
+                }
+                if (format == ExportFormat.NDJSON && written > 0) {
+                    sequenceWriter.flush();
+                    out.write('\n');
+                }
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        logger.info("Exported {} Todo items.", count);
+        return count;
+    }
+}
@@ -0,0 +1,226 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.TodoEvent;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams the change feed to any number of clients as Server-Sent Events.
+ * <p>
+ * Subscribers share the events buffered by {@link TodoEventLog}, serialized once; nothing is queried per subscriber
+ * unless it is behind the buffer. Released events wake a single dispatcher thread, which schedules a send for every
+ * subscriber not already sending; each send drains everything released since the subscriber's position, on a
+ * virtual thread, so a slow client only delays itself. A client that reconnects with {@code Last-Event-ID} resumes
+ * where it left off.
+ */
+@Service
+public class TodoFeedBroadcaster {
+
+    private static final int SEND_BATCH_SIZE = 500;
+    private static final long RECONNECT_MILLIS = 1000;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final TodoEventLog todoEventLog;
+    private final int maxSubscribers;
+    private final long streamTimeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Holds at most one pending wake-up, so bursts of releases coalesce into one dispatch
+    private final ArrayBlockingQueue<Boolean> released = new ArrayBlockingQueue<>(1);
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+    private Thread dispatcher;
+    private final Logger logger = LoggerFactory.getLogger(TodoFeedBroadcaster.class);
+
+    public TodoFeedBroadcaster(TodoEventLog todoEventLog,
+                               TodoMetrics todoMetrics,
+                               @Value("${todo.feed.max-subscribers:10000}") int maxSubscribers,
+                               @Value("${todo.feed.stream-timeout:PT30M}") Duration streamTimeout) {
+        this.todoEventLog = todoEventLog;
+        this.maxSubscribers = maxSubscribers;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        todoEventLog.addListener(() -> released.offer(Boolean.TRUE));
+        todoMetrics.monitorFeedSubscribers(subscribers::size);
+    }
+
+    /**
+     * Start the dispatcher thread once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!todoEventLog.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        dispatcher = Thread.ofPlatform().name("todo-feed-dispatcher").daemon().start(this::dispatch);
+    }
+
+    /**
+     * End every stream and stop the dispatcher thread.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (running) {
+            running = false;
+            dispatcher.join();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    /**
+     * Start streaming the change feed to a client.
+     *
+     * @param since The sequence number of the last event the client has seen.
+     * @return The emitter streaming the events, or null if the subscriber limit has been reached.
+     * @throws TodoEventsExpiredException If events following the position have been pruned, or the position lies
+     *                                    ahead of the change feed.
+     */
+    public SseEmitter subscribe(long since) {
+        todoEventLog.checkAvailable(since);
+        if (subscribers.size() >= maxSubscribers) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(() -> {
+            // The client reconnects with the ID of the last event it received
+            subscriber.close();
+            emitter.complete();
+        });
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        try {
+            // Buffered until the response is ready; commits the response headers
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("subscribed"));
+        } catch (IOException e) {
+            subscriber.close();
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        subscriber.signal();
+        logger.debug("Change feed subscriber added after sequence {} ({} subscribers)", since, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * @return The number of clients streaming the change feed.
+     */
+    public int size() {
+        return subscribers.size();
+    }
+
+    /**
+     * Keep idle streams open through proxies by sending a comment to subscribers that received nothing recently.
+     */
+    @Scheduled(fixedDelayString = "${todo.feed.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.signal();
+        }
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                if (released.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS) == null) {
+                    continue;
+                }
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.signal();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Set while a send is scheduled or running; sends of one subscriber never overlap
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean heartbeatDue;
+        // The last event sent; only touched by the running send
+        private long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void signal() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            boolean sent = false;
+            try {
+                List<TodoEventLog.Entry> entries;
+                while (!closed && !(entries = todoEventLog.readAfter(cursor, SEND_BATCH_SIZE)).isEmpty()) {
+                    for (TodoEventLog.Entry entry : entries) {
+                        TodoEvent event = entry.event();
+                        emitter.send(SseEmitter.event().id(Long.toString(event.seq())).data(entry.json()));
+                    }
+                    cursor = entries.get(entries.size() - 1).event().seq();
+                    sent = true;
+                }
+                if (heartbeatDue && !sent && !closed) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                heartbeatDue = false;
+            } catch (TodoEventsExpiredException e) {
+                // Fell behind the retention period; reconnecting is answered with 410 (Gone)
+                logger.warn("Change feed subscriber fell behind at sequence {}: {}", cursor, e.getMessage());
+                close();
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream completed meanwhile
+                logger.debug("Change feed subscriber disconnected at sequence {}", cursor);
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // Events released after the last read but before the flag was cleared found the send still scheduled
+            if (!closed && todoEventLog.lastReleasedSeq() > cursor) {
+                signal();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoInsertRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Opt-in write-behind ingestion of new Todo items.
+ * <p>
+ * Requests only validate the item, give it an ID from a block allocated up front and put it into a bounded ring
+ * buffer; a single writer thread drains the buffer and inserts the items in group commits of up to
+ * {@code batch-size} items, flushing a partial batch once {@code flush-interval} has passed since its first item.
+ * Callers either acknowledge on enqueue or wait for the commit through the returned future. A full buffer rejects
+ * the item, so clients see backpressure instead of unbounded memory growth.
+ * <p>
+ * If a group commit fails, its items are retried one by one, so a single bad item fails only its own request.
+ * Items still queued when the application stops are flushed before shutdown; a crash loses them.
+ */
+@Service
+public class TodoIngestQueue {
+
+    /**
+     * When a queued Todo item is acknowledged to the client.
+     */
+    public enum Ack {
+        /** As soon as it is queued, with its pre-allocated ID (202 Accepted). */
+        ENQUEUE,
+        /** Once its group commit completes (201 Created). */
+        COMMIT
+    }
+
+    // Must match the allocationSize of the todo_seq generator of Todo
+    private static final int ID_ALLOCATION_SIZE = 50;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final TodoInsertRepository todoInsertRepository;
+    private final TodoCache todoCache;
+    private final TodoCounters todoCounters;
+    private final TodoChangeTracker todoChangeTracker;
+    private final TodoSearchIndex todoSearchIndex;
+    private final DueDateScheduler dueDateScheduler;
+    private final TodoDueIndex todoDueIndex;
+    private final TodoAuditLog todoAuditLog;
+    private final TodoEventLog todoEventLog;
+    private final TodoMetrics todoMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Ack ack;
+    private final Duration commitTimeout;
+    private final ArrayBlockingQueue<Pending> queue;
+    // The current block of pre-allocated IDs, guarded by this
+    // A lock rather than synchronized, so a virtual thread fetching the next ID block does not pin its carrier
+    private final ReentrantLock idLock = new ReentrantLock();
+    private long nextId = 1;
+    private long lastId = 0;
+    private volatile boolean running;
+    private Thread writer;
+    private final Logger logger = LoggerFactory.getLogger(TodoIngestQueue.class);
+
+    public TodoIngestQueue(TodoInsertRepository todoInsertRepository,
+                           TodoCache todoCache,
+                           TodoCounters todoCounters,
+                           TodoChangeTracker todoChangeTracker,
+                           TodoSearchIndex todoSearchIndex,
+                           DueDateScheduler dueDateScheduler,
+                           TodoDueIndex todoDueIndex,
+                           TodoAuditLog todoAuditLog,
+                           TodoEventLog todoEventLog,
+                           TodoMetrics todoMetrics,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${todo.ingest.enabled:false}") boolean enabled,
+                           @Value("${todo.ingest.capacity:10000}") int capacity,
+                           @Value("${todo.ingest.batch-size:500}") int batchSize,
+                           @Value("${todo.ingest.flush-interval:PT0.01S}") Duration flushInterval,
+                           @Value("${todo.ingest.ack:ENQUEUE}") Ack ack,
+                           @Value("${todo.ingest.commit-timeout:PT5S}") Duration commitTimeout) {
+        if (capacity <= 0 || batchSize <= 0 || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("todo.ingest capacity and batch-size must be positive");
+        }
+        this.todoInsertRepository = todoInsertRepository;
+        this.todoCache = todoCache;
+        this.todoCounters = todoCounters;
+        this.todoChangeTracker = todoChangeTracker;
+        this.todoSearchIndex = todoSearchIndex;
+        this.dueDateScheduler = dueDateScheduler;
+        this.todoDueIndex = todoDueIndex;
+        this.todoAuditLog = todoAuditLog;
+        this.todoEventLog = todoEventLog;
+        this.todoMetrics = todoMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.ack = ack;
+        this.commitTimeout = commitTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        todoMetrics.monitorIngestQueue(queue::size);
+    }
+
+    /**
+     * Start the writer thread once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("todo-ingest-writer").daemon().start(this::drain);
+        logger.info("Write-behind ingestion started (batchSize={}, flushInterval={} ms, ack={})", batchSize,
+            TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos), ack);
+    }
+
+    /**
+     * Stop accepting Todo items and flush the queued ones.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join();
+        // Items offered while the writer was exiting
+        List<Pending> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        IngestQueueFullException stopped = new IngestQueueFullException("Write-behind ingestion stopped.");
+        for (Pending pending : leftover) {
+            pending.committed().completeExceptionally(stopped);
+        }
+        logger.info("Write-behind ingestion stopped");
+    }
+
+    /**
+     * @return Whether POST requests should be routed through this queue.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return When queued Todo items are acknowledged to the client.
+     */
+    public Ack getAck() {
+        return ack;
+    }
+
+    /**
+     * @return How long a client waiting for the commit is kept waiting before it is acknowledged as queued.
+     */
+    public Duration getCommitTimeout() {
+        return commitTimeout;
+    }
+
+    /**
+     * Queue a new Todo item for insertion.
+     *
+     * @param todo The Todo item; its ID, creation date and version are assigned here.
+     * @return A future completed with the Todo item once it is committed, or exceptionally if it could not be stored.
+     * @throws IllegalArgumentException If the Todo item is incomplete.
+     * @throws IngestQueueFullException If the queue is full or the writer is not running.
+     */
+    public CompletableFuture<Todo> submit(Todo todo) {
+        String problem = TodoService.validateNewTodo(todo);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        if (!running) {
+            throw new IngestQueueFullException("Write-behind ingestion is not running.");
+        }
+        todo.setId(nextId());
+        todo.setCreatedAt(new Date());
+        todo.setVersion(0);
+        Pending pending = new Pending(todo, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            // The pre-allocated ID is simply left unused
+            todoMetrics.queueFull("add");
+            throw new IngestQueueFullException("Ingestion queue is full.");
+        }
+        return pending.committed();
+    }
+
+    /**
+     * @return The number of Todo items waiting to be inserted.
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    private long nextId() {
+        idLock.lock();
+        try {
+            while (nextId > lastId) {
+                long value = todoInsertRepository.nextIdBlock();
+                // Hibernate's pooled optimizer owns the block of the sequence's initial value, so skip it
+                if (value > ID_ALLOCATION_SIZE + 1) {
+                    nextId = value - ID_ALLOCATION_SIZE + 1;
+                    lastId = value;
+                }
+            }
+            return nextId++;
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Write-behind writer interrupted with {} Todo items queued", queue.size() + batch.size());
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Write-behind writer failed to flush {} Todo items", batch.size(), e);
+                for (Pending pending : batch) {
+                    pending.committed().completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        long start = System.nanoTime();
+        try {
+            insert(batch);
+        } catch (RuntimeException e) {
+            logger.warn("Group commit of {} Todo items failed; retrying them one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                try {
+                    insert(List.of(pending));
+                } catch (RuntimeException itemFailure) {
+                    logger.error("Unable to insert Todo item with ID {}", pending.todo().getId(), itemFailure);
+                    pending.committed().completeExceptionally(itemFailure);
+                }
+            }
+        }
+        todoMetrics.ingestFlush(batch.size(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void insert(List<Pending> batch) {
+        List<Todo> todos = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            todos.add(pending.todo());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            todoInsertRepository.insertAll(todos);
+            for (Todo todo : todos) {
+                todoCounters.added(todo.getStatus(), todo.isDone());
+            }
+            todoEventLog.created(todos);
+        });
+        todoChangeTracker.changed(todos.stream().map(Todo::getId).toList());
+        for (Pending pending : batch) {
+            Todo todo = pending.todo();
+            todoCache.put(todo);
+            todoSearchIndex.index(todo);
+            dueDateScheduler.schedule(todo);
+            todoDueIndex.update(todo);
+            todoAuditLog.created(todo.getId());
+            pending.committed().complete(todo);
+        }
+        logger.debug("Inserted {} queued Todo items.", todos.size());
+    }
+
+    private record Pending(Todo todo, CompletableFuture<Todo> committed) {
+    }
+}
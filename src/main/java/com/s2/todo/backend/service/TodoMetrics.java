@@ -0,0 +1,208 @@
+package com.s2.todo.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Application-level meters of the Todo API, complementing the HTTP, repository, connection pool and Hibernate
+ * meters provided by Spring Boot.
+ */
+@Component
+public class TodoMetrics {
+
+    static final String REJECTED = "todo.requests.rejected";
+    static final String SWEEP_DURATION = "todo.sweep.duration";
+    static final String SWEEP_CHUNK_DURATION = "todo.sweep.chunk.duration";
+    static final String SWEEP_ROWS = "todo.sweep.rows";
+    static final String DUE_TRANSITIONS = "todo.due.transitions";
+    static final String DUE_LAG = "todo.due.lag";
+    static final String DUE_QUEUE_SIZE = "todo.due.queue.size";
+    static final String COUNTERS_DRIFT = "todo.counters.drift";
+    static final String INGEST_QUEUE_SIZE = "todo.ingest.queue.size";
+    static final String INGEST_FLUSH_DURATION = "todo.ingest.flush.duration";
+    static final String INGEST_BATCH_SIZE = "todo.ingest.batch.size";
+    static final String FEED_EVENTS = "todo.feed.events";
+    static final String FEED_SUBSCRIBERS = "todo.feed.subscribers";
+    static final String ARCHIVE_BATCH_DURATION = "todo.archive.batch.duration";
+    static final String ARCHIVE_ROWS = "todo.archive.rows";
+
+    private final MeterRegistry registry;
+    private final Timer sweepChunkTimer;
+    private final Timer dueLagTimer;
+    private final Timer ingestFlushTimer;
+    private final DistributionSummary ingestBatchSize;
+    private final Timer archiveBatchTimer;
+
+    public TodoMetrics(ObjectProvider<MeterRegistry> registry) {
+        // Fall back to the global registry in slices without metrics auto-configuration
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.sweepChunkTimer = Timer.builder(SWEEP_CHUNK_DURATION)
+            .description("Latency of a single past due sweep chunk")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(this.registry);
+        this.dueLagTimer = Timer.builder(DUE_LAG)
+            .description("Delay between the earliest due date/time of a batch and its transition to PAST_DUE")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(this.registry);
+        this.ingestFlushTimer = Timer.builder(INGEST_FLUSH_DURATION)
+            .description("Latency of a write-behind group commit")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(this.registry);
+        this.ingestBatchSize = DistributionSummary.builder(INGEST_BATCH_SIZE)
+            .description("Todo items inserted by a write-behind group commit")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(this.registry);
+        this.archiveBatchTimer = Timer.builder(ARCHIVE_BATCH_DURATION)
+            .description("Latency of a single archival batch")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(this.registry);
+    }
+
+    /**
+     * Count a request rejected because the Todo item does not exist.
+     *
+     * @param operation The rejected operation.
+     */
+    public void notFound(String operation) {
+        registry.counter(REJECTED, "operation", operation, "reason", "not_found").increment();
+    }
+
+    /**
+     * Count a request rejected because the Todo item is past due.
+     *
+     * @param operation The rejected operation.
+     */
+    public void forbidden(String operation) {
+        registry.counter(REJECTED, "operation", operation, "reason", "forbidden").increment();
+    }
+
+    /**
+     * Count a request rejected because the write-behind ingestion queue is full.
+     *
+     * @param operation The rejected operation.
+     */
+    public void queueFull(String operation) {
+        registry.counter(REJECTED, "operation", operation, "reason", "queue_full").increment();
+    }
+
+    /**
+     * Record a committed past due sweep chunk.
+     *
+     * @param duration The latency of the chunk.
+     * @param rows     The number of updated rows.
+     */
+    public void sweepChunk(Duration duration, long rows) {
+        sweepChunkTimer.record(duration);
+        registry.counter(SWEEP_ROWS).increment(rows);
+    }
+
+    /**
+     * Record a completed past due sweep.
+     *
+     * @param report The report of the sweep.
+     */
+    public void sweep(SweepReport report) {
+        registry.timer(SWEEP_DURATION, "resumed", String.valueOf(report.resumed()))
+            .record(Duration.ofMillis(report.elapsedMillis()));
+    }
+
+    /**
+     * Record a batch of Todo items moved to PAST_DUE by the due date scheduler.
+     *
+     * @param rows The number of updated rows.
+     * @param lag  The delay between the earliest due date/time of the batch and its transition.
+     */
+    public void dueTransitions(long rows, Duration lag) {
+        dueLagTimer.record(lag);
+        registry.counter(DUE_TRANSITIONS).increment(rows);
+    }
+
+    /**
+     * Expose the number of entries held by the due date scheduler.
+     *
+     * @param size Supplier of the number of entries.
+     */
+    public void monitorDueQueue(Supplier<Number> size) {
+        Gauge.builder(DUE_QUEUE_SIZE, size).description("Todo items tracked by the due date scheduler")
+            .register(registry);
+    }
+
+    /**
+     * Record a write-behind group commit.
+     *
+     * @param items    The number of Todo items in the batch.
+     * @param duration The latency of the flush, including retries of single items.
+     */
+    public void ingestFlush(int items, Duration duration) {
+        ingestFlushTimer.record(duration);
+        ingestBatchSize.record(items);
+    }
+
+    /**
+     * Expose the number of Todo items waiting in the write-behind ingestion queue.
+     *
+     * @param size Supplier of the number of queued items.
+     */
+    public void monitorIngestQueue(Supplier<Number> size) {
+        Gauge.builder(INGEST_QUEUE_SIZE, size).description("Todo items waiting for a write-behind group commit")
+            .register(registry);
+    }
+
+    /**
+     * Count events released to the change feed.
+     *
+     * @param events The number of released events.
+     */
+    public void feedEvents(int events) {
+        registry.counter(FEED_EVENTS).increment(events);
+    }
+
+    /**
+     * Expose the number of clients streaming the change feed.
+     *
+     * @param size Supplier of the number of subscribers.
+     */
+    public void monitorFeedSubscribers(Supplier<Number> size) {
+        Gauge.builder(FEED_SUBSCRIBERS, size).description("Clients streaming the change feed")
+            .register(registry);
+    }
+
+    /**
+     * Record a committed archival batch.
+     *
+     * @param duration The latency of the batch.
+     * @param rows     The number of archived rows.
+     */
+    public void archiveBatch(Duration duration, long rows) {
+        archiveBatchTimer.record(duration);
+        registry.counter(ARCHIVE_ROWS).increment(rows);
+    }
+
+    /**
+     * Record a reconciliation of the Todo counters with the database.
+     *
+     * @param drift The sum of the absolute corrections made to the counters.
+     */
+    public void countersReconciled(long drift) {
+        registry.counter(COUNTERS_DRIFT).increment(drift);
+    }
+
+    /**
+     * Expose the size, hit, miss and eviction meters of a cache.
+     *
+     * @param cache The cache.
+     * @param name  The name of the cache.
+     */
+    public void monitor(Cache<?, ?> cache, String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+}
@@ -0,0 +1,525 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Embedded Lucene inverted index over the descriptions of Todo items.
+ * <p>
+ * The index lives in memory and is rebuilt from the database at startup, in parallel over ID ranges, into a fresh
+ * index that replaces the current one once complete, so searches never see a partial index. Afterwards it is kept in
+ * sync by the write paths: descriptions are re-indexed on save and update, while status changes only rewrite the
+ * status doc value used for filtering. Results are ranked by relevance, with the ID as tie-breaker so that pages can
+ * be walked with a keyset cursor. Searches see every change reported before they start.
+ */
+@Service
+public class TodoSearchIndex {
+
+    static final int MAX_TERMS = 32;
+
+    private static final String ID = "id";
+    // Indexed as a point as well, for the ID range lookups of bulk status changes
+    private static final String ID_POINT = "idPoint";
+    private static final String DESCRIPTION = "description";
+    private static final String STATUS = "status";
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG));
+    private static final Sort BY_ID = new Sort(new SortField(ID, SortField.Type.LONG));
+    private static final int REBUILD_CHUNK_SIZE = 10_000;
+
+    private final TodoRepository todoRepository;
+    private final boolean enabled;
+    private final int rebuildThreads;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    // Replaced as a whole by a rebuild
+    private volatile Index index;
+    // Set by writes, so searches only reopen the reader when something changed
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // IDs written while a rebuild is running; they are re-indexed from the database once it completes
+    private volatile Set<Long> changedDuringRebuild;
+    private final Logger logger = LoggerFactory.getLogger(TodoSearchIndex.class);
+
+    public TodoSearchIndex(TodoRepository todoRepository,
+                           @Value("${todo.search.enabled:true}") boolean enabled,
+                           @Value("${todo.search.rebuild-threads:0}") int rebuildThreads) {
+        this.todoRepository = todoRepository;
+        this.enabled = enabled;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+        try {
+            this.index = Index.create(analyzer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Build the index once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /**
+     * Index a saved Todo item, replacing any previous version of it.
+     *
+     * @param todo The Todo item as it was persisted.
+     */
+    public void index(Todo todo) {
+        if (!enabled) {
+            return;
+        }
+        track(todo.getId());
+        try {
+            index.writer().updateDocument(idTerm(todo.getId()),
+                document(todo.getId(), todo.getDescription(), todo.getStatus()));
+            changed.set(true);
+        } catch (AlreadyClosedException e) {
+            replacedDuringWrite(todo.getId());
+        } catch (IOException e) {
+            logger.warn("Unable to index Todo item with ID {}; a rebuild will repair the index", todo.getId(), e);
+        }
+    }
+
+    /**
+     * Index the current state of a Todo item read from the database, replacing any previous version of it.
+     *
+     * @param todo The Todo item.
+     */
+    public void index(TodoSummary todo) {
+        if (!enabled) {
+            return;
+        }
+        track(todo.id());
+        try {
+            index.writer().updateDocument(idTerm(todo.id()), document(todo.id(), todo.description(), todo.status()));
+            changed.set(true);
+        } catch (AlreadyClosedException e) {
+            replacedDuringWrite(todo.id());
+        } catch (IOException e) {
+            logger.warn("Unable to index Todo item with ID {}; a rebuild will repair the index", todo.id(), e);
+        }
+    }
+
+    /**
+     * Record the new status of an indexed Todo item.
+     *
+     * @param id     The ID of the Todo item.
+     * @param status The new status of the Todo item.
+     */
+    public void updateStatus(long id, Todo.Status status) {
+        if (!enabled) {
+            return;
+        }
+        track(id);
+        try {
+            index.writer().updateNumericDocValue(idTerm(id), STATUS, ordinal(status));
+            changed.set(true);
+        } catch (AlreadyClosedException e) {
+            replacedDuringWrite(id);
+        } catch (IOException e) {
+            logger.warn("Unable to index the status of Todo item with ID {}; a rebuild will repair the index", id, e);
+        }
+    }
+
+    /**
+     * Remove Todo items that left the todo table, e.g. by archival.
+     *
+     * @param ids The IDs of the Todo items.
+     */
+    public void remove(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(this::track);
+        try {
+            index.writer().deleteDocuments(ids.stream().map(TodoSearchIndex::idTerm).toArray(Term[]::new));
+            changed.set(true);
+        } catch (AlreadyClosedException e) {
+            logger.debug("The search index was rebuilt while removing {} Todo items", ids.size());
+        } catch (IOException e) {
+            logger.warn("Unable to remove {} Todo items from the index; a rebuild will repair it", ids.size(), e);
+        }
+    }
+
+    /**
+     * Record Todo items a bulk update moved to PAST_DUE.
+     *
+     * @param movedIds The IDs of exactly the moved Todo items.
+     */
+    public void pastDue(Collection<Long> movedIds) {
+        if (enabled) {
+            movedIds.forEach(id -> updateStatus(id, Todo.Status.PAST_DUE));
+        }
+    }
+
+    /**
+     * Record which of the given Todo items a bulk update moved to PAST_DUE.
+     *
+     * @param candidateIds The IDs of the Todo items the bulk update may have changed.
+     */
+    public void markPastDue(Collection<Long> candidateIds) {
+        if (enabled && !candidateIds.isEmpty()) {
+            todoRepository.findIdsByIdInAndStatus(candidateIds, Todo.Status.PAST_DUE)
+                .forEach(id -> updateStatus(id, Todo.Status.PAST_DUE));
+        }
+    }
+
+    /**
+     * Record which Todo items within an ID range a bulk update moved to PAST_DUE. Only the items the index still
+     * holds as "not done" are looked up, so items that went past due earlier are neither re-read nor rewritten.
+     *
+     * @param fromId The lower bound of the ID range (exclusive).
+     * @param toId   The upper bound of the ID range (inclusive).
+     */
+    public void markPastDueInRange(long fromId, long toId) {
+        if (!enabled || fromId >= toId) {
+            return;
+        }
+        Query notDoneInRange = new BooleanQuery.Builder()
+            .add(LongPoint.newRangeQuery(ID_POINT, fromId + 1, toId), BooleanClause.Occur.FILTER)
+            .add(NumericDocValuesField.newSlowExactQuery(STATUS, ordinal(Todo.Status.NOT_DONE)),
+                BooleanClause.Occur.FILTER)
+            .build();
+        List<Long> candidateIds = new ArrayList<>();
+        withSearcher(searcher -> {
+            int count = searcher.count(notDoneInRange);
+            if (count > 0) {
+                for (ScoreDoc hit : searcher.search(notDoneInRange, count, BY_ID).scoreDocs) {
+                    candidateIds.add((Long) ((FieldDoc) hit).fields[0]);
+                }
+            }
+            return null;
+        });
+        markPastDue(candidateIds);
+    }
+
+    /**
+     * Search Todo items by description. Words are matched in any order and all of them must match; a word ending
+     * with {@code *} matches as a prefix.
+     *
+     * @param text   The search text.
+     * @param status If given, only Todo items with this status match.
+     * @param after  The cursor of the last hit of the previous page, or null for the first page.
+     * @param size   The number of hits per page.
+     * @return The page of hits, best first.
+     * @throws IllegalArgumentException If the search text has more than {@value #MAX_TERMS} terms.
+     */
+    public SearchHits search(String text, Todo.Status status, SearchCursor after, int size) {
+        Query query = parse(text);
+        if (!enabled || query == null) {
+            return new SearchHits(List.of(), false);
+        }
+        if (status != null) {
+            query = new BooleanQuery.Builder()
+                .add(query, BooleanClause.Occur.MUST)
+                .add(NumericDocValuesField.newSlowExactQuery(STATUS, ordinal(status)), BooleanClause.Occur.FILTER)
+                .build();
+        }
+
+        Query filtered = query;
+        return withSearcher(searcher -> {
+            // One extra hit tells whether another page follows
+            TopFieldDocs top = after == null
+                ? searcher.search(filtered, size + 1, RANKING, true)
+                : searcher.searchAfter(new FieldDoc(Integer.MAX_VALUE, Float.NaN,
+                    new Object[] {after.score(), after.id()}), filtered, size + 1, RANKING, true);
+            List<SearchCursor> hits = new ArrayList<>(Math.min(top.scoreDocs.length, size));
+            for (int i = 0; i < top.scoreDocs.length && i < size; i++) {
+                FieldDoc hit = (FieldDoc) top.scoreDocs[i];
+                hits.add(new SearchCursor((Float) hit.fields[0], (Long) hit.fields[1]));
+            }
+            return new SearchHits(hits, top.scoreDocs.length > size);
+        });
+    }
+
+    /**
+     * Rebuild the index from the database, indexing ID ranges in parallel into a fresh index that then replaces the
+     * current one; searches keep using the current index meanwhile.
+     *
+     * @return The number of indexed Todo items.
+     */
+    public long rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        rebuildLock.lock();
+        Index rebuilt = null;
+        try {
+            long start = System.nanoTime();
+            changedDuringRebuild = ConcurrentHashMap.newKeySet();
+            rebuilt = Index.create(analyzer);
+            long indexed = indexRanges(rebuilt.writer());
+            rebuilt.searcherManager().maybeRefreshBlocking();
+
+            // Writes from now on go to the new index; earlier ones went to the old index and are re-read below
+            Index replaced = index;
+            index = rebuilt;
+            Set<Long> written = changedDuringRebuild;
+            changedDuringRebuild = null;
+            replaced.close();
+            // Items written meanwhile may have been indexed from a stale read; updateDocument also drops duplicates
+            reindex(written);
+
+            changed.set(true);
+            logger.info("Rebuilt the search index with {} Todo items in {} ms using {} threads", indexed,
+                (System.nanoTime() - start) / 1_000_000, rebuildThreads);
+            return indexed;
+        } catch (IOException e) {
+            closeQuietly(rebuilt);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(rebuilt);
+            throw e;
+        } finally {
+            changedDuringRebuild = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of Todo items visible to searches.
+     */
+    public int size() {
+        changed.set(true);
+        return withSearcher(searcher -> searcher.getIndexReader().numDocs());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        index.close();
+    }
+
+    // Run a read against an up-to-date searcher of the current index, retrying if a rebuild replaced it meanwhile
+    private <T> T withSearcher(SearcherFunction<T> read) {
+        while (true) {
+            Index current = index;
+            try {
+                if (changed.getAndSet(false)) {
+                    current.searcherManager().maybeRefreshBlocking();
+                }
+                IndexSearcher searcher = current.searcherManager().acquire();
+                try {
+                    return read.apply(searcher);
+                } finally {
+                    current.searcherManager().release(searcher);
+                }
+            } catch (AlreadyClosedException e) {
+                if (current == index) {
+                    throw e;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void replacedDuringWrite(long id) {
+        // The write went to an index a rebuild has just replaced; the rebuild re-reads the item from the database
+        logger.debug("The search index was rebuilt while writing Todo item with ID {}", id);
+    }
+
+    private void closeQuietly(Index rebuilt) {
+        if (rebuilt != null && rebuilt != index) {
+            try {
+                rebuilt.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close an abandoned search index", e);
+            }
+        }
+    }
+
+    private long indexRanges(IndexWriter indexWriter) throws IOException {
+        Long minId = todoRepository.findMinId();
+        Long maxId = todoRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        long span = maxId - minId + 1;
+        int parts = (int) Math.max(1, Math.min(rebuildThreads, (span + REBUILD_CHUNK_SIZE - 1) / REBUILD_CHUNK_SIZE));
+        ExecutorService executor = Executors.newFixedThreadPool(parts);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(parts);
+            for (int part = 0; part < parts; part++) {
+                long fromId = minId - 1 + span * part / parts;
+                long toId = minId - 1 + span * (part + 1) / parts;
+                futures.add(executor.submit(() -> indexRange(indexWriter, fromId, toId)));
+            }
+            long indexed = 0;
+            for (Future<Long> future : futures) {
+                indexed += future.get();
+            }
+            return indexed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the search index", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Unable to rebuild the search index", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long indexRange(IndexWriter indexWriter, long fromId, long toId) throws IOException {
+        long indexed = 0;
+        for (long chunkFrom = fromId; chunkFrom < toId; chunkFrom += REBUILD_CHUNK_SIZE) {
+            long chunkTo = Math.min(toId, chunkFrom + REBUILD_CHUNK_SIZE);
+            for (TodoSummary todo : todoRepository.findSummariesInIdRange(chunkFrom, chunkTo)) {
+                indexWriter.addDocument(document(todo.id(), todo.description(), todo.status()));
+                indexed++;
+            }
+        }
+        return indexed;
+    }
+
+    private void reindex(Set<Long> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        IndexWriter indexWriter = index.writer();
+        Map<Long, TodoSummary> current = todoRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(TodoSummary::id, Function.identity()));
+        for (Long id : ids) {
+            TodoSummary todo = current.get(id);
+            if (todo == null) {
+                indexWriter.deleteDocuments(idTerm(id));
+            } else {
+                indexWriter.updateDocument(idTerm(id), document(id, todo.description(), todo.status()));
+            }
+        }
+    }
+
+    private Query parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        int terms = 0;
+        for (String word : text.trim().split("\\s+")) {
+            boolean prefix = word.endsWith("*");
+            List<String> tokens = analyze(prefix ? word.substring(0, word.length() - 1) : word);
+            for (int i = 0; i < tokens.size(); i++) {
+                if (++terms > MAX_TERMS) {
+                    throw new IllegalArgumentException("Search text must not exceed " + MAX_TERMS + " terms.");
+                }
+                Term term = new Term(DESCRIPTION, tokens.get(i));
+                boolean last = i == tokens.size() - 1;
+                query.add(prefix && last ? new PrefixQuery(term) : new TermQuery(term), BooleanClause.Occur.MUST);
+            }
+        }
+        return terms == 0 ? null : query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(DESCRIPTION, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private void track(long id) {
+        Set<Long> written = changedDuringRebuild;
+        if (written != null) {
+            written.add(id);
+        }
+    }
+
+    private static Document document(long id, String description, Todo.Status status) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(id), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, id));
+        document.add(new LongPoint(ID_POINT, id));
+        document.add(new TextField(DESCRIPTION, description == null ? "" : description, Field.Store.NO));
+        document.add(new NumericDocValuesField(STATUS, ordinal(status)));
+        return document;
+    }
+
+    private static Term idTerm(long id) {
+        return new Term(ID, Long.toString(id));
+    }
+
+    private static long ordinal(Todo.Status status) {
+        return status == null ? -1 : status.ordinal();
+    }
+
+    @FunctionalInterface
+    private interface SearcherFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+
+    // An in-memory Lucene index with its writer and the searchers over it
+    private record Index(IndexWriter writer, SearcherManager searcherManager) {
+
+        private static Index create(Analyzer analyzer) throws IOException {
+            IndexWriter writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            return new Index(writer, new SearcherManager(writer, null));
+        }
+
+        private void close() throws IOException {
+            searcherManager.close();
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import io.micrometer.observation.annotation.Observed;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for searching Todo items by text.
+ * <p>
+ * The {@link TodoSearchIndex} ranks the matching IDs; the page of Todo items is then read from the database in one
+ * query, so results always show the current state, and items whose status no longer matches the filter are dropped.
+ */
+@Service
+@Observed(name = "todo.service")
+public class TodoSearchService {
+
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoRepository todoRepository;
+    private final Logger logger = LoggerFactory.getLogger(TodoSearchService.class);
+
+    public TodoSearchService(TodoSearchIndex todoSearchIndex, TodoRepository todoRepository) {
+        this.todoSearchIndex = todoSearchIndex;
+        this.todoRepository = todoRepository;
+    }
+
+    /**
+     * Search Todo items by description, best matches first.
+     *
+     * @param text     The search text; words ending with {@code *} match as prefixes.
+     * @param status   If given, only Todo items with this status are returned.
+     * @param after    The cursor of the last hit of the previous page, or null for the first page.
+     * @param pageSize The number of hits per page.
+     * @return The page of matching Todo items, with the cursor of the next page.
+     * @throws IllegalArgumentException If the search text has too many terms.
+     */
+    public CursorSlice<TodoSummary> search(String text, Todo.Status status, SearchCursor after, int pageSize) {
+        logger.debug("Searching Todo items (text={}, status={}, after={}, pageSize={})", text, status, after,
+            pageSize);
+        SearchHits hits = todoSearchIndex.search(text, status, after, pageSize);
+        if (hits.hits().isEmpty()) {
+            return new CursorSlice<>(List.of(), pageSize, 0, false, null);
+        }
+
+        List<Long> ids = hits.hits().stream().map(SearchCursor::id).toList();
+        Map<Long, TodoSummary> todos = todoRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(TodoSummary::id, Function.identity()));
+        List<TodoSummary> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TodoSummary todo = todos.get(id);
+            if (todo != null && (status == null || todo.status() == status)) {
+                content.add(todo);
+            }
+        }
+
+        String next = hits.hasNext() ? hits.hits().get(hits.hits().size() - 1).encode() : null;
+        logger.debug("Found {} Todo items.", content.size());
+        return new CursorSlice<>(content, pageSize, content.size(), hits.hasNext(), next);
+    }
+}
@@ -1,30 +1,70 @@
 package com.s2.todo.backend.service;
 
+import com.s2.todo.backend.dto.BatchItemResult;
+import com.s2.todo.backend.dto.StatusChange;
+import com.s2.todo.backend.dto.TodoStats;
+import com.s2.todo.backend.dto.TodoSummary;
 import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoArchiveRepository;
 import com.s2.todo.backend.repository.TodoRepository;
-import java.time.LocalDateTime;
+import io.micrometer.observation.annotation.Observed;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service class for managing Todo items.
  */
 @Service
+@Observed(name = "todo.service")
 public class TodoService {
 
     private final TodoRepository todoRepository;
+    private final PastDueSweeper pastDueSweeper;
+    private final TodoCache todoCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoAuditLog todoAuditLog;
+    private final DueDateScheduler dueDateScheduler;
+    private final TodoChangeTracker todoChangeTracker;
+    private final TodoCounters todoCounters;
+    private final TodoSearchIndex todoSearchIndex;
+    private final TodoEventLog todoEventLog;
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final TodoDueIndex todoDueIndex;
     private final Logger logger = LoggerFactory.getLogger(TodoService.class);
 
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, PastDueSweeper pastDueSweeper, TodoCache todoCache,
+                       PlatformTransactionManager transactionManager, TodoAuditLog todoAuditLog,
+                       DueDateScheduler dueDateScheduler, TodoChangeTracker todoChangeTracker,
+                       TodoCounters todoCounters, TodoSearchIndex todoSearchIndex, TodoEventLog todoEventLog,
+                       TodoArchiveRepository todoArchiveRepository, TodoDueIndex todoDueIndex) {
         this.todoRepository = todoRepository;
+        this.pastDueSweeper = pastDueSweeper;
+        this.todoCache = todoCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.todoAuditLog = todoAuditLog;
+        this.dueDateScheduler = dueDateScheduler;
+        this.todoChangeTracker = todoChangeTracker;
+        this.todoCounters = todoCounters;
+        this.todoSearchIndex = todoSearchIndex;
+        this.todoEventLog = todoEventLog;
+        this.todoArchiveRepository = todoArchiveRepository;
+        this.todoDueIndex = todoDueIndex;
     }
 
     /**
@@ -34,12 +74,154 @@ public class TodoService {
      * @return The saved Todo.
      */
     public Todo save(Todo todo) {
-        logger.info("Saving a Todo item: {}", todo);
-        Todo savedTodo = todoRepository.save(todo);
-        logger.info("Saved Todo item with ID: {}", savedTodo.getId());
+        // The entity is only rendered when DEBUG is enabled
+        logger.debug("Saving a Todo item: {}", todo);
+        boolean isNew = todo.getId() == 0;
+        Todo savedTodo = transactionTemplate.execute(status -> {
+            // The merge in save() reuses the entity read here, so the previous state costs no extra query; a
+            // concurrent save of the same item may skew the counters until the scheduled reconcile
+            Todo previous = isNew ? null : todoRepository.findById(todo.getId()).orElse(null);
+            Todo.Status previousStatus = previous == null ? null : previous.getStatus();
+            boolean previousDone = previous != null && previous.isDone();
+            Todo saved = todoRepository.save(todo);
+            if (previousStatus == null) {
+                todoCounters.added(saved.getStatus(), saved.isDone());
+            } else {
+                todoCounters.moved(previousStatus, previousDone, saved.getStatus(), saved.isDone());
+            }
+            if (isNew) {
+                todoEventLog.created(List.of(saved));
+            } else {
+                todoEventLog.updated(saved);
+            }
+            return saved;
+        });
+        todoChangeTracker.changed(savedTodo.getId());
+        todoCache.put(savedTodo);
+        todoSearchIndex.index(savedTodo);
+        dueDateScheduler.schedule(savedTodo);
+        todoDueIndex.update(savedTodo);
+        if (isNew) {
+            todoAuditLog.created(savedTodo.getId());
+        } else {
+            todoAuditLog.updated(savedTodo.getId());
+        }
         return savedTodo;
     }
 
+    /**
+     * Save a batch of new Todo items in a single transaction.
+     * <p>
+     * Invalid items are reported and skipped; the valid ones are inserted together using JDBC batching.
+     *
+     * @param todos The Todo items to be created.
+     * @return The result for each item, in request order.
+     */
+    public List<BatchItemResult> saveAll(List<Todo> todos) {
+        logger.debug("Saving a batch of {} Todo items.", todos.size());
+        BatchItemResult[] results = new BatchItemResult[todos.size()];
+        List<Todo> valid = new ArrayList<>(todos.size());
+        List<Integer> validIndexes = new ArrayList<>(todos.size());
+        for (int i = 0; i < todos.size(); i++) {
+            Todo todo = todos.get(i);
+            String problem = validateNewTodo(todo);
+            if (problem != null) {
+                results[i] = BatchItemResult.rejected(i, null, BatchItemResult.Outcome.INVALID, problem);
+                continue;
+            }
+            todo.setId(0); // always insert, never merge into an existing item
+            valid.add(todo);
+            validIndexes.add(i);
+        }
+
+        List<Todo> savedTodos = transactionTemplate.execute(status -> {
+            List<Todo> saved = todoRepository.saveAll(valid);
+            for (Todo savedTodo : saved) {
+                todoCounters.added(savedTodo.getStatus(), savedTodo.isDone());
+            }
+            todoEventLog.created(saved);
+            return saved;
+        });
+        if (!savedTodos.isEmpty()) {
+            todoChangeTracker.changed(savedTodos.stream().map(Todo::getId).toList());
+        }
+
+        for (int i = 0; i < savedTodos.size(); i++) {
+            Todo savedTodo = savedTodos.get(i);
+            todoCache.put(savedTodo);
+            todoSearchIndex.index(savedTodo);
+            dueDateScheduler.schedule(savedTodo);
+            todoDueIndex.update(savedTodo);
+            todoAuditLog.created(savedTodo.getId());
+            int index = validIndexes.get(i);
+            results[index] = BatchItemResult.applied(index, savedTodo.getId(), BatchItemResult.Outcome.CREATED);
+        }
+        logger.debug("Saved {} of {} Todo items in the batch.", savedTodos.size(), todos.size());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Update the status of a batch of Todo items in a single transaction.
+     * <p>
+     * All items are loaded with one query; past due items cannot be marked as "not done", as with the single-item
+     * endpoint.
+     *
+     * @param changes The status changes to apply.
+     * @return The result for each change, in request order.
+     */
+    public List<BatchItemResult> updateStatuses(List<StatusChange> changes) {
+        logger.debug("Updating the status of a batch of {} Todo items.", changes.size());
+        List<Long> ids = changes.stream()
+            .map(StatusChange::id)
+            .filter(id -> id != null)
+            .distinct()
+            .toList();
+
+        List<BatchItemResult> results = new ArrayList<>(changes.size());
+        List<Todo> updatedTodos = transactionTemplate.execute(status -> {
+            List<Todo> updated = new ArrayList<>(changes.size());
+            Map<Long, Todo> todos = todoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+            for (int i = 0; i < changes.size(); i++) {
+                StatusChange change = changes.get(i);
+                Todo todo = change.id() == null ? null : todos.get(change.id());
+                if (change.id() == null || change.status() == null || change.status() == Todo.Status.PAST_DUE) {
+                    results.add(BatchItemResult.rejected(i, change.id(), BatchItemResult.Outcome.INVALID,
+                        "An ID and a status of DONE or NOT_DONE are required."));
+                } else if (todo == null) {
+                    results.add(BatchItemResult.rejected(i, change.id(), BatchItemResult.Outcome.NOT_FOUND,
+                        "Todo item not found."));
+                } else if (todo.getStatus() == Todo.Status.PAST_DUE && change.status() == Todo.Status.NOT_DONE) {
+                    results.add(BatchItemResult.rejected(i, change.id(), BatchItemResult.Outcome.FORBIDDEN,
+                        "Cannot mark past due item as not done."));
+                } else {
+                    todoCounters.moved(todo.getStatus(), todo.isDone(), change.status(),
+                        change.status() == Todo.Status.DONE);
+                    applyStatus(todo, change.status());
+                    updated.add(todo);
+                    results.add(BatchItemResult.applied(i, change.id(), BatchItemResult.Outcome.UPDATED));
+                }
+            }
+            // Managed entities are flushed as batched, ordered UPDATEs, so the change feed sees their new versions
+            List<Todo> saved = todoRepository.saveAllAndFlush(updated);
+            todoEventLog.statusChanged(saved);
+            return saved;
+        });
+        if (!updatedTodos.isEmpty()) {
+            todoChangeTracker.changed(updatedTodos.stream().map(Todo::getId).toList());
+        }
+
+        for (Todo updatedTodo : updatedTodos) {
+            todoCache.put(updatedTodo);
+            todoSearchIndex.updateStatus(updatedTodo.getId(), updatedTodo.getStatus());
+            dueDateScheduler.schedule(updatedTodo);
+            todoDueIndex.update(updatedTodo);
+            todoAuditLog.statusChanged(updatedTodo.getId(), updatedTodo.getStatus());
+        }
+        logger.debug("Updated the status of a batch of {} Todo items.", changes.size());
+        return results;
+    }
+
     /**
      * Mark a Todo item as "done".
      *
@@ -47,7 +229,7 @@ public class TodoService {
      * @return The Todo marked as "done" if found, or null if the Todo item does not exist.
      */
     public Todo markAsDone(Long id) {
-        logger.info("Marking Todo item with ID {} as 'done'", id);
+        logger.debug("Marking Todo item with ID {} as 'done'", id);
         return updateStatus(id, Todo.Status.DONE);
     }
 
@@ -56,93 +238,288 @@ public class TodoService {
      *
      * @param id     The ID of the Todo item to be marked as "not done".
      * @param status The Status of the Todo item to update to.
-     * @return The Todo marked as new status if found, or null if the Todo item does not exist.
+     * @return The Todo marked as new status if found, or null if the Todo item does not exist or a past due item
+     * was to be marked as "not done".
      */
     public Todo updateStatus(Long id, Todo.Status status) {
-        Optional<Todo> optionalTodo = todoRepository.findById(id);
-        if (optionalTodo.isPresent()) {
-            Todo todo = optionalTodo.get();
-            todo.setStatus(status);
-            if (status == Todo.Status.DONE) {
-                todo.setMarkedAsDoneDateTime(new Date());
-                todo.setDone(true);
-            } else {
-                todo.setMarkedAsDoneDateTime(null);
-                todo.setDone(false);
+        UpdateResult result = changeStatus(id, status, null);
+        return result.outcome() == UpdateResult.Outcome.UPDATED ? result.todo() : null;
+    }
+
+    /**
+     * Change the status of a Todo item with a single conditional UPDATE, guarded by the status it was read with so the
+     * counters move by the transition that actually happened. Past due items cannot be marked as "not done".
+     *
+     * @param id              The ID of the Todo item.
+     * @param status          The Status of the Todo item to update to.
+     * @param expectedVersion The version the Todo item must still have, or null to skip the check.
+     * @return The outcome of the update and the current state of the Todo item.
+     */
+    public UpdateResult changeStatus(Long id, Todo.Status status, Long expectedVersion) {
+        logger.debug("Updating status for Todo item with ID {}: {}", id, status);
+        boolean done = status == Todo.Status.DONE;
+        Todo.Status excludedStatus = status == Todo.Status.NOT_DONE ? Todo.Status.PAST_DUE : null;
+        UpdateResult result = transactionTemplate.execute(tx -> {
+            while (true) {
+                Todo current = todoRepository.findById(id).orElse(null);
+                if (current == null) {
+                    return new UpdateResult(UpdateResult.Outcome.NOT_FOUND, null);
+                }
+                if (excludedStatus != null && current.getStatus() == excludedStatus) {
+                    return new UpdateResult(UpdateResult.Outcome.FORBIDDEN, current);
+                }
+                if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                    return new UpdateResult(UpdateResult.Outcome.PRECONDITION_FAILED, current);
+                }
+                Date markedAsDoneDateTime = done ? new Date() : null;
+                int rows = todoRepository.updateStatusConditionally(id, current.getStatus(), status, done,
+                    markedAsDoneDateTime, expectedVersion);
+                if (rows > 0) {
+                    todoCounters.moved(current.getStatus(), current.isDone(), status, done);
+                    Todo updated = current.toBuilder()
+                        .status(status)
+                        .isDone(done)
+                        .markedAsDoneDateTime(markedAsDoneDateTime)
+                        .version(current.getVersion() + 1)
+                        .build();
+                    todoEventLog.statusChanged(List.of(updated));
+                    return new UpdateResult(UpdateResult.Outcome.UPDATED, updated);
+                }
+                // The item changed since it was read, so it is read again and the checks start over
             }
-            logger.info("Updating status for Todo item with ID {}: {}", id, status);
-            Todo updatedTodo = todoRepository.save(todo);
-            logger.info("Updated status for Todo item with ID {}: {}", id, updatedTodo.getStatus());
-            return updatedTodo;
+        });
+        refreshCache(id, result);
+        if (result.outcome() == UpdateResult.Outcome.UPDATED) {
+            todoChangeTracker.changed(id);
+            todoSearchIndex.updateStatus(id, status);
+            dueDateScheduler.schedule(result.todo());
+            todoDueIndex.update(result.todo());
+            todoAuditLog.statusChanged(id, status);
+        } else {
+            logger.warn("Unable to update status for Todo item with ID {}: {}", id, result.outcome());
         }
-        logger.warn("Todo item with ID {} not found. Unable to update status.", id);
-        return null; // Handle not found case
+        return result;
     }
 
     /**
-     * Get a list of all Todo items.
+     * Update the description of a Todo item with a single conditional UPDATE, unless it is past due.
+     *
+     * @param id              The ID of the Todo item.
+     * @param description     The new description.
+     * @param expectedVersion The version the Todo item must still have, or null to skip the check.
+     * @return The outcome of the update and the current state of the Todo item.
+     */
+    public UpdateResult updateDescription(Long id, String description, Long expectedVersion) {
+        logger.debug("Updating description for Todo item with ID {}", id);
+        UpdateResult result = transactionTemplate.execute(tx -> {
+            int rows = todoRepository.updateDescriptionConditionally(id, description, Todo.Status.PAST_DUE,
+                expectedVersion);
+            UpdateResult updateResult = toUpdateResult(id, rows, Todo.Status.PAST_DUE);
+            if (updateResult.outcome() == UpdateResult.Outcome.UPDATED) {
+                todoEventLog.descriptionUpdated(updateResult.todo());
+            }
+            return updateResult;
+        });
+        refreshCache(id, result);
+        if (result.outcome() == UpdateResult.Outcome.UPDATED) {
+            todoChangeTracker.changed(id);
+            todoSearchIndex.index(result.todo());
+            todoAuditLog.updated(id);
+        } else {
+            logger.warn("Unable to update description for Todo item with ID {}: {}", id, result.outcome());
+        }
+        return result;
+    }
+
+    private UpdateResult toUpdateResult(long id, int rows, Todo.Status excludedStatus) {
+        // Only the item's current state is read back; the affected-row count already decided the update
+        Todo todo = todoRepository.findById(id).orElse(null);
+        if (todo == null) {
+            return new UpdateResult(UpdateResult.Outcome.NOT_FOUND, null);
+        }
+        if (rows > 0) {
+            return new UpdateResult(UpdateResult.Outcome.UPDATED, todo);
+        }
+        if (excludedStatus != null && todo.getStatus() == excludedStatus) {
+            return new UpdateResult(UpdateResult.Outcome.FORBIDDEN, todo);
+        }
+        return new UpdateResult(UpdateResult.Outcome.PRECONDITION_FAILED, todo);
+    }
+
+    private void refreshCache(Long id, UpdateResult result) {
+        if (result.todo() == null) {
+            todoCache.evict(id);
+        } else {
+            todoCache.put(result.todo());
+        }
+    }
+
+    private static void applyStatus(Todo todo, Todo.Status status) {
+        todo.setStatus(status);
+        if (status == Todo.Status.DONE) {
+            todo.setMarkedAsDoneDateTime(new Date());
+            todo.setDone(true);
+        } else {
+            todo.setMarkedAsDoneDateTime(null);
+            todo.setDone(false);
+        }
+    }
+
+    /**
+     * Check that a new Todo item is complete, as the batch, write-behind and reactive endpoints require.
+     *
+     * @param todo The new Todo item.
+     * @return The problem with the Todo item, or null if it is complete.
+     */
+    public static String validateNewTodo(Todo todo) {
+        if (todo == null) {
+            return "Todo item is empty.";
+        }
+        if (todo.getDescription() == null || todo.getDescription().isBlank()) {
+            return "Description is required.";
+        }
+        if (todo.getStatus() == null) {
+            return "Status is required.";
+        }
+        return null;
+    }
+
+    /**
+     * Get a page of all Todo items, selecting only the columns of a list view. The total is taken from the Todo
+     * counters instead of a count query, so it is approximate: writes through the reactive API and writes of other
+     * nodes are only reflected once the counters are reconciled.
      *
      * @param page     The page number (1-based).
      * @param pageSize The number of items per page.
-     * @return The list of all Todo items.
+     * @return The page of Todo summaries.
      */
-    public Page<Todo> getAllTodos(int page, int pageSize) {
-        logger.info("Retrieving all Todo items (page={}, pageSize={})", page, pageSize);
-        Pageable pageable = PageRequest.of(page - 1, pageSize); // Page numbers are 1-based, so we subtract 1
-        Page<Todo> todosPage = todoRepository.findAll(pageable);
-        logger.info("Retrieved {} Todo items.", todosPage.getNumberOfElements());
+    public Page<TodoSummary> getAllTodoSummaries(int page, int pageSize) {
+        logger.debug("Retrieving all Todo summaries (page={}, pageSize={})", page, pageSize);
+        Pageable pageable = PageRequest.of(page - 1, pageSize);
+        Page<TodoSummary> todosPage = new PageImpl<>(todoRepository.findSummaries(pageable), pageable,
+            todoCounters.total());
+        logger.debug("Retrieved {} Todo summaries.", todosPage.getNumberOfElements());
         return todosPage;
     }
 
     /**
-     * Get a list of all "not done" Todo items.
+     * Get a page of "not done" Todo items, selecting only the columns of a list view. The total is taken from the
+     * Todo counters instead of a count query, so it is approximate: writes through the reactive API and writes of
+     * other nodes are only reflected once the counters are reconciled.
      *
      * @param page     The page number (1-based).
      * @param pageSize The number of items per page.
-     * @return The list of "not done" Todo items.
+     * @return The page of "not done" Todo summaries.
      */
-    public Page<Todo> getNotDoneTodos(int page, int pageSize) {
-        logger.info("Retrieving 'not done' Todo items (page={}, pageSize={})", page, pageSize);
-        Pageable pageable = PageRequest.of(page - 1, pageSize); // Page numbers are 1-based, so we subtract 1
-        Page<Todo> todosPage = todoRepository.findByIsDone(false, pageable);
-        logger.info("Retrieved {} 'not done' Todo items.", todosPage.getNumberOfElements());
+    public Page<TodoSummary> getNotDoneTodoSummaries(int page, int pageSize) {
+        logger.debug("Retrieving 'not done' Todo summaries (page={}, pageSize={})", page, pageSize);
+        Pageable pageable = PageRequest.of(page - 1, pageSize);
+        Page<TodoSummary> todosPage = new PageImpl<>(todoRepository.findSummariesByIsDone(false, pageable), pageable,
+            todoCounters.count(false));
+        logger.debug("Retrieved {} 'not done' Todo summaries.", todosPage.getNumberOfElements());
         return todosPage;
     }
 
     /**
-     * Get details of a specific Todo item.
+     * Get a slice of all Todo items using keyset pagination, selecting only the columns of a list view.
+     *
+     * @param after    The cursor of the last Todo item of the previous slice, or null for the first slice.
+     * @param pageSize The number of items per slice.
+     * @return The slice of Todo summaries following the cursor.
+     */
+    public Slice<TodoSummary> getAllTodoSummariesAfter(TodoCursor after, int pageSize) {
+        logger.debug("Retrieving all Todo summaries (after={}, pageSize={})", after, pageSize);
+        Pageable pageable = PageRequest.of(0, pageSize);
+        Slice<TodoSummary> todosSlice = after == null
+            ? todoRepository.findSummarySlice(pageable)
+            : todoRepository.findSummarySliceAfter(after.createdAtDate(), after.id(), pageable);
+        logger.debug("Retrieved {} Todo summaries.", todosSlice.getNumberOfElements());
+        return todosSlice;
+    }
+
+    /**
+     * Get a slice of "not done" Todo items using keyset pagination, selecting only the columns of a list view.
+     *
+     * @param after    The cursor of the last Todo item of the previous slice, or null for the first slice.
+     * @param pageSize The number of items per slice.
+     * @return The slice of "not done" Todo summaries following the cursor.
+     */
+    public Slice<TodoSummary> getNotDoneTodoSummariesAfter(TodoCursor after, int pageSize) {
+        logger.debug("Retrieving 'not done' Todo summaries (after={}, pageSize={})", after, pageSize);
+        Pageable pageable = PageRequest.of(0, pageSize);
+        Slice<TodoSummary> todosSlice = after == null
+            ? todoRepository.findSummarySliceByIsDone(false, pageable)
+            : todoRepository.findSummarySliceByIsDoneAfter(false, after.createdAtDate(), after.id(), pageable);
+        logger.debug("Retrieved {} 'not done' Todo summaries.", todosSlice.getNumberOfElements());
+        return todosSlice;
+    }
+
+    /**
+     * Get details of a specific Todo item, served from the Todo cache when recently accessed. Archived Todo items
+     * are looked up in the archive.
      *
      * @param id The ID of the Todo item to retrieve details for.
      * @return The Todo details if found, or null if the Todo item does not exist.
      */
     public Todo getTodoDetails(Long id) {
-        logger.info("Retrieving details for Todo item with ID: {}", id);
-        Todo todo = todoRepository.findById(id).orElse(null);
+        logger.debug("Retrieving details for Todo item with ID: {}", id);
+        Todo todo = todoCache.get(id, key -> todoRepository.findById(key)
+            .or(() -> todoArchiveRepository.findById(key))
+            .orElse(null));
         if (todo == null) {
             logger.warn("Todo item with ID {} not found.", id);
         } else {
-            logger.info("Retrieved details for Todo item with ID {}: {}", id, todo);
+            logger.debug("Retrieved details for Todo item with ID {}: {}", id, todo);
         }
         return todo;
     }
 
     /**
-     * Scheduled task to update the status of past due Todo items daily at midnight.
+     * Get the counts of Todo items by status and completion status, from memory.
+     *
+     * @return The counts of Todo items.
      */
-    @Scheduled(cron = "0 0 0 * * ?") // Daily at midnight
-    public void updateStatusForPastDueItems() {
-        logger.info("Running scheduled task to update status for past due items.");
-        Date currentDate = new Date();
-        List<Todo> pastDueItems =
-            todoRepository.findByStatusAndDueDateTimeLessThan(Todo.Status.NOT_DONE, currentDate);
-        for (Todo todo : pastDueItems) {
-            if (todo.getStatus() != Todo.Status.PAST_DUE) {
-                todo.setStatus(Todo.Status.PAST_DUE);
-                logger.info("Updated status for past due Todo item with ID {}: {}", todo.getId(), Todo.Status.PAST_DUE);
-                todoRepository.save(todo);
-            }
+    public TodoStats getStats() {
+        return todoCounters.stats();
+    }
+
+    /**
+     * Get the current version of a specific Todo item, from the Todo cache or by reading only its version column.
+     *
+     * @param id The ID of the Todo item.
+     * @return The version of the Todo item, or null if the Todo item does not exist.
+     */
+    public Long getTodoVersion(Long id) {
+        Long version = todoCache.version(id);
+        if (version != null) {
+            return version;
         }
+        return todoRepository.findVersionById(id)
+            .or(() -> todoArchiveRepository.findById(id).map(Todo::getVersion))
+            .orElse(null);
+    }
+
+    /**
+     * Get the current version of the Todo collection, for tagging listings.
+     *
+     * @return The version of the Todo collection.
+     */
+    public String getCollectionVersion() {
+        return todoChangeTracker.version();
+    }
+
+    /**
+     * Scheduled task to update the status of past due Todo items, daily at midnight by default.
+     *
+     * @return The report of the sweep.
+     */
+    @Scheduled(cron = "${todo.sweep.cron:0 0 0 * * ?}")
+    public SweepReport updateStatusForPastDueItems() {
+        logger.info("Running scheduled task to update status for past due items.");
+        SweepReport report = pastDueSweeper.sweep();
+        todoAuditLog.pastDueSwept(report);
         logger.info("Scheduled task completed.");
+        return report;
     }
 
 }
@@ -0,0 +1,21 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.model.Todo;
+
+/**
+ * The result of a conditional update of a single Todo item.
+ *
+ * @param outcome The outcome of the update.
+ * @param todo    The current state of the Todo item, or null if it does not exist.
+ */
+public record UpdateResult(Outcome outcome, Todo todo) {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        // The Todo item is in a status that does not allow the update
+        FORBIDDEN,
+        // The Todo item no longer has the expected version
+        PRECONDITION_FAILED
+    }
+}
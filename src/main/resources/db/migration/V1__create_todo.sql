@@ -0,0 +1,27 @@
+-- Baseline schema, matching what hibernate.hbm2ddl.auto=update used to create.
+
+create sequence todo_seq start with 1 increment by 50;
+
+create table todo (
+    id                       bigint       not null,
+    description              varchar(255) not null,
+    status                   varchar(16)  not null,
+    created_at               timestamp(6) not null,
+    due_date_time            timestamp(6),
+    marked_as_done_date_time timestamp(6),
+    is_done                  boolean      not null,
+    constraint pk_todo primary key (id),
+    constraint ck_todo_status check (status in ('NOT_DONE', 'DONE', 'PAST_DUE'))
+);
+
+create table sweep_checkpoint (
+    name         varchar(64)  not null,
+    cutoff       timestamp(6) not null,
+    last_id      bigint       not null,
+    max_id       bigint       not null,
+    rows_updated bigint       not null,
+    completed    boolean      not null,
+    started_at   timestamp(6),
+    completed_at timestamp(6),
+    constraint pk_sweep_checkpoint primary key (name)
+);
@@ -0,0 +1,11 @@
+-- Indexes for the access paths of TodoRepository.
+-- H2 has no partial indexes, so the status/isDone filters lead the composite keys instead.
+
+-- GET /todos (not done items): findByIsDone and the keyset queries on (createdAt, id)
+create index idx_todo_is_done_created_at_id on todo (is_done, created_at, id);
+
+-- GET /todos?allItems=true in keyset mode: findSliceAfter
+create index idx_todo_created_at_id on todo (created_at, id);
+
+-- Past due sweep and findByStatus: findByStatusAndDueDateTimeLessThan, updateStatusForDueInIdRange
+create index idx_todo_status_due_date_time on todo (status, due_date_time);
@@ -0,0 +1,2 @@
+-- Optimistic locking: bumped by every update of a Todo item.
+alter table todo add column version bigint default 0 not null;
@@ -0,0 +1,25 @@
+-- Multi-node mode: leases of the jobs that must run on one node only, and the change log every node polls to
+-- invalidate its local copies (cache, search index, due date queue).
+
+create table lease (
+    name       varchar(64)  not null,
+    owner      varchar(64),
+    expires_at timestamp(6) not null,
+    constraint pk_lease primary key (name)
+);
+
+insert into lease (name, owner, expires_at) values ('past-due-sweep', null, timestamp '1970-01-01 00:00:00');
+insert into lease (name, owner, expires_at) values ('due-scheduler', null, timestamp '1970-01-01 00:00:00');
+
+create table todo_change (
+    seq        bigint generated by default as identity,
+    node       varchar(64)  not null,
+    kind       varchar(16)  not null,
+    min_id     bigint       not null,
+    max_id     bigint       not null,
+    changed_at timestamp(6) not null,
+    constraint pk_todo_change primary key (seq)
+);
+
+-- Pruning of old entries
+create index idx_todo_change_changed_at on todo_change (changed_at);
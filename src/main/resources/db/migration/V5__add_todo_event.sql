@@ -0,0 +1,16 @@
+-- Change feed: every create, update, status change and PAST_DUE transition, written in the transaction of the change
+-- itself. Sequence numbers are assigned by the application in commit order.
+
+create table todo_event (
+    seq         bigint       not null,
+    type        varchar(32)  not null,
+    todo_id     bigint       not null,
+    status      varchar(16),
+    description varchar(255),
+    version     bigint,
+    occurred_at timestamp(6) not null,
+    constraint pk_todo_event primary key (seq)
+);
+
+-- Pruning of old events
+create index idx_todo_event_occurred_at on todo_event (occurred_at);
@@ -0,0 +1,23 @@
+-- Archive of Todo items done for longer than the retention period, moved out of the todo table in batches. H2 has
+-- no declarative partitioning, so the month leads the primary key instead: the rows of a month are stored together,
+-- and reading or purging a month touches only its own pages.
+
+create table todo_archive (
+    archive_month            int          not null,
+    id                       bigint       not null,
+    description              varchar(255) not null,
+    status                   varchar(16)  not null,
+    created_at               timestamp(6) not null,
+    due_date_time            timestamp(6),
+    marked_as_done_date_time timestamp(6),
+    is_done                  boolean      not null,
+    version                  bigint       not null,
+    archived_at              timestamp(6) not null,
+    constraint pk_todo_archive primary key (archive_month, id)
+);
+
+-- GET /todos/{id} of an archived item
+create index idx_todo_archive_id on todo_archive (id);
+
+-- Only one node archives at a time in multi-node mode
+insert into lease (name, owner, expires_at) values ('todo-archive', null, timestamp '1970-01-01 00:00:00');
@@ -0,0 +1,4 @@
+-- Archival: TodoArchiveRepository.findArchivableIds walks the DONE items in ID order. Their completion date/time is
+-- read through coalesce(marked_as_done_date_time, created_at), which H2 cannot index, so the status leads the key and
+-- the walk skips the items that are not done instead of reading the whole primary key range.
+create index idx_todo_status_id on todo (status, id);
@@ -0,0 +1,27 @@
+package com.s2.todo.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"spring.datasource.hikari.maximum-pool-size=7", "spring.jpa.open-in-view=false"})
+public class DataSourceSelfCheckTest {
+
+    @Autowired
+    private DataSourceSelfCheck dataSourceSelfCheck;
+
+    @Test
+    public void testSettingsReportTheEffectivePoolAndBatchSettings() {
+        // Act
+        Map<String, Object> settings = dataSourceSelfCheck.settings();
+
+        // Assert
+        assertThat(settings.get("maximumPoolSize")).isEqualTo(7);
+        assertThat(String.valueOf(settings.get("hibernate.jdbc.batch_size"))).isEqualTo("50");
+        assertThat(String.valueOf(settings.get("hibernate.order_inserts"))).isEqualTo("true");
+        assertThat(settings.get("openInView")).isEqualTo(false);
+    }
+}
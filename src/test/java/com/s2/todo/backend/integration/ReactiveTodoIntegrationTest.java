@@ -0,0 +1,95 @@
+package com.s2.todo.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.s2.todo.backend.config.ReactiveTodoServer;
+import com.s2.todo.backend.model.Todo;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(properties = {"todo.reactive.enabled=true", "todo.reactive.port=0"})
+public class ReactiveTodoIntegrationTest {
+
+    @Autowired
+    private ReactiveTodoServer reactiveTodoServer;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() {
+        webTestClient = WebTestClient.bindToServer().baseUrl("http://localhost:" + reactiveTodoServer.getPort()).build();
+    }
+
+    @Test
+    public void testCreateAndMarkTodo() {
+        Todo created = webTestClient.post().uri("/todos")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Todo.builder().description("Reactive task").status(Todo.Status.NOT_DONE).build())
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody(Todo.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(created).isNotNull();
+        assertThat(created.getDescription()).isEqualTo("Reactive task");
+
+        webTestClient.put().uri("/todos/{id}/done", created.getId())
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Todo.class)
+            .value(todo -> assertThat(todo.getStatus()).isEqualTo(Todo.Status.DONE));
+
+        webTestClient.put().uri("/todos/{id}/notdone", -1)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testBlankDescriptionIsBadRequest() {
+        webTestClient.post().uri("/todos")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Todo.builder().description(" ").status(Todo.Status.NOT_DONE).build())
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody(String.class)
+            .isEqualTo("Description is required.");
+    }
+
+    @Test
+    public void testInvalidIdIsBadRequest() {
+        webTestClient.get().uri("/todos/{id}", "abc")
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        webTestClient.put().uri("/todos/{id}/done", "abc")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void testStreamTodosAsNdjson() {
+        webTestClient.post().uri("/todos")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Todo.builder().description("Streamed task").status(Todo.Status.NOT_DONE).build())
+            .exchange()
+            .expectStatus().isCreated();
+
+        List<Todo> todos = webTestClient.get().uri("/todos")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Todo.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(todos).extracting(Todo::getDescription).contains("Streamed task");
+    }
+}
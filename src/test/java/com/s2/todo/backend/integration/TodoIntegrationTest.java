@@ -1,18 +1,26 @@
 package com.s2.todo.backend.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.s2.todo.backend.dto.StatusChange;
 import com.s2.todo.backend.model.Todo;
 import com.s2.todo.backend.repository.TodoRepository;
+import java.util.List;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
@@ -50,4 +58,185 @@ public class TodoIntegrationTest {
         assertThat(createdTodo.getStatus()).isEqualTo(todoRequest.getStatus());
 
     }
+
+    @Test
+    @Transactional
+    public void testCreateTodoBatch() throws Exception {
+        List<Todo> todoRequests = List.of(
+            Todo.builder().description("Task 1").status(Todo.Status.NOT_DONE).build(),
+            Todo.builder().status(Todo.Status.NOT_DONE).build(),
+            Todo.builder().description("Task 3").status(Todo.Status.NOT_DONE).build()
+        );
+
+        ResultActions resultActions = mockMvc.perform(post("/todos/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(todoRequests)))
+            .andExpect(status().isCreated());
+
+        JsonNode results = objectMapper.readTree(resultActions.andReturn().getResponse().getContentAsString());
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).get("outcome").asText()).isEqualTo("CREATED");
+        assertThat(results.get(1).get("outcome").asText()).isEqualTo("INVALID");
+        assertThat(results.get(2).get("outcome").asText()).isEqualTo("CREATED");
+        assertThat(todoRepository.findById(results.get(2).get("id").asLong()))
+            .hasValueSatisfying(todo -> assertThat(todo.getDescription()).isEqualTo("Task 3"));
+    }
+
+    @Test
+    @Transactional
+    public void testUpdateStatusBatch() throws Exception {
+        Todo notDone = todoRepository.save(Todo.builder().description("Task").status(Todo.Status.NOT_DONE).build());
+        Todo pastDue = todoRepository.save(Todo.builder().description("Late").status(Todo.Status.PAST_DUE).build());
+        List<StatusChange> changes = List.of(
+            new StatusChange(notDone.getId(), Todo.Status.DONE),
+            new StatusChange(pastDue.getId(), Todo.Status.NOT_DONE),
+            new StatusChange(-1L, Todo.Status.DONE)
+        );
+
+        ResultActions resultActions = mockMvc.perform(put("/todos/batch/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changes)))
+            .andExpect(status().isOk());
+
+        JsonNode results = objectMapper.readTree(resultActions.andReturn().getResponse().getContentAsString());
+
+        assertThat(results.get(0).get("outcome").asText()).isEqualTo("UPDATED");
+        assertThat(results.get(1).get("outcome").asText()).isEqualTo("FORBIDDEN");
+        assertThat(results.get(2).get("outcome").asText()).isEqualTo("NOT_FOUND");
+        assertThat(todoRepository.findById(notDone.getId()).get().getStatus()).isEqualTo(Todo.Status.DONE);
+    }
+
+    @Test
+    @Transactional
+    public void testExportTodos() throws Exception {
+        Todo notDone = todoRepository.save(Todo.builder().description("Open").status(Todo.Status.NOT_DONE).build());
+        todoRepository.save(Todo.builder().description("Closed").status(Todo.Status.DONE).isDone(true).build());
+
+        String ndjson = mockMvc.perform(get("/todos/export").param("isDone", "false"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        String csv = mockMvc.perform(get("/todos/export").param("format", "csv").param("status", "DONE"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(ndjson.lines().map(line -> {
+            try {
+                return objectMapper.readValue(line, Todo.class).getId();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        })).contains(notDone.getId());
+        assertThat(ndjson).doesNotContain("Closed");
+        assertThat(csv.lines().findFirst())
+            .hasValue("id,description,status,createdAt,dueDateTime,markedAsDoneDateTime,done,version");
+        assertThat(csv).contains("Closed").doesNotContain("Open");
+    }
+
+    @Test
+    @Transactional
+    public void testConditionalGetTodoDetails() throws Exception {
+        Todo todo = todoRepository.save(Todo.builder().description("Polled").status(Todo.Status.NOT_DONE).build());
+
+        String eTag = mockMvc.perform(get("/todos/" + todo.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String notModified = mockMvc.perform(get("/todos/" + todo.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(put("/todos/" + todo.getId() + "/done"))
+            .andExpect(status().isOk());
+        String changedETag = mockMvc.perform(get("/todos/" + todo.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(notModified).isEmpty();
+        assertThat(changedETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @Transactional
+    public void testConditionalGetTodos() throws Exception {
+        String eTag = mockMvc.perform(get("/todos"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/todos").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(post("/todos")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    Todo.builder().description("New Task").status(Todo.Status.NOT_DONE).build())))
+            .andExpect(status().isCreated());
+        String changedETag = mockMvc.perform(get("/todos").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).isNotNull();
+        assertThat(changedETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @Transactional
+    public void testConditionalGetTodosDependsOnRepresentation() throws Exception {
+        // Arrange
+        MockHttpServletResponse jsonResponse = mockMvc.perform(get("/todos"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+        String jsonETag = jsonResponse.getHeader(HttpHeaders.ETAG);
+
+        // Act
+        String cborETag = mockMvc.perform(get("/todos")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Assert
+        assertThat(jsonResponse.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThat(cborETag).isNotEqualTo(jsonETag);
+        mockMvc.perform(get("/todos").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborETag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    public void testGetTodosReturnsFlatPageOfSummaries() throws Exception {
+        Todo todo = todoRepository.save(Todo.builder().description("Listed").status(Todo.Status.NOT_DONE).build());
+
+        String json = mockMvc.perform(get("/todos").param("pageSize", "1000"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        JsonNode page = objectMapper.readTree(json);
+        assertThat(page.get("page").asInt()).isEqualTo(1);
+        assertThat(page.get("totalElements").asLong()).isPositive();
+        assertThat(page.has("pageable")).isFalse();
+        assertThat(page.get("content").findValues("id")).extracting(JsonNode::asLong).contains(todo.getId());
+        assertThat(page.get("content").get(0).has("markedAsDoneDateTime")).isFalse();
+    }
+
+    @Test
+    public void testGetTodosWithInvalidPageSizeIsBadRequest() throws Exception {
+        mockMvc.perform(get("/todos").param("pageSize", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/todos").param("pageSize", "1001"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/todos").param("after", "").param("pageSize", "-1"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/todos").param("page", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void testGetTodosAsCbor() throws Exception {
+        todoRepository.save(Todo.builder().description("Binary").status(Todo.Status.NOT_DONE).build());
+
+        byte[] cbor = mockMvc.perform(get("/todos").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(cbor);
+        assertThat(page.get("content").findValues("description")).extracting(JsonNode::asText).contains("Binary");
+    }
 }
@@ -0,0 +1,219 @@
+package com.s2.todo.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.s2.todo.backend.model.Todo;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Asserts via H2's EXPLAIN that the SQL Hibernate generates for each TodoRepository query, and the archiver's query of
+ * TodoArchiveRepository, is served by an index from the Flyway migrations rather than a table scan. The statements are
+ * captured from the JDBC driver, with their bound parameters, while the repository methods run, then explained with
+ * the same parameters.
+ */
+@DataJpaTest
+@Import(TodoRepositoryIndexTest.CaptureConfig.class)
+public class TodoRepositoryIndexTest {
+
+    private static final List<CapturedQuery> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 200; i++) {
+            Todo.Status status = Todo.Status.values()[i % Todo.Status.values().length];
+            todoRepository.save(Todo.builder()
+                .description("Task " + i)
+                .status(status)
+                .isDone(status == Todo.Status.DONE)
+                .dueDateTime(new Date(System.currentTimeMillis() + (i - 100) * 60_000L))
+                .build());
+        }
+        todoRepository.flush();
+    }
+
+    @Test
+    public void testFindByStatusUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findByStatus(Todo.Status.NOT_DONE), "idx_todo_status_due_date_time");
+    }
+
+    @Test
+    public void testFindByStatusAndDueDateTimeLessThanUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findByStatusAndDueDateTimeLessThan(Todo.Status.NOT_DONE, new Date()),
+            "idx_todo_status_due_date_time");
+    }
+
+    @Test
+    public void testFindSummariesByIsDoneUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findSummariesByIsDone(false, PageRequest.of(1, 10)),
+            "idx_todo_is_done_created_at_id");
+    }
+
+    @Test
+    public void testFindSummariesUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findSummaries(PageRequest.of(1, 10)), "idx_todo_created_at_id");
+    }
+
+    @Test
+    public void testFindSummarySliceByIsDoneUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findSummarySliceByIsDone(false, PageRequest.of(0, 10)),
+            "idx_todo_is_done_created_at_id");
+    }
+
+    @Test
+    public void testFindSummarySliceByIsDoneAfterUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findSummarySliceByIsDoneAfter(false, new Date(0), 42,
+            PageRequest.of(0, 10)), "idx_todo_is_done_created_at_id");
+    }
+
+    @Test
+    public void testFindSummarySliceUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findSummarySlice(PageRequest.of(0, 10)), "idx_todo_created_at_id");
+    }
+
+    @Test
+    public void testFindSummarySliceAfterUsesIndex() {
+        assertUsesIndex(() -> todoRepository.findSummarySliceAfter(new Date(0), 42, PageRequest.of(0, 10)),
+            "idx_todo_created_at_id");
+    }
+
+    @Test
+    public void testUpdateStatusForDueInIdRangeDoesNotScan() {
+        List<String> plans = explainCaptured(() -> todoRepository.updateStatusForDueInIdRange(Todo.Status.NOT_DONE,
+            Todo.Status.PAST_DUE, new Date(), 0, 5000));
+
+        assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContainIgnoringCase("tableScan"));
+    }
+
+    @Test
+    public void testUpdateStatusConditionallyUsesPrimaryKey() {
+        long id = todoRepository.findIdsInIdRangeByStatus(Todo.Status.NOT_DONE, 0, Long.MAX_VALUE).get(0);
+
+        assertUsesIndex(() -> todoRepository.updateStatusConditionally(id, Todo.Status.NOT_DONE, Todo.Status.DONE,
+            true, new Date(), 0L), "primary_key");
+    }
+
+    @Test
+    public void testLockDueIdsDoesNotScan() {
+        List<String> plans = explainCaptured(() -> todoRepository.lockDueIds(List.of(1L, 2L, 3L),
+            Todo.Status.NOT_DONE.name(), new Date()));
+
+        assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContainIgnoringCase("tableScan"));
+    }
+
+    @Test
+    public void testLockDueIdsInIdRangeDoesNotScan() {
+        List<String> plans = explainCaptured(() -> todoRepository.lockDueIdsInIdRange(Todo.Status.NOT_DONE.name(),
+            new Date(), 0, 5000));
+
+        assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContainIgnoringCase("tableScan"));
+    }
+
+    @Test
+    public void testFindArchivableIdsUsesIndex() {
+        TodoArchiveRepository todoArchiveRepository = new TodoArchiveRepository(jdbcTemplate);
+
+        assertUsesIndex(() -> todoArchiveRepository.findArchivableIds(new Date(), 0, 100), "idx_todo_status_id");
+    }
+
+    private void assertUsesIndex(Runnable query, String index) {
+        List<String> plans = explainCaptured(query);
+
+        assertThat(plans).allSatisfy(plan -> {
+            assertThat(plan).containsIgnoringCase(index);
+            assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        });
+    }
+
+    // Run the query, then explain every statement it issued against the todo table
+    private List<String> explainCaptured(Runnable query) {
+        CAPTURED.clear();
+        query.run();
+        List<CapturedQuery> queries = CAPTURED.stream()
+            .filter(captured -> captured.sql().toLowerCase().matches("(?s)(select|update)\\b.*\\btodo\\b.*"))
+            .toList();
+        assertThat(queries).isNotEmpty();
+        List<String> plans = new ArrayList<>(queries.size());
+        for (CapturedQuery captured : queries) {
+            plans.add(explain(captured));
+        }
+        return plans;
+    }
+
+    private String explain(CapturedQuery captured) {
+        return jdbcTemplate.execute("explain " + captured.sql(), (PreparedStatementCallback<String>) statement -> {
+            for (ParameterSetOperation parameter : captured.parameters()) {
+                ReflectionUtils.invokeMethod(parameter.getMethod(), statement, parameter.getArgs());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    private record CapturedQuery(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        // Wraps the test database, so every statement Hibernate executes is recorded with its parameters
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource).listener(new CapturingListener()).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static final class CapturingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<List<ParameterSetOperation>> parameters = queryInfo.getParametersList();
+                CAPTURED.add(new CapturedQuery(queryInfo.getQuery(),
+                    parameters.isEmpty() ? List.of() : List.copyOf(parameters.get(0))));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.s2.todo.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Lease;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.LeaseRepository;
+import com.s2.todo.backend.repository.TodoChange;
+import com.s2.todo.backend.repository.TodoChangeLogRepository;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = {"todo.cluster.enabled=true", "todo.cluster.node-id=this-node"})
+public class ClusterSyncTest {
+
+    @Autowired
+    private ClusterSync clusterSync;
+
+    @Autowired
+    private ClusterNode clusterNode;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private LeaseRepository leaseRepository;
+
+    @AfterEach
+    public void tearDown() {
+        clusterNode.releaseLeases();
+        leaseRepository.save(new Lease(ClusterNode.PAST_DUE_SWEEP_LEASE, null, new Date(0)));
+    }
+
+    @Test
+    public void testChangeOfAnotherNodeRefreshesLocalCopies() {
+        // Arrange
+        Todo todo = todoService.save(Todo.builder()
+            .description("Original wording")
+            .status(Todo.Status.NOT_DONE)
+            .build());
+        todoService.getTodoDetails(todo.getId()); // cached on this node
+        String version = todoService.getCollectionVersion();
+
+        Todo changedElsewhere = todoRepository.findById(todo.getId()).get();
+        changedElsewhere.setDescription("Reworded elsewhere");
+        todoRepository.save(changedElsewhere);
+        changeLogRepository.insertAll("other-node",
+            List.of(TodoChange.of(TodoChange.Kind.ITEM, todo.getId(), todo.getId())), new Date());
+
+        // Act
+        clusterSync.sync();
+
+        // Assert
+        assertThat(todoService.getTodoDetails(todo.getId()).getDescription()).isEqualTo("Reworded elsewhere");
+        assertThat(todoSearchService.search("reworded", null, null, 10).content())
+            .extracting(TodoSummary::id).containsExactly(todo.getId());
+        assertThat(todoService.getCollectionVersion()).isNotEqualTo(version);
+    }
+
+    @Test
+    public void testLeaseHeldByAnotherNodeIsNotTakenUntilItExpires() {
+        // Arrange
+        String lease = ClusterNode.PAST_DUE_SWEEP_LEASE;
+        leaseRepository.save(new Lease(lease, "other-node", new Date(System.currentTimeMillis() + 60_000)));
+
+        // Act
+        boolean heldWhileValid = clusterNode.holdsLease(lease);
+        leaseRepository.save(new Lease(lease, "other-node", new Date(System.currentTimeMillis() - 1)));
+        boolean heldOnceExpired = clusterNode.holdsLease(lease);
+
+        // Assert
+        assertThat(heldWhileValid).isFalse();
+        assertThat(heldOnceExpired).isTrue();
+        assertThat(leaseRepository.findById(lease).get().getOwner()).isEqualTo("this-node");
+    }
+}
@@ -0,0 +1,86 @@
+package com.s2.todo.backend.service;
+
+import static com.s2.todo.backend.service.TestTodos.todo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+@IsolatedSpringBootTest
+@TestPropertySource(properties = {"todo.due-scheduler.enabled=true", "todo.due-scheduler.tick=3600000"})
+public class DueDateSchedulerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DueDateScheduler dueDateScheduler;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        TestTodos.deleteAll(context);
+    }
+
+    @Test
+    public void testTransitionDueItemsMovesOnlyDueNotDoneItems() {
+        // Arrange
+        Todo overdue = todoService.save(todo("Overdue", Todo.Status.NOT_DONE, -MINUTE));
+        Todo upcoming = todoService.save(todo("Upcoming", Todo.Status.NOT_DONE, 10 * MINUTE));
+        Todo done = todoService.save(todo("Done", Todo.Status.DONE, -MINUTE));
+
+        // Act
+        int transitioned = dueDateScheduler.transitionDueItems();
+
+        // Assert
+        assertThat(transitioned).isEqualTo(1);
+        assertThat(statusOf(overdue)).isEqualTo(Todo.Status.PAST_DUE);
+        assertThat(statusOf(upcoming)).isEqualTo(Todo.Status.NOT_DONE);
+        assertThat(statusOf(done)).isEqualTo(Todo.Status.DONE);
+        assertThat(todoService.getTodoDetails(overdue.getId()).getStatus()).isEqualTo(Todo.Status.PAST_DUE);
+    }
+
+    @Test
+    public void testRebuildLoadsItemsFromTheDatabase() {
+        // Arrange
+        Todo overdue = todoRepository.save(todo("Written elsewhere", Todo.Status.NOT_DONE, -MINUTE));
+
+        // Act
+        dueDateScheduler.rebuild();
+        int transitioned = dueDateScheduler.transitionDueItems();
+
+        // Assert
+        assertThat(transitioned).isEqualTo(1);
+        assertThat(statusOf(overdue)).isEqualTo(Todo.Status.PAST_DUE);
+    }
+
+    @Test
+    public void testItemCompletedBeforeTheTickIsNotTransitioned() {
+        // Arrange
+        Todo todo = todoService.save(todo("Completed in time", Todo.Status.NOT_DONE, -MINUTE));
+        todoService.markAsDone(todo.getId());
+
+        // Act
+        int transitioned = dueDateScheduler.transitionDueItems();
+
+        // Assert
+        assertThat(transitioned).isZero();
+        assertThat(statusOf(todo)).isEqualTo(Todo.Status.DONE);
+    }
+
+    private Todo.Status statusOf(Todo todo) {
+        return todoRepository.findById(todo.getId()).get().getStatus();
+    }
+}
@@ -0,0 +1,66 @@
+package com.s2.todo.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class DueIndexTest {
+
+    @Test
+    public void testRandomWritesMatchASortedReference() {
+        // Arrange
+        DueIndex index = new DueIndex();
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act: enough entries to split and merge blocks many times over
+        for (int i = 0; i < 50_000; i++) {
+            long id = 1 + random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                assertThat(index.remove(id)).isEqualTo(reference.remove(id) != null);
+            } else {
+                long due = random.nextInt(1_000);
+                index.put(id, due);
+                reference.put(id, due);
+            }
+        }
+
+        // Assert
+        List<long[]> expected = reference.entrySet().stream()
+            .map(entry -> new long[] {entry.getValue(), entry.getKey()})
+            .sorted(Comparator.<long[]>comparingLong(pair -> pair[0]).thenComparingLong(pair -> pair[1]))
+            .toList();
+        long[] dues = new long[expected.size() + 1];
+        long[] ids = new long[expected.size() + 1];
+        int count = index.range(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, dues, ids);
+        assertThat(count).isEqualTo(expected.size()).isEqualTo(index.size());
+        for (int i = 0; i < count; i++) {
+            assertThat(new long[] {dues[i], ids[i]}).containsExactly(expected.get(i));
+        }
+        assertThat(index.count(100, 200)).isEqualTo(expected.stream().filter(p -> p[0] >= 100 && p[0] < 200).count());
+    }
+
+    @Test
+    public void testRangeResumesAfterCursorAndStopsAtLimit() {
+        // Arrange
+        long[] sortedDues = {10, 10, 10, 20, 30};
+        long[] sortedIds = {1, 2, 3, 4, 5};
+        DueIndex index = DueIndex.of(sortedDues, sortedIds, 5);
+        long[] dues = new long[2];
+        long[] ids = new long[2];
+
+        // Act
+        int count = index.range(10, 3, 30, dues, ids);
+
+        // Assert
+        assertThat(count).isEqualTo(2);
+        assertThat(ids).containsExactly(3, 4);
+        assertThat(index.range(25, Long.MIN_VALUE, 30, dues, ids)).isZero();
+        assertThat(index.count(10, 21)).isEqualTo(4);
+    }
+}
@@ -0,0 +1,22 @@
+package com.s2.todo.backend.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * A {@link SpringBootTest} whose context has an in-memory database of its own, so no other cached test context (nor
+ * its schedulers) sees or changes its data. The context is closed after the test class. Properties specific to the
+ * test class go in {@code @TestPropertySource}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+@DirtiesContext
+@interface IsolatedSpringBootTest {
+}
@@ -0,0 +1,89 @@
+package com.s2.todo.backend.service;
+
+import static com.s2.todo.backend.service.TestTodos.HOUR;
+import static com.s2.todo.backend.service.TestTodos.todo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.s2.todo.backend.model.SweepCheckpoint;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.SweepCheckpointRepository;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+@IsolatedSpringBootTest
+@TestPropertySource(properties = "todo.sweep.chunk-size=2")
+public class PastDueSweeperTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private PastDueSweeper pastDueSweeper;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private SweepCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    public void setUp() {
+        TestTodos.deleteAll(context);
+        checkpointRepository.deleteAll();
+    }
+
+    @Test
+    public void testSweepUpdatesOnlyOverdueNotDoneItems() {
+        // Arrange
+        List<Todo> overdue = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            overdue.add(todoRepository.save(todo("Overdue " + i, Todo.Status.NOT_DONE, -HOUR)));
+        }
+        Todo upcoming = todoRepository.save(todo("Upcoming", Todo.Status.NOT_DONE, HOUR));
+        Todo done = todoRepository.save(todo("Done", Todo.Status.DONE, -HOUR));
+
+        // Act
+        SweepReport report = pastDueSweeper.sweep();
+
+        // Assert
+        assertThat(report.rowsUpdated()).isEqualTo(5);
+        assertThat(report.chunks()).isGreaterThan(1);
+        assertThat(report.resumed()).isFalse();
+        for (Todo todo : overdue) {
+            assertThat(todoRepository.findById(todo.getId()).get().getStatus()).isEqualTo(Todo.Status.PAST_DUE);
+        }
+        assertThat(todoRepository.findById(upcoming.getId()).get().getStatus()).isEqualTo(Todo.Status.NOT_DONE);
+        assertThat(todoRepository.findById(done.getId()).get().getStatus()).isEqualTo(Todo.Status.DONE);
+        assertThat(checkpointRepository.findById(PastDueSweeper.CHECKPOINT_NAME).get().isCompleted()).isTrue();
+    }
+
+    @Test
+    public void testSweepResumesFromCheckpoint() {
+        // Arrange
+        Todo alreadySwept = todoRepository.save(todo("Already swept", Todo.Status.NOT_DONE, -HOUR));
+        Todo pending = todoRepository.save(todo("Pending", Todo.Status.NOT_DONE, -HOUR));
+        checkpointRepository.save(SweepCheckpoint.builder()
+            .name(PastDueSweeper.CHECKPOINT_NAME)
+            .cutoff(new Date())
+            .lastId(alreadySwept.getId())
+            .maxId(pending.getId())
+            .startedAt(new Date())
+            .build());
+
+        // Act
+        SweepReport report = pastDueSweeper.sweep();
+
+        // Assert
+        assertThat(report.resumed()).isTrue();
+        assertThat(report.rowsUpdated()).isEqualTo(1);
+        assertThat(todoRepository.findById(alreadySwept.getId()).get().getStatus()).isEqualTo(Todo.Status.NOT_DONE);
+        assertThat(todoRepository.findById(pending.getId()).get().getStatus()).isEqualTo(Todo.Status.PAST_DUE);
+    }
+}
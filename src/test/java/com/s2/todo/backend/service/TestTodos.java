@@ -0,0 +1,62 @@
+package com.s2.todo.backend.service;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.Date;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * Test data shared by the service tests.
+ */
+final class TestTodos {
+
+    static final long HOUR = 3_600_000L;
+
+    private TestTodos() {
+    }
+
+    /**
+     * @param description     The description of the Todo item.
+     * @param status          The status of the Todo item; DONE items are also marked as done.
+     * @param dueOffsetMillis The due date/time of the Todo item, relative to now.
+     * @return A new, unsaved Todo item.
+     */
+    static Todo todo(String description, Todo.Status status, long dueOffsetMillis) {
+        return Todo.builder()
+            .description(description)
+            .status(status)
+            .isDone(status == Todo.Status.DONE)
+            .dueDateTime(new Date(System.currentTimeMillis() + dueOffsetMillis))
+            .build();
+    }
+
+    /**
+     * @param description          The description of the Todo item.
+     * @param status               The status of the Todo item; DONE items are also marked as done.
+     * @param markedAsDoneDateTime The date/time the Todo item was marked as done, or null.
+     * @return A new, unsaved Todo item without a due date/time.
+     */
+    static Todo todoMarkedAsDoneAt(String description, Todo.Status status, Date markedAsDoneDateTime) {
+        return Todo.builder()
+            .description(description)
+            .status(status)
+            .isDone(status == Todo.Status.DONE)
+            .markedAsDoneDateTime(markedAsDoneDateTime)
+            .build();
+    }
+
+    /**
+     * Delete every Todo item, then reload the in-memory state derived from them, which deleting through the repository
+     * bypasses.
+     *
+     * @param context The application context of the test.
+     */
+    static void deleteAll(ApplicationContext context) {
+        context.getBean(TodoRepository.class).deleteAll();
+        context.getBean(TodoCache.class).evictAll();
+        context.getBean(TodoCounters.class).reconcile();
+        context.getBean(TodoSearchIndex.class).rebuild();
+        context.getBean(TodoDueIndex.class).rebuild();
+        context.getBean(DueDateScheduler.class).rebuild();
+    }
+}
@@ -0,0 +1,89 @@
+package com.s2.todo.backend.service;
+
+import static com.s2.todo.backend.service.TestTodos.todoMarkedAsDoneAt;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+@IsolatedSpringBootTest
+@TestPropertySource(properties = {"todo.archive.batch-size=2", "todo.archive.retention=P30D"})
+public class TodoArchiverTest {
+
+    private static final long DAY = 86_400_000L;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TodoArchiver todoArchiver;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        TestTodos.deleteAll(context);
+    }
+
+    @Test
+    public void testArchiveMovesOnlyItemsDoneBeforeRetention() {
+        // Arrange
+        Date doneAt = new Date(System.currentTimeMillis() - 40 * DAY);
+        List<Todo> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(todoRepository.save(todoMarkedAsDoneAt("Old " + i, Todo.Status.DONE, doneAt)));
+        }
+        Todo recent = todoRepository.save(todoMarkedAsDoneAt("Recent", Todo.Status.DONE, new Date()));
+        Todo pastDue = todoRepository.save(todoMarkedAsDoneAt("Past due", Todo.Status.PAST_DUE, null));
+
+        // Act
+        long archived = todoArchiver.archive();
+
+        // Assert
+        assertThat(archived).isEqualTo(5);
+        assertThat(todoRepository.findAll()).extracting(Todo::getId)
+            .containsExactlyInAnyOrder(recent.getId(), pastDue.getId());
+        Todo archivedTodo = todoService.getTodoDetails(old.get(0).getId());
+        assertThat(archivedTodo.getDescription()).isEqualTo("Old 0");
+        assertThat(archivedTodo.getStatus()).isEqualTo(Todo.Status.DONE);
+        assertThat(todoService.getTodoVersion(old.get(0).getId())).isEqualTo(old.get(0).getVersion());
+    }
+
+    @Test
+    public void testArchivedItemsAreListedByMonth() {
+        // Arrange
+        Date doneAt = new Date(System.currentTimeMillis() - 60 * DAY);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(todoRepository.save(todoMarkedAsDoneAt("Listed " + i, Todo.Status.DONE, doneAt)).getId());
+        }
+        todoArchiver.archive();
+        YearMonth month = YearMonth.from(doneAt.toInstant().atZone(ZoneOffset.UTC));
+
+        // Act
+        CursorSlice<Todo> first = todoArchiver.getArchivedTodos(month, null, 2);
+        CursorSlice<Todo> rest = todoArchiver.getArchivedTodos(month, ArchiveCursor.decode(first.next()), 100);
+
+        // Assert
+        assertThat(first.hasNext()).isTrue();
+        List<Long> listed = new ArrayList<>();
+        first.content().forEach(todo -> listed.add(todo.getId()));
+        rest.content().forEach(todo -> listed.add(todo.getId()));
+        assertThat(listed).containsAll(ids).doesNotHaveDuplicates();
+    }
+}
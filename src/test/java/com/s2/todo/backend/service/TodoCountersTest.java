@@ -0,0 +1,80 @@
+package com.s2.todo.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.s2.todo.backend.dto.TodoStats;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.SweepCheckpointRepository;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class TodoCountersTest {
+
+    @Autowired
+    private TodoCounters todoCounters;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private SweepCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    public void setUp() {
+        todoRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        todoCounters.reconcile();
+    }
+
+    @Test
+    public void testWritesUpdateTheCounters() {
+        // Arrange
+        Todo first = todoService.save(todo(Todo.Status.NOT_DONE, 3_600_000L));
+        todoService.save(todo(Todo.Status.NOT_DONE, -3_600_000L));
+        todoService.save(todo(Todo.Status.NOT_DONE, 3_600_000L));
+
+        // Act
+        todoService.markAsDone(first.getId());
+        todoService.updateStatusForPastDueItems();
+        TodoStats stats = todoService.getStats();
+
+        // Assert
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.done()).isEqualTo(1);
+        assertThat(stats.notDone()).isEqualTo(2);
+        assertThat(stats.byStatus()).containsEntry(Todo.Status.DONE, 1L)
+            .containsEntry(Todo.Status.NOT_DONE, 1L)
+            .containsEntry(Todo.Status.PAST_DUE, 1L);
+        assertThat(todoCounters.reconcile()).isZero();
+    }
+
+    @Test
+    public void testReconcileCorrectsDrift() {
+        // Arrange
+        todoRepository.save(todo(Todo.Status.NOT_DONE, 3_600_000L));
+
+        // Act
+        long drift = todoCounters.reconcile();
+
+        // Assert
+        assertThat(drift).isEqualTo(1);
+        assertThat(todoCounters.count(false)).isEqualTo(1);
+        assertThat(todoService.getStats().reconciledAt()).isNotNull();
+    }
+
+    private static Todo todo(Todo.Status status, long dueOffsetMillis) {
+        return Todo.builder()
+            .description("Counted")
+            .status(status)
+            .dueDateTime(new Date(System.currentTimeMillis() + dueOffsetMillis))
+            .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.s2.todo.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.dto.DueHistogram;
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class TodoDueServiceTest {
+
+    private static final Instant DAY = Instant.parse("2099-01-01T00:00:00Z");
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    @Autowired
+    private TodoDueService todoDueService;
+
+    @Autowired
+    private TodoDueIndex todoDueIndex;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        todoRepository.deleteAll();
+        todoDueIndex.rebuild();
+    }
+
+    @Test
+    public void testDueTodosAreListedEarliestFirstAndPaged() {
+        // Arrange
+        Todo late = todoService.save(todo(5));
+        Todo early = todoService.save(todo(1));
+        Todo middle = todoService.save(todo(3));
+        todoService.save(todo(30));
+        todoService.save(Todo.builder().description("No due date").status(Todo.Status.NOT_DONE).build());
+
+        // Act
+        CursorSlice<TodoSummary> first = todoDueService.getDueTodos(at(0), at(24), null, 2);
+        CursorSlice<TodoSummary> second = todoDueService.getDueTodos(at(0), at(24), DueCursor.decode(first.next()), 2);
+
+        // Assert
+        assertThat(first.content()).extracting(TodoSummary::id).containsExactly(early.getId(), middle.getId());
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.content()).extracting(TodoSummary::id).containsExactly(late.getId());
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testWritesUpdateTheIndex() {
+        // Arrange
+        Todo done = todoService.save(todo(1));
+        Todo moved = todoService.save(todo(2));
+
+        // Act
+        todoService.markAsDone(done.getId());
+        moved.setDueDateTime(at(48));
+        todoService.save(moved);
+
+        // Assert
+        assertThat(todoDueService.getDueTodos(at(0), at(24), null, 10).content()).isEmpty();
+        assertThat(todoDueService.getDueTodos(at(24), at(72), null, 10).content()).extracting(TodoSummary::id)
+            .containsExactly(moved.getId());
+        assertThat(todoDueIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testHistogramCountsByCalendarBucket() {
+        // Arrange
+        todoService.save(todo(1));
+        todoService.save(todo(2));
+        todoService.save(todo(26));
+
+        // Act
+        DueHistogram histogram = todoDueService.getDueHistogram(at(0), at(72), DueBucket.DAY, ZoneOffset.UTC);
+
+        // Assert
+        assertThat(histogram.buckets()).extracting(DueHistogram.Bucket::count).containsExactly(2L, 1L, 0L);
+        assertThat(histogram.buckets().get(1).start()).isEqualTo(at(24));
+        assertThat(histogram.total()).isEqualTo(3);
+    }
+
+    @Test
+    public void testHistogramWithTooManyBucketsThrows() {
+        // Act
+        Throwable thrown = catchThrowable(() -> todoDueService.getDueHistogram(at(0), at(24 * 365 * 3), DueBucket.DAY,
+            ZoneOffset.UTC));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRebuildIndexesItemsWrittenElsewhere() {
+        // Arrange
+        Todo todo = todoRepository.save(todo(4));
+
+        // Act
+        long indexed = todoDueIndex.rebuild();
+
+        // Assert
+        assertThat(indexed).isEqualTo(1);
+        assertThat(todoDueService.getDueTodos(at(0), at(24), null, 10).content()).extracting(TodoSummary::id)
+            .containsExactly(todo.getId());
+    }
+
+    private static Date at(long hours) {
+        return new Date(DAY.toEpochMilli() + hours * HOUR_MILLIS);
+    }
+
+    private static Todo todo(long dueInHours) {
+        return Todo.builder()
+            .description("Due in " + dueInHours + " hours")
+            .status(Todo.Status.NOT_DONE)
+            .isDone(false)
+            .dueDateTime(at(dueInHours))
+            .build();
+    }
+}
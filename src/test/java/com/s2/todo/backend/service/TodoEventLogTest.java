@@ -0,0 +1,91 @@
+package com.s2.todo.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.s2.todo.backend.dto.TodoEvent;
+import com.s2.todo.backend.model.Todo;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+public class TodoEventLogTest {
+
+    @Autowired
+    private TodoEventLog todoEventLog;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testChangesAreReadInCommitOrder() {
+        // Arrange
+        long since = todoEventLog.lastReleasedSeq();
+
+        // Act
+        Todo todo = todoService.save(Todo.builder().description("Feed me").status(Todo.Status.NOT_DONE).build());
+        todoService.changeStatus(todo.getId(), Todo.Status.DONE, null);
+        todoService.updateDescription(todo.getId(), "Fed", null);
+
+        // Assert
+        List<TodoEvent> events = read(since);
+        assertThat(events).extracting(TodoEvent::type).containsExactly(TodoEvent.Type.CREATED,
+            TodoEvent.Type.STATUS_CHANGED, TodoEvent.Type.DESCRIPTION_UPDATED);
+        assertThat(events).extracting(TodoEvent::id).containsOnly(todo.getId());
+        assertThat(events.get(1).status()).isEqualTo(Todo.Status.DONE);
+        assertThat(events.get(2).description()).isEqualTo("Fed");
+        assertThat(events.get(2).version()).isEqualTo(2L);
+        assertThat(read(events.get(2).seq())).isEmpty();
+    }
+
+    @Test
+    public void testEventIsHeldBackUntilEarlierTransactionCompletes() {
+        // Arrange
+        long since = todoEventLog.lastReleasedSeq();
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        TransactionTemplate inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Act
+        List<TodoEvent> whileOuterOpen = outer.execute(status -> {
+            todoEventLog.pastDue(List.of(1L));
+            inner.executeWithoutResult(innerStatus -> todoEventLog.pastDue(List.of(2L)));
+            return read(since);
+        });
+
+        // Assert
+        assertThat(whileOuterOpen).isEmpty();
+        assertThat(read(since)).extracting(TodoEvent::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void testRolledBackEventsAreNeverReleased() {
+        // Arrange
+        long since = todoEventLog.lastReleasedSeq();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            todoEventLog.pastDue(List.of(3L));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> todoEventLog.pastDue(List.of(4L)));
+
+        // Assert
+        assertThat(read(since)).extracting(TodoEvent::id).containsExactly(4L);
+        assertThat(catchThrowable(() -> todoEventLog.readAfter(todoEventLog.lastReleasedSeq() + 10, 10)))
+            .isInstanceOf(TodoEventsExpiredException.class);
+    }
+
+    private List<TodoEvent> read(long since) {
+        return todoEventLog.readAfter(since, 100).stream().map(TodoEventLog.Entry::event).toList();
+    }
+}
@@ -0,0 +1,86 @@
+package com.s2.todo.backend.service;
+
+import static com.s2.todo.backend.service.TestTodos.HOUR;
+import static com.s2.todo.backend.service.TestTodos.todo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestPropertySource;
+
+@IsolatedSpringBootTest
+@TestPropertySource(properties = {"todo.ingest.enabled=true", "todo.ingest.batch-size=20"})
+public class TodoIngestQueueTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TodoIngestQueue todoIngestQueue;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        TestTodos.deleteAll(context);
+    }
+
+    @Test
+    public void testSubmittedItemsAreCommittedWithTheirPreAllocatedIds() {
+        // Arrange
+        List<CompletableFuture<Todo>> futures = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 75; i++) {
+            Todo todo = todo("Queued " + i, Todo.Status.NOT_DONE, HOUR);
+            futures.add(todoIngestQueue.submit(todo));
+            ids.add(todo.getId());
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // Assert
+        assertThat(ids).doesNotHaveDuplicates();
+        assertThat(todoRepository.findAllById(ids)).hasSize(75);
+        assertThat(todoService.getTodoDetails(ids.get(0)).getDescription()).isEqualTo("Queued 0");
+    }
+
+    @Test
+    public void testPreAllocatedIdsDoNotCollideWithGeneratedIds() {
+        // Arrange
+        Todo queued = todo("Queued", Todo.Status.NOT_DONE, HOUR);
+        todoIngestQueue.submit(queued).join();
+
+        // Act
+        List<Todo> saved = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            saved.add(todoService.save(todo("Saved " + i, Todo.Status.NOT_DONE, HOUR)));
+        }
+
+        // Assert
+        assertThat(saved).extracting(Todo::getId).doesNotContain(queued.getId());
+        assertThat(todoRepository.count()).isEqualTo(61);
+    }
+
+    @Test
+    public void testIncompleteItemIsRejected() {
+        // Act
+        Throwable thrown = catchThrowable(() -> todoIngestQueue.submit(Todo.builder().status(Todo.Status.NOT_DONE)
+            .build()));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+}
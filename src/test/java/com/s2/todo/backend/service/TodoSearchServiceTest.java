@@ -0,0 +1,119 @@
+package com.s2.todo.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.s2.todo.backend.dto.CursorSlice;
+import com.s2.todo.backend.dto.TodoSummary;
+import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoRepository;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class TodoSearchServiceTest {
+
+    @Autowired
+    private TodoSearchService todoSearchService;
+
+    @Autowired
+    private TodoSearchIndex todoSearchIndex;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        todoRepository.deleteAll();
+        todoSearchIndex.rebuild();
+    }
+
+    @Test
+    public void testSearchMatchesAllWordsAndPrefixes() {
+        // Arrange
+        Todo invoice = todoService.save(todo("Pay the electricity invoice"));
+        todoService.save(todo("File the invoice"));
+        todoService.save(todo("Pay the rent"));
+
+        // Act
+        CursorSlice<TodoSummary> terms = todoSearchService.search("pay invoice", null, null, 10);
+        CursorSlice<TodoSummary> prefix = todoSearchService.search("electr*", null, null, 10);
+
+        // Assert
+        assertThat(terms.content()).extracting(TodoSummary::id).containsExactly(invoice.getId());
+        assertThat(prefix.content()).extracting(TodoSummary::id).containsExactly(invoice.getId());
+    }
+
+    @Test
+    public void testSearchFiltersByCurrentStatus() {
+        // Arrange
+        Todo done = todoService.save(todo("Water the plants"));
+        Todo notDone = todoService.save(todo("Water the garden"));
+        todoService.markAsDone(done.getId());
+
+        // Act
+        CursorSlice<TodoSummary> result = todoSearchService.search("water", Todo.Status.NOT_DONE, null, 10);
+
+        // Assert
+        assertThat(result.content()).extracting(TodoSummary::id).containsExactly(notDone.getId());
+    }
+
+    @Test
+    public void testSearchPagesWithCursor() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            todoService.save(todo("Call supplier " + i));
+        }
+
+        // Act
+        CursorSlice<TodoSummary> first = todoSearchService.search("supplier", null, null, 3);
+        CursorSlice<TodoSummary> second = todoSearchService.search("supplier", null,
+            SearchCursor.decode(first.next()), 3);
+
+        // Assert
+        assertThat(first.content()).hasSize(3);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.content()).hasSize(2);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.content()).extracting(TodoSummary::id)
+            .doesNotContainAnyElementsOf(first.content().stream().map(TodoSummary::id).toList());
+    }
+
+    @Test
+    public void testRebuildIndexesItemsWrittenElsewhere() {
+        // Arrange
+        Todo todo = todoRepository.save(todo("Renew the passport"));
+
+        // Act
+        long indexed = todoSearchIndex.rebuild();
+        CursorSlice<TodoSummary> result = todoSearchService.search("passport", null, null, 10);
+
+        // Assert
+        assertThat(indexed).isEqualTo(1);
+        assertThat(result.content()).extracting(TodoSummary::id).containsExactly(todo.getId());
+    }
+
+    @Test
+    public void testSearchWithTooManyTermsThrows() {
+        // Act
+        Throwable thrown = catchThrowable(() -> todoSearchService.search("word ".repeat(100), null, null, 10));
+
+        // Assert
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Todo todo(String description) {
+        return Todo.builder()
+            .description(description)
+            .status(Todo.Status.NOT_DONE)
+            .isDone(false)
+            .dueDateTime(new Date(System.currentTimeMillis() + 3_600_000L))
+            .build();
+    }
+}
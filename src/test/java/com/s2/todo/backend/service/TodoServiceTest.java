@@ -2,14 +2,24 @@ package com.s2.todo.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.s2.todo.backend.dto.TodoSummary;
 import com.s2.todo.backend.model.Todo;
+import com.s2.todo.backend.repository.TodoCount;
 import com.s2.todo.backend.repository.TodoRepository;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +28,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 
@@ -32,29 +43,37 @@ public class TodoServiceTest {
     @Autowired
     private TodoService todoService;
 
+    @Autowired
+    private TodoCache todoCache;
+
+    @Autowired
+    private TodoCounters todoCounters;
+
     @MockBean
     TodoRepository todoRepositoryMock;
 
+    @BeforeEach
+    public void setUp() {
+        todoCache.evictAll();
+        todoCounters.reconcile(); // the repository mock counts no items
+    }
+
     @Test
-    public void testGetAllTodos() {
-        // Create a list of TODOs
-        List<Todo> todoList = Arrays.asList(
-            Todo.builder().description("Task 1").status(Todo.Status.NOT_DONE).build(),
-            Todo.builder().description("Task 2").status(Todo.Status.DONE).build()
+    public void testGetAllTodoSummaries() {
+        // Arrange
+        List<TodoSummary> summaries = Arrays.asList(
+            new TodoSummary(1L, "Task 1", Todo.Status.NOT_DONE, new Date(1_000L), null, false),
+            new TodoSummary(2L, "Task 2", Todo.Status.DONE, new Date(2_000L), null, true)
         );
+        when(todoRepositoryMock.findSummaries(any(Pageable.class))).thenReturn(summaries);
 
-        // Create a Page object from the list (simulating pagination)
-        Page<Todo> todoPage = new PageImpl<>(todoList);
-
-        // Mock the repository to return the Page object
-        when(todoRepositoryMock.findAll(any(Pageable.class))).thenReturn(todoPage);
-
-        Page<Todo> todos = todoService.getAllTodos(1, 10); // Assuming page 1 and 10 items per page
+        // Act
+        Page<TodoSummary> todos = todoService.getAllTodoSummaries(1, 10);
 
-        // Assertions
+        // Assert
         assertThat(todos.getTotalElements()).isEqualTo(2);
-        assertThat(todos.getContent().get(0).getDescription()).isEqualTo("Task 1");
-        assertThat(todos.getContent().get(1).getStatus()).isEqualTo(Todo.Status.DONE);
+        assertThat(todos.getContent().get(0).description()).isEqualTo("Task 1");
+        assertThat(todos.getContent().get(1).status()).isEqualTo(Todo.Status.DONE);
     }
 
     @Test
@@ -72,25 +91,50 @@ public class TodoServiceTest {
     }
 
     @Test
-    public void testGetNotDoneTodos() {
-        // Create a list of "not done" TODOs
-        List<Todo> notDoneTodoList = Arrays.asList(
-            Todo.builder().description("Task 1").status(Todo.Status.NOT_DONE).build(),
-            Todo.builder().description("Task 2").status(Todo.Status.NOT_DONE).build()
+    public void testGetNotDoneTodoSummaries() {
+        // Arrange
+        List<TodoSummary> summaries = Arrays.asList(
+            new TodoSummary(1L, "Task 1", Todo.Status.NOT_DONE, new Date(1_000L), null, false),
+            new TodoSummary(2L, "Task 2", Todo.Status.NOT_DONE, new Date(2_000L), null, false)
         );
+        when(todoRepositoryMock.findSummariesByIsDone(eq(false), any(Pageable.class))).thenReturn(summaries);
 
-        // Create a Page object from the list (simulating pagination)
-        Page<Todo> notDoneTodoPage = new PageImpl<>(notDoneTodoList);
+        // Act
+        Page<TodoSummary> notDoneTodos = todoService.getNotDoneTodoSummaries(1, 10);
 
-        // Mock the repository to return the Page object
-        when(todoRepositoryMock.findByIsDone(eq(false), any(Pageable.class))).thenReturn(notDoneTodoPage);
+        // Assert
+        assertThat(notDoneTodos.getTotalElements()).isEqualTo(2);
+        assertThat(notDoneTodos.getContent().get(0).description()).isEqualTo("Task 1");
+        assertThat(notDoneTodos.getContent().get(1).description()).isEqualTo("Task 2");
+    }
 
-        Page<Todo> notDoneTodos = todoService.getNotDoneTodos(1, 10); // Assuming page 1 and 10 items per page
+    @Test
+    public void testGetTodoSummariesTakeTheTotalsOfNonFinalPagesFromTheCounters() {
+        // Arrange
+        List<TodoSummary> summaries = Arrays.asList(
+            new TodoSummary(1L, "Task 1", Todo.Status.NOT_DONE, new Date(1_000L), null, false),
+            new TodoSummary(2L, "Task 2", Todo.Status.NOT_DONE, new Date(2_000L), null, false)
+        );
+        when(todoRepositoryMock.countByStatusAndIsDone()).thenReturn(List.of(
+            new TodoCount(Todo.Status.NOT_DONE, false, 4L),
+            new TodoCount(Todo.Status.PAST_DUE, false, 1L),
+            new TodoCount(Todo.Status.DONE, true, 2L)));
+        when(todoRepositoryMock.findSummaries(any(Pageable.class))).thenReturn(summaries);
+        when(todoRepositoryMock.findSummariesByIsDone(eq(false), any(Pageable.class))).thenReturn(summaries);
+        todoCounters.reconcile();
 
-        // Assertions
-        assertThat(notDoneTodos.getTotalElements()).isEqualTo(2);
-        assertThat(notDoneTodos.getContent().get(0).getDescription()).isEqualTo("Task 1");
-        assertThat(notDoneTodos.getContent().get(1).getDescription()).isEqualTo("Task 2");
+        // Act
+        Page<TodoSummary> todos = todoService.getAllTodoSummaries(1, 2);
+        Page<TodoSummary> notDoneTodos = todoService.getNotDoneTodoSummaries(1, 2);
+
+        // Assert
+        assertThat(todos.getTotalElements()).isEqualTo(7);
+        assertThat(todos.getTotalPages()).isEqualTo(4);
+        assertThat(todos.hasNext()).isTrue();
+        assertThat(notDoneTodos.getTotalElements()).isEqualTo(5);
+        assertThat(notDoneTodos.getTotalPages()).isEqualTo(3);
+        assertThat(notDoneTodos.hasNext()).isTrue();
+        verify(todoRepositoryMock, never()).count();
     }
 
     @Test
@@ -120,5 +164,102 @@ public class TodoServiceTest {
         assertThat(result).isNull();
     }
 
+    @Test
+    public void testGetNotDoneTodoSummariesAfter() {
+        // Arrange
+        TodoCursor cursor = TodoCursor.decode(new TodoCursor(1_000L, 42L).encode());
+        List<TodoSummary> summaries = Arrays.asList(
+            new TodoSummary(43L, "Task 43", Todo.Status.NOT_DONE, new Date(1_000L), null, false)
+        );
+        when(todoRepositoryMock.findSummarySliceByIsDoneAfter(eq(false), eq(new Date(1_000L)), eq(42L),
+            any(Pageable.class))).thenReturn(new SliceImpl<>(summaries));
+
+        // Act
+        Slice<TodoSummary> slice = todoService.getNotDoneTodoSummariesAfter(cursor, 10);
+
+        // Assert
+        assertThat(cursor).isEqualTo(new TodoCursor(1_000L, 42L));
+        assertThat(slice.getContent()).extracting(TodoSummary::id).containsExactly(43L);
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    public void testGetTodoDetailsIsCachedUntilUpdated() {
+        // Arrange
+        Long todoId = 2L;
+        Todo todo = Todo.builder().id(todoId).description("Task").status(Todo.Status.NOT_DONE).build();
+        when(todoRepositoryMock.findById(todoId)).thenReturn(Optional.of(todo));
+        when(todoRepositoryMock.updateStatusConditionally(eq(2L), eq(Todo.Status.NOT_DONE), eq(Todo.Status.DONE),
+            eq(true), any(), isNull())).thenReturn(1);
+        long hitsBefore = todoCache.stats().hitCount();
+
+        // Act
+        todoService.getTodoDetails(todoId).setDescription("Changed by the caller");
+        Todo cached = todoService.getTodoDetails(todoId);
+        todoService.markAsDone(todoId);
+        Todo updated = todoService.getTodoDetails(todoId);
+
+        // Assert
+        assertThat(cached.getDescription()).isEqualTo("Task");
+        assertThat(updated.getStatus()).isEqualTo(Todo.Status.DONE);
+        assertThat(updated.getVersion()).isEqualTo(1);
+        verify(todoRepositoryMock, times(2)).findById(todoId); // once for the first read, once before the update
+        assertThat(todoCache.stats().hitCount() - hitsBefore).isEqualTo(2);
+    }
+
+    @Test
+    public void testChangeStatusOfPastDueItemIsForbidden() {
+        // Arrange
+        Long todoId = 3L;
+        Todo pastDue = Todo.builder().id(todoId).description("Late").status(Todo.Status.PAST_DUE).build();
+        when(todoRepositoryMock.findById(todoId)).thenReturn(Optional.of(pastDue));
+
+        // Act
+        UpdateResult result = todoService.changeStatus(todoId, Todo.Status.NOT_DONE, null);
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(UpdateResult.Outcome.FORBIDDEN);
+        verify(todoRepositoryMock, never()).updateStatusConditionally(anyLong(), any(), any(), anyBoolean(), any(),
+            any());
+    }
+
+    @Test
+    public void testChangeStatusWithStaleVersionFailsPrecondition() {
+        // Arrange
+        Long todoId = 4L;
+        Todo todo = Todo.builder().id(todoId).description("Task").status(Todo.Status.NOT_DONE).version(7).build();
+        when(todoRepositoryMock.findById(todoId)).thenReturn(Optional.of(todo));
+
+        // Act
+        UpdateResult result = todoService.changeStatus(todoId, Todo.Status.DONE, 6L);
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(UpdateResult.Outcome.PRECONDITION_FAILED);
+        assertThat(result.todo().getVersion()).isEqualTo(7);
+        verify(todoRepositoryMock, never()).updateStatusConditionally(anyLong(), any(), any(), anyBoolean(), any(),
+            any());
+    }
+
+    @Test
+    public void testChangeStatusRereadsItemChangedSinceItWasRead() {
+        // Arrange
+        Long todoId = 5L;
+        Todo todo = Todo.builder().id(todoId).description("Task").status(Todo.Status.NOT_DONE).build();
+        Todo pastDue = todo.toBuilder().status(Todo.Status.PAST_DUE).version(1).build();
+        when(todoRepositoryMock.findById(todoId)).thenReturn(Optional.of(todo), Optional.of(pastDue));
+        when(todoRepositoryMock.updateStatusConditionally(eq(5L), eq(Todo.Status.NOT_DONE), eq(Todo.Status.DONE),
+            eq(true), any(), isNull())).thenReturn(0);
+        when(todoRepositoryMock.updateStatusConditionally(eq(5L), eq(Todo.Status.PAST_DUE), eq(Todo.Status.DONE),
+            eq(true), any(), isNull())).thenReturn(1);
+
+        // Act
+        UpdateResult result = todoService.changeStatus(todoId, Todo.Status.DONE, null);
+
+        // Assert
+        assertThat(result.outcome()).isEqualTo(UpdateResult.Outcome.UPDATED);
+        assertThat(result.todo().getStatus()).isEqualTo(Todo.Status.DONE);
+        assertThat(result.todo().getVersion()).isEqualTo(2);
+        verify(todoRepositoryMock, times(2)).findById(todoId);
+    }
 
 }